@@ -1,3 +1,6 @@
+import java.io.DataOutputStream
+import javax.imageio.ImageIO
+
 plugins {
     alias(libs.plugins.android.application)
 }
@@ -25,10 +28,55 @@ android {
             )
         }
     }
+    androidResources {
+        // images.pack is memory-mapped straight out of the APK, so it must stay uncompressed
+        noCompress += "pack"
+        // The pack is the only copy of the images in the APK: leave out the loose files it was
+        // built from (same extensions as ImageAssetsTask). This replaces aapt's default ignore
+        // list, so the default entries are repeated after the image extensions.
+        ignoreAssetsPattern = "!*.jpg:!*.jpeg:!*.png:!*.webp:" +
+            "!.svn:!.git:!.ds_store:!*.scc:.*:<dir>_*:!CVS:!thumbs.db:!picasa.ini:!*~"
+    }
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
     }
+    testOptions {
+        unitTests {
+            isIncludeAndroidResources = true
+            all { test ->
+                // DaoQueryBenchmarkTest only runs with -PdaoBenchmarkScales=0.1,1,10
+                project.findProperty("daoBenchmarkScales")?.let { scales ->
+                    test.systemProperty("daoBenchmark.scales", scales)
+                    test.maxHeapSize = "4g"
+                }
+                project.findProperty("daoBenchmarkOutput")?.let { output ->
+                    test.systemProperty("daoBenchmark.output", output)
+                }
+            }
+        }
+    }
+}
+
+// Index of every image under assets/images, read once at runtime by ImageManifest
+val generateImageManifest = tasks.register<GenerateImageManifestTask>("generateImageManifest") {
+    assetsDir.set(layout.projectDirectory.dir("src/main/assets"))
+    outputDir.set(layout.buildDirectory.dir("generated/imageManifest"))
+}
+
+// All images in one file with an offset/length index, read by ImagePack
+val packImages = tasks.register<PackImagesTask>("packImages") {
+    assetsDir.set(layout.projectDirectory.dir("src/main/assets"))
+    outputDir.set(layout.buildDirectory.dir("generated/imagePack"))
+}
+
+androidComponents {
+    onVariants { variant ->
+        variant.sources.assets?.addGeneratedSourceDirectory(
+            generateImageManifest, GenerateImageManifestTask::outputDir
+        )
+        variant.sources.assets?.addGeneratedSourceDirectory(packImages, PackImagesTask::outputDir)
+    }
 }
 
 dependencies {
@@ -60,7 +108,99 @@ dependencies {
     
     // Testing
     testImplementation(libs.junit)
+    testImplementation(libs.robolectric)
+    testImplementation(libs.arch.core.testing)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
     androidTestImplementation(libs.room.testing)
-}
\ No newline at end of file
+}
+
+/**
+ * Base for tasks that derive a generated asset from every image under src/main/assets/images.
+ */
+abstract class ImageAssetsTask : DefaultTask() {
+    @get:InputDirectory
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val assetsDir: DirectoryProperty
+
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    /** Images as (asset path, file) pairs, sorted by path so the output is reproducible. */
+    protected fun imageFiles(): List<Pair<String, File>> {
+        val root = assetsDir.get().asFile
+        val extensions = setOf("jpg", "jpeg", "png", "webp")
+        return File(root, "images").walkTopDown()
+            .filter { it.isFile && it.extension.lowercase() in extensions }
+            .map { it.relativeTo(root).invariantSeparatorsPath to it }
+            .sortedBy { it.first }
+            .toList()
+    }
+}
+
+/**
+ * Writes images/manifest.tsv (path, width, height, bytes) for every image under
+ * src/main/assets/images. Dimensions come from the image header only; formats the
+ * JDK cannot read (e.g. WebP) are listed with 0x0 and measured at runtime instead.
+ */
+abstract class GenerateImageManifestTask : ImageAssetsTask() {
+    @TaskAction
+    fun generate() {
+        val lines = imageFiles().map { (path, file) ->
+            val (width, height) = imageSize(file)
+            "$path\t$width\t$height\t${file.length()}"
+        }
+
+        val manifest = outputDir.get().file("images/manifest.tsv").asFile
+        manifest.parentFile.mkdirs()
+        manifest.writeText(
+            (listOf("# path\twidth\theight\tbytes") + lines).joinToString("\n", postfix = "\n")
+        )
+    }
+
+    private fun imageSize(file: File): Pair<Int, Int> {
+        ImageIO.createImageInputStream(file)?.use { input ->
+            val readers = ImageIO.getImageReaders(input)
+            if (readers.hasNext()) {
+                val reader = readers.next()
+                try {
+                    reader.input = input
+                    return reader.getWidth(0) to reader.getHeight(0)
+                } finally {
+                    reader.dispose()
+                }
+            }
+        }
+        return 0 to 0
+    }
+}
+
+/**
+ * Writes images/images.pack: every image under src/main/assets/images concatenated
+ * behind an index of (path, offset, length). The layout is documented in ImagePack.
+ */
+abstract class PackImagesTask : ImageAssetsTask() {
+    @TaskAction
+    fun pack() {
+        val images = imageFiles()
+        val paths = images.map { it.first.toByteArray(Charsets.UTF_8) }
+        // magic + version + count, then per entry: path length + path + offset + length
+        var offset = 12L + paths.sumOf { 2L + it.size + 8 + 4 }
+
+        val pack = outputDir.get().file("images/images.pack").asFile
+        pack.parentFile.mkdirs()
+        DataOutputStream(pack.outputStream().buffered()).use { out ->
+            out.writeInt(0x494D504B) // "IMPK"
+            out.writeInt(1)
+            out.writeInt(images.size)
+            images.forEachIndexed { i, (_, file) ->
+                out.writeShort(paths[i].size)
+                out.write(paths[i])
+                out.writeLong(offset)
+                out.writeInt(file.length().toInt())
+                offset += file.length()
+            }
+            images.forEach { (_, file) -> file.inputStream().use { it.copyTo(out) } }
+        }
+    }
+}
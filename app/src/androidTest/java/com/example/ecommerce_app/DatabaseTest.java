@@ -6,12 +6,34 @@ import androidx.room.Room;
 import androidx.test.core.app.ApplicationProvider;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 
+import com.example.ecommerce_app.data.dao.CartItemDao;
+import com.example.ecommerce_app.data.dao.CategoryDao;
+import com.example.ecommerce_app.data.dao.CheckoutDao;
+import com.example.ecommerce_app.data.dao.OrderDao;
+import com.example.ecommerce_app.data.dao.OrderItemDao;
 import com.example.ecommerce_app.data.dao.ProductDao;
+import com.example.ecommerce_app.data.dao.ProductSalesDao;
+import com.example.ecommerce_app.data.dao.ReviewDao;
 import com.example.ecommerce_app.data.dao.UserDao;
 import com.example.ecommerce_app.data.database.AppDatabase;
+import com.example.ecommerce_app.data.entities.CartItem;
+import com.example.ecommerce_app.data.entities.Category;
+import com.example.ecommerce_app.data.entities.Order;
+import com.example.ecommerce_app.data.entities.OrderItem;
 import com.example.ecommerce_app.data.entities.Product;
+import com.example.ecommerce_app.data.entities.ProductRatingStats;
+import com.example.ecommerce_app.data.entities.ProductSalesStats;
+import com.example.ecommerce_app.data.entities.Review;
 import com.example.ecommerce_app.data.entities.User;
+import com.example.ecommerce_app.data.models.CartLineWithProduct;
+import com.example.ecommerce_app.data.models.CheckoutResult;
+import com.example.ecommerce_app.data.models.OrderSummary;
+import com.example.ecommerce_app.data.models.ProductSearchResult;
+import com.example.ecommerce_app.data.models.ReviewWithUser;
 import com.example.ecommerce_app.utils.PasswordHasher;
+import com.example.ecommerce_app.utils.SampleDataGenerator;
+import com.example.ecommerce_app.utils.SearchTextNormalizer;
+import com.example.ecommerce_app.utils.SyntheticDataGenerator;
 
 import org.junit.After;
 import org.junit.Before;
@@ -19,7 +41,9 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
 
@@ -33,18 +57,33 @@ public class DatabaseTest {
     
     private AppDatabase database;
     private UserDao userDao;
+    private CategoryDao categoryDao;
     private ProductDao productDao;
+    private ReviewDao reviewDao;
+    private CartItemDao cartItemDao;
+    private OrderDao orderDao;
+    private OrderItemDao orderItemDao;
+    private ProductSalesDao productSalesDao;
+    private CheckoutDao checkoutDao;
     
     @Before
     public void createDb() {
         Context context = ApplicationProvider.getApplicationContext();
         // Sử dụng in-memory database cho testing
         database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .addCallback(AppDatabase.TRIGGERS_CALLBACK)
                 .allowMainThreadQueries() // Cho phép query trên main thread trong test
                 .build();
         
         userDao = database.userDao();
+        categoryDao = database.categoryDao();
         productDao = database.productDao();
+        reviewDao = database.reviewDao();
+        cartItemDao = database.cartItemDao();
+        orderDao = database.orderDao();
+        orderItemDao = database.orderItemDao();
+        productSalesDao = database.productSalesDao();
+        checkoutDao = database.checkoutDao();
     }
     
     @After
@@ -230,6 +269,10 @@ public class DatabaseTest {
         // Verify
         stock = productDao.getStock(productId);
         assertEquals(95, stock);
+        
+        // Không đủ hàng: không trừ
+        assertEquals(0, productDao.decreaseStock(productId, 96, System.currentTimeMillis()));
+        assertEquals(95, productDao.getStock(productId));
     }
     
     @Test
@@ -260,4 +303,448 @@ public class DatabaseTest {
         int count = productDao.getActiveProductCount();
         assertEquals(5, count);
     }
+    
+    // ==================== FULL-TEXT SEARCH TESTS ====================
+    
+    @Test
+    public void testSearchIgnoresVietnameseDiacritics() {
+        Category category = new Category();
+        category.setName("Cảm Biến");
+        long categoryId = categoryDao.insert(category);
+        
+        Product product = new Product();
+        product.setName("DHT22 Cảm Biến Nhiệt Độ Độ Ẩm");
+        product.setDescription("Đo nhiệt độ và độ ẩm");
+        product.setPrice(85000);
+        product.setStock(10);
+        product.setCategoryId(categoryId);
+        product.setSku("DHT22_SENSOR");
+        long productId = productDao.insert(product);
+        
+        // Không dấu vẫn khớp
+        List<ProductSearchResult> results = productDao.searchProductsSync(
+                SearchTextNormalizer.toMatchQuery("cam bien"));
+        assertEquals(1, results.size());
+        assertEquals(productId, results.get(0).product.getId());
+        
+        // "đ" -> "d", tìm theo SKU
+        assertEquals(1, productDao.searchProductsSync(SearchTextNormalizer.toMatchQuery("do am")).size());
+        assertEquals(1, productDao.searchProductsSync(SearchTextNormalizer.toMatchQuery("dht22")).size());
+        
+        // Update -> index lại
+        Product saved = productDao.getProductByIdSync(productId);
+        saved.setName("Servo SG90");
+        saved.setDescription("Servo mini");
+        productDao.update(saved);
+        assertEquals(0, productDao.searchProductsSync(SearchTextNormalizer.toMatchQuery("cam bien")).size());
+        assertEquals(1, productDao.searchProductsSync(SearchTextNormalizer.toMatchQuery("servo")).size());
+        
+        // Delete -> trigger xóa khỏi index
+        productDao.deleteById(productId);
+        assertEquals(0, productDao.searchProductsSync(SearchTextNormalizer.toMatchQuery("servo")).size());
+    }
+    
+    @Test
+    public void testSearchRanksNameMatchesFirst() {
+        Category category = new Category();
+        category.setName("Vi Điều Khiển");
+        long categoryId = categoryDao.insert(category);
+        
+        Product inDescription = new Product();
+        inDescription.setName("Breadboard 830");
+        inDescription.setDescription("Dùng tốt với Arduino");
+        inDescription.setCategoryId(categoryId);
+        inDescription.setSku("BREADBOARD_830");
+        productDao.insert(inDescription);
+        
+        Product inName = new Product();
+        inName.setName("Arduino Uno R3");
+        inName.setDescription("ATmega328P");
+        inName.setCategoryId(categoryId);
+        inName.setSku("ARDUINO_UNO_R3");
+        productDao.insert(inName);
+        
+        List<Product> ranked = ProductSearchResult.rank(
+                productDao.searchProductsSync(SearchTextNormalizer.toMatchQuery("arduino")));
+        assertEquals(2, ranked.size());
+        assertEquals("Arduino Uno R3", ranked.get(0).getName());
+    }
+    
+    @Test
+    public void testKeysetPagingHasNoDuplicatesOnEqualCreatedAt() {
+        Category category = new Category();
+        category.setName("Cảm Biến");
+        long categoryId = categoryDao.insert(category);
+        
+        // 5 sản phẩm cùng createdAt: thứ tự phải được phân định bằng id
+        Date sameTime = new Date(1700000000000L);
+        for (int i = 0; i < 5; i++) {
+            Product product = new Product();
+            product.setName("Sensor " + i);
+            product.setCategoryId(categoryId);
+            product.setSku("SENSOR_" + i);
+            product.setCreatedAt(sameTime);
+            productDao.insert(product);
+        }
+        
+        List<Product> firstPage = productDao.getNewestProductsAfter(Long.MAX_VALUE, Long.MAX_VALUE, 2);
+        assertEquals(2, firstPage.size());
+        
+        Product last = firstPage.get(1);
+        List<Product> secondPage = productDao.getNewestProductsAfter(
+                last.getCreatedAt().getTime(), last.getId(), 10);
+        assertEquals(3, secondPage.size());
+        for (Product product : secondPage) {
+            assertTrue(product.getId() < last.getId());
+        }
+    }
+    
+    // ==================== RATING STATS TESTS ====================
+    
+    @Test
+    public void testRatingStatsFollowReviewChanges() {
+        Category category = new Category();
+        category.setName("Module");
+        long categoryId = categoryDao.insert(category);
+        
+        Product product = new Product();
+        product.setName("ESP32 DevKit");
+        product.setCategoryId(categoryId);
+        product.setSku("ESP32_DEVKIT");
+        long productId = productDao.insert(product);
+        
+        long[] reviewIds = new long[3];
+        int[] ratings = {5, 4, 5};
+        for (int i = 0; i < ratings.length; i++) {
+            User user = new User();
+            user.setUsername("reviewer" + i);
+            user.setEmail("reviewer" + i + "@example.com");
+            user.setPasswordHash("hash");
+            long userId = userDao.insert(user);
+            
+            Review review = new Review();
+            review.setUserId(userId);
+            review.setProductId(productId);
+            review.setRating(ratings[i]);
+            reviewIds[i] = reviewDao.insert(review);
+        }
+        
+        // Sửa 1 review 5 sao -> 2 sao, xóa review 4 sao
+        reviewDao.updateReview(reviewIds[2], 2, "Lỗi sau 1 tuần", System.currentTimeMillis());
+        reviewDao.deleteById(reviewIds[1]);
+        
+        ProductRatingStats stats = reviewDao.getRatingStatsSync(productId);
+        assertNotNull(stats);
+        assertEquals(reviewDao.getReviewCount(productId), stats.getRatingCount());
+        assertEquals(reviewDao.getAverageRating(productId), stats.getAverageRating(), 0.0001);
+        assertEquals(1, stats.getFiveStarCount());
+        assertEquals(0, stats.getFourStarCount());
+        assertEquals(1, stats.getTwoStarCount());
+    }
+    
+    @Test
+    public void testReviewsWithUserPaging() {
+        Category category = new Category();
+        category.setName("Module");
+        long categoryId = categoryDao.insert(category);
+        
+        Product product = new Product();
+        product.setName("LoRa SX1278");
+        product.setCategoryId(categoryId);
+        product.setSku("LORA_SX1278");
+        long productId = productDao.insert(product);
+        
+        // 5 reviews cùng createdAt để kiểm tra tie-break theo id
+        Date createdAt = new Date();
+        for (int i = 0; i < 5; i++) {
+            User user = new User();
+            user.setUsername("pager" + i);
+            user.setEmail("pager" + i + "@example.com");
+            user.setPasswordHash("hash");
+            user.setFullName("Pager " + i);
+            long userId = userDao.insert(user);
+            
+            Review review = new Review();
+            review.setUserId(userId);
+            review.setProductId(productId);
+            review.setRating(4);
+            review.setCreatedAt(createdAt);
+            reviewDao.insert(review);
+        }
+        
+        List<ReviewWithUser> firstPage = reviewDao.getReviewsWithUserAfter(
+                productId, Long.MAX_VALUE, Long.MAX_VALUE, 3);
+        assertEquals(3, firstPage.size());
+        assertEquals("Pager 4", firstPage.get(0).userFullName);
+        
+        ReviewWithUser last = firstPage.get(2);
+        List<ReviewWithUser> secondPage = reviewDao.getReviewsWithUserAfter(
+                productId, last.review.getCreatedAt().getTime(), last.review.getId(), 3);
+        assertEquals(2, secondPage.size());
+        assertEquals("Pager 0", secondPage.get(1).userFullName);
+        assertTrue(secondPage.get(0).review.getId() < last.review.getId());
+    }
+    
+    // ==================== CART TESTS ====================
+    
+    @Test
+    public void testCartLinesJoinCurrentProductPrices() {
+        Category category = new Category();
+        category.setName("Board");
+        long categoryId = categoryDao.insert(category);
+        
+        User user = new User();
+        user.setUsername("shopper");
+        user.setEmail("shopper@example.com");
+        user.setPasswordHash("hash");
+        long userId = userDao.insert(user);
+        
+        double[] prices = {10.0, 2.5};
+        int[] quantities = {2, 4};
+        long[] cartItemIds = new long[2];
+        for (int i = 0; i < prices.length; i++) {
+            Product product = new Product();
+            product.setName("Board " + i);
+            product.setCategoryId(categoryId);
+            product.setSku("BOARD_" + i);
+            product.setPrice(prices[i]);
+            long productId = productDao.insert(product);
+            
+            CartItem item = new CartItem();
+            item.setUserId(userId);
+            item.setProductId(productId);
+            item.setQuantity(quantities[i]);
+            cartItemIds[i] = cartItemDao.insert(item);
+        }
+        
+        List<CartLineWithProduct> lines = cartItemDao.getCartLinesByIdsSync(
+                userId, Arrays.asList(cartItemIds[0], cartItemIds[1]));
+        assertEquals(2, lines.size());
+        
+        double subtotal = 0;
+        for (CartLineWithProduct line : lines) {
+            assertNotNull(line.productName);
+            subtotal += line.getLineTotal();
+        }
+        assertEquals(30.0, subtotal, 0.001);
+    }
+    
+    // ==================== SAMPLE DATA TESTS ====================
+    
+    @Test
+    public void testSampleDataSeedsInOneTransaction() {
+        SampleDataGenerator.SampleData data = SampleDataGenerator.createSampleData();
+        SampleDataGenerator.populateDatabase(database, data);
+        
+        assertEquals(data.products.size(), productDao.getAllProductsSync().size());
+        assertEquals(5, reviewDao.getRatingStatsSync(1).getRatingCount());
+        assertNotNull(userDao.findByEmail("user4@example.com"));
+    }
+    
+    @Test
+    public void testSyntheticDataMatchesScaleAndKeys() {
+        // scale 0.01 = 100 products, 20 users, 60 orders
+        SyntheticDataGenerator.Config config = new SyntheticDataGenerator.Config(0.01, 42L, 1_700_000_000_000L);
+        SyntheticDataGenerator.Result result = SyntheticDataGenerator.populate(database, config);
+    
+        assertEquals(100, result.products);
+        assertEquals(100, productDao.getAllProductsSync().size());
+        assertEquals(20, userDao.getAllUsersSync().size());
+        assertEquals(60, result.orders);
+        assertTrue(result.orderItems >= result.orders);
+        assertTrue(result.reviews > 0);
+    
+        // Khóa ngoại được bật nên insert thành công nghĩa là mọi id tham chiếu đều tồn tại
+        Order order = orderDao.getOrderByIdSync(1);
+        assertNotNull(order);
+        assertEquals("SYN-ORD-000000001", order.getOrderNumber());
+    }
+    
+    // ==================== CHECKOUT TESTS ====================
+    
+    @Test
+    public void testCheckoutRollsBackWhenStockIsShort() {
+        Category category = new Category();
+        category.setName("Relay");
+        long categoryId = categoryDao.insert(category);
+        
+        User user = new User();
+        user.setUsername("buyer");
+        user.setEmail("buyer@example.com");
+        user.setPasswordHash("hash");
+        long userId = userDao.insert(user);
+        
+        double[] prices = {4.0, 10.0};
+        int[] stocks = {5, 1};
+        long[] productIds = new long[2];
+        long[] cartItemIds = new long[2];
+        for (int i = 0; i < prices.length; i++) {
+            Product product = new Product();
+            product.setName("Relay " + i);
+            product.setCategoryId(categoryId);
+            product.setSku("RELAY_" + i);
+            product.setPrice(prices[i]);
+            product.setStock(stocks[i]);
+            productIds[i] = productDao.insert(product);
+            
+            CartItem item = new CartItem();
+            item.setUserId(userId);
+            item.setProductId(productIds[i]);
+            item.setQuantity(2);
+            cartItemIds[i] = cartItemDao.insert(item);
+        }
+        
+        // Dòng thứ hai vượt stock: không có gì bị thay đổi
+        CheckoutResult rejected = checkoutDao.checkout(newOrder(userId, "ORD-REJECTED"), null, 6.0);
+        assertFalse(rejected.isSuccess());
+        assertEquals(1, rejected.getFailures().size());
+        assertEquals(cartItemIds[1], rejected.getFailures().get(0).cartItemId);
+        assertEquals(CheckoutResult.FailureReason.INSUFFICIENT_STOCK, rejected.getFailures().get(0).reason);
+        assertEquals(5, productDao.getStock(productIds[0]));
+        assertEquals(1, productDao.getStock(productIds[1]));
+        assertEquals(2, cartItemDao.getCartItemsByUserSync(userId).size());
+        assertNull(orderDao.findByOrderNumber("ORD-REJECTED"));
+        
+        cartItemDao.updateQuantity(cartItemIds[1], 1);
+        CheckoutResult placed = checkoutDao.checkout(newOrder(userId, "ORD-PLACED"), null, 6.0);
+        assertTrue(placed.isSuccess());
+        assertEquals(3, productDao.getStock(productIds[0]));
+        assertEquals(0, productDao.getStock(productIds[1]));
+        assertTrue(cartItemDao.getCartItemsByUserSync(userId).isEmpty());
+        
+        Order order = orderDao.getOrderByIdSync(placed.getOrderId());
+        assertEquals(2 * 4.0 + 10.0 + 6.0, order.getTotalAmount(), 0.001);
+        assertEquals(2, orderItemDao.getOrderItemsByOrderSync(order.getId()).size());
+    }
+    
+    private Order newOrder(long userId, String orderNumber) {
+        Order order = new Order();
+        order.setUserId(userId);
+        order.setOrderNumber(orderNumber);
+        return order;
+    }
+    
+    // ==================== SALES STATS TESTS ====================
+    
+    @Test
+    public void testSalesStatsFollowOrderItems() {
+        Category category = new Category();
+        category.setName("Sensor");
+        long categoryId = categoryDao.insert(category);
+        
+        long[] productIds = new long[2];
+        for (int i = 0; i < productIds.length; i++) {
+            Product product = new Product();
+            product.setName("Sensor " + i);
+            product.setCategoryId(categoryId);
+            product.setSku("SENSOR_" + i);
+            productIds[i] = productDao.insert(product);
+        }
+        
+        User user = new User();
+        user.setUsername("buyer");
+        user.setEmail("buyer@example.com");
+        user.setPasswordHash("hash");
+        long userId = userDao.insert(user);
+        
+        // Đơn hôm nay, đơn 10 ngày trước (ngoài cửa sổ 7 ngày), đơn 40 ngày trước
+        long now = System.currentTimeMillis();
+        long recentOrder = insertOrder(userId, "ORD-1", now);
+        long olderOrder = insertOrder(userId, "ORD-2", now - TimeUnit.DAYS.toMillis(10));
+        long oldestOrder = insertOrder(userId, "ORD-3", now - TimeUnit.DAYS.toMillis(40));
+        
+        insertOrderItem(recentOrder, productIds[0], 2, 100);
+        insertOrderItem(recentOrder, productIds[1], 5, 10);
+        insertOrderItem(olderOrder, productIds[0], 3, 100);
+        insertOrderItem(oldestOrder, productIds[0], 4, 100);
+        long removedItem = insertOrderItem(recentOrder, productIds[0], 1, 100);
+        
+        productSalesDao.rollSalesWindows(TimeUnit.MILLISECONDS.toDays(now));
+        orderItemDao.deleteById(removedItem);
+        
+        ProductSalesStats stats = productSalesDao.getSalesStatsSync(productIds[0]);
+        assertEquals(9, stats.getUnitsSold());
+        assertEquals(900, stats.getRevenue(), 0.001);
+        assertEquals(2, stats.getUnitsSold7d());
+        assertEquals(5, stats.getUnitsSold30d());
+        
+        // Xóa order cascade xuống order_items vẫn phải trừ bộ đếm
+        orderDao.deleteById(recentOrder);
+        stats = productSalesDao.getSalesStatsSync(productIds[0]);
+        assertEquals(7, stats.getUnitsSold());
+        assertEquals(0, stats.getUnitsSold7d());
+        assertEquals(3, stats.getUnitsSold30d());
+        
+        ProductSalesStats otherStats = productSalesDao.getSalesStatsSync(productIds[1]);
+        assertEquals(0, otherStats.getUnitsSold());
+        assertEquals(0, otherStats.getUnitsSold30d());
+    }
+    
+    // ==================== ORDER SUMMARY TESTS ====================
+    
+    @Test
+    public void testOrderSummariesFilterByStatusAndPage() {
+        Category category = new Category();
+        category.setName("Kit");
+        long categoryId = categoryDao.insert(category);
+        
+        Product product = new Product();
+        product.setName("Arduino Kit");
+        product.setCategoryId(categoryId);
+        product.setSku("ARDUINO_KIT");
+        long productId = productDao.insert(product);
+        
+        User user = new User();
+        user.setUsername("historian");
+        user.setEmail("historian@example.com");
+        user.setPasswordHash("hash");
+        long userId = userDao.insert(user);
+        
+        long now = System.currentTimeMillis();
+        long newest = insertOrder(userId, "SUM-1", now);
+        long middle = insertOrder(userId, "SUM-2", now - 1000);
+        long cancelled = insertOrder(userId, "SUM-3", now - 2000);
+        orderDao.updateStatus(cancelled, "CANCELLED", now);
+        
+        insertOrderItem(newest, productId, 2, 10);
+        insertOrderItem(newest, productId, 3, 10);
+        
+        List<String> inProgress = Arrays.asList("PENDING", "PROCESSING", "SHIPPED");
+        List<OrderSummary> firstPage = orderDao.getOrderSummariesAfter(
+                userId, inProgress, Long.MAX_VALUE, Long.MAX_VALUE, 1);
+        assertEquals(1, firstPage.size());
+        
+        OrderSummary summary = firstPage.get(0);
+        assertEquals(newest, summary.order.getId());
+        assertEquals(2, summary.itemCount);
+        assertEquals(5, summary.totalQuantity);
+        assertEquals(2, summary.firstItem.getQuantity());
+        assertEquals("Arduino Kit", summary.firstProductName);
+        
+        // Trang sau: order không có item, order CANCELLED bị lọc
+        List<OrderSummary> secondPage = orderDao.getOrderSummariesAfter(userId, inProgress,
+                summary.order.getCreatedAt().getTime(), summary.order.getId(), 10);
+        assertEquals(1, secondPage.size());
+        assertEquals(middle, secondPage.get(0).order.getId());
+        assertNull(secondPage.get(0).firstItem);
+        assertEquals(0, secondPage.get(0).itemCount);
+    }
+    
+    private long insertOrder(long userId, String orderNumber, long createdAt) {
+        Order order = new Order();
+        order.setUserId(userId);
+        order.setOrderNumber(orderNumber);
+        order.setCreatedAt(new Date(createdAt));
+        return orderDao.insert(order);
+    }
+    
+    private long insertOrderItem(long orderId, long productId, int quantity, double price) {
+        OrderItem item = new OrderItem();
+        item.setOrderId(orderId);
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        item.setPrice(price);
+        item.setSubtotal(quantity * price);
+        return orderItemDao.insert(item);
+    }
 }
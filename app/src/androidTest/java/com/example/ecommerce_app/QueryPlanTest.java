@@ -0,0 +1,281 @@
+package com.example.ecommerce_app;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.room.Room;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.ecommerce_app.data.database.AppDatabase;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+/**
+ * Query plan regression test cho tất cả @Query trong package data.dao
+ *
+ * Mỗi DAO method được gọi bằng reflection với tham số giả, SQL thực tế được bắt qua
+ * Room QueryCallback rồi chạy EXPLAIN QUERY PLAN. Test fail nếu plan có full table scan
+ * hoặc temp B-tree sort (thiếu index ghép phù hợp).
+ *
+ * Không cần khai báo lại SQL ở đây: thêm @Query mới vào DAO là tự động được kiểm tra.
+ */
+@RunWith(AndroidJUnit4.class)
+public class QueryPlanTest {
+
+    // "SCAN products" / "SCAN TABLE products" (SQLite cũ) = full scan không dùng index
+    private static final Pattern FULL_SCAN = Pattern.compile("^SCAN (TABLE )?\\w+( AS \\w+)?$");
+    private static final String TEMP_SORT = "USE TEMP B-TREE";
+
+    // Method do @Insert/@Update/@Delete sinh ra, không có SQL viết tay
+    private static final Set<String> GENERATED_METHODS = new HashSet<>(Arrays.asList(
+            "insert", "insertAll", "update", "delete",
+            "insertProductRow", "updateProductRow", "insertSearchEntry",
+            "insertOrder", "insertOrderItems"));
+
+    // Query được phép scan toàn bảng, kèm lý do
+    private static final Map<String, String> ALLOWED_SCANS = new HashMap<>();
+
+    static {
+        ALLOWED_SCANS.put("ProductDao.getAllProducts", "admin listing, reads every row");
+        ALLOWED_SCANS.put("ProductDao.getAllProductsSync", "admin listing, reads every row");
+        ALLOWED_SCANS.put("OrderDao.getAllOrders", "admin listing, reads every row");
+        ALLOWED_SCANS.put("UserDao.getAllUsers", "admin listing, reads every row");
+        ALLOWED_SCANS.put("UserDao.getAllUsersSync", "admin listing, reads every row");
+        ALLOWED_SCANS.put("UserDao.searchUsers", "substring LIKE cannot use a B-tree index");
+        ALLOWED_SCANS.put("FavoriteDao.getFavoriteProducts", "sorts one user's favorites by a runtime-chosen key");
+
+        // DELETE không WHERE: trigger / foreign key tắt truncate optimization nên SQLite
+        // phải duyệt từng dòng; xóa toàn bảng thì không index nào tránh được việc này
+        for (String dao : Arrays.asList("UserDao", "CategoryDao", "ProductDao", "CartItemDao",
+                "OrderDao", "OrderItemDao", "FavoriteDao", "ReviewDao")) {
+            ALLOWED_SCANS.put(dao + ".deleteAll", "whole-table delete, visits every row by definition");
+        }
+    }
+
+    private AppDatabase database;
+    private final List<CapturedQuery> capturedQueries = Collections.synchronizedList(new ArrayList<>());
+
+    private static class CapturedQuery {
+        final String sql;
+        final Object[] bindArgs;
+
+        CapturedQuery(String sql, List<?> bindArgs) {
+            this.sql = sql;
+            this.bindArgs = bindArgs.toArray();
+        }
+    }
+
+    @Before
+    public void createDb() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .addCallback(AppDatabase.TRIGGERS_CALLBACK)
+                .setQueryCallback((sqlQuery, bindArgs) -> {
+                    if (isDaoStatement(sqlQuery)) {
+                        capturedQueries.add(new CapturedQuery(sqlQuery, bindArgs));
+                    }
+                }, Runnable::run)
+                .allowMainThreadQueries()
+                .build();
+    }
+
+    @After
+    public void closeDb() {
+        database.close();
+    }
+
+    @Test
+    public void testDaoQueriesAvoidFullScansAndTempSorts() throws Exception {
+        Map<String, Object> daos = new LinkedHashMap<>();
+        daos.put("UserDao", database.userDao());
+        daos.put("CategoryDao", database.categoryDao());
+        daos.put("ProductDao", database.productDao());
+        daos.put("CartItemDao", database.cartItemDao());
+        daos.put("OrderDao", database.orderDao());
+        daos.put("OrderItemDao", database.orderItemDao());
+        daos.put("FavoriteDao", database.favoriteDao());
+        daos.put("ReviewDao", database.reviewDao());
+        daos.put("ProductSalesDao", database.productSalesDao());
+        daos.put("CheckoutDao", database.checkoutDao());
+
+        List<String> failures = new ArrayList<>();
+        int checkedQueries = 0;
+
+        for (Map.Entry<String, Object> entry : daos.entrySet()) {
+            Class<?> daoType = daoType(entry.getValue());
+
+            for (Method method : daoType.getDeclaredMethods()) {
+                if (!Modifier.isAbstract(method.getModifiers()) || method.isSynthetic()
+                        || GENERATED_METHODS.contains(method.getName())) {
+                    continue;
+                }
+
+                String key = entry.getKey() + "." + method.getName();
+                List<CapturedQuery> queries = captureQueries(entry.getValue(), method);
+                assertFalse(key + " did not execute any SQL", queries.isEmpty());
+
+                for (CapturedQuery query : queries) {
+                    List<String> plan = explain(query);
+                    checkedQueries++;
+
+                    if (ALLOWED_SCANS.containsKey(key)) {
+                        continue;
+                    }
+                    for (String detail : plan) {
+                        if (FULL_SCAN.matcher(detail).matches() || detail.contains(TEMP_SORT)) {
+                            failures.add(key + ": " + detail + "\n    " + query.sql);
+                        }
+                    }
+                }
+            }
+        }
+
+        assertTrue("No DAO queries were checked", checkedQueries > 0);
+        assertTrue("Inefficient query plans:\n" + String.join("\n", failures), failures.isEmpty());
+    }
+
+    @Test
+    public void testFullTextSearchDrivesFromFtsTable() throws Exception {
+        Method method = daoType(database.productDao())
+                .getMethod("searchProductsSync", String.class);
+        List<CapturedQuery> queries = captureQueries(database.productDao(), method);
+        assertEquals(1, queries.size());
+
+        // products_fts phải là vòng lặp ngoài, products chỉ được tra theo rowid
+        List<String> plan = explain(queries.get(0));
+        assertTrue(plan.get(0), plan.get(0).contains("products_fts"));
+        for (int i = 1; i < plan.size(); i++) {
+            assertTrue(plan.get(i), plan.get(i).contains("INTEGER PRIMARY KEY"));
+        }
+    }
+
+    // ==================== HELPERS ====================
+
+    /**
+     * Kiểu DAO khai báo @Query: interface, hoặc abstract class mà class Room sinh ra kế thừa
+     */
+    private static Class<?> daoType(Object dao) {
+        Class<?>[] interfaces = dao.getClass().getInterfaces();
+        return interfaces.length > 0 ? interfaces[0] : dao.getClass().getSuperclass();
+    }
+
+    /**
+     * Gọi DAO method với tham số giả và trả về các câu SQL đã chạy
+     */
+    private List<CapturedQuery> captureQueries(Object dao, Method method) throws Exception {
+        capturedQueries.clear();
+
+        Object[] args = new Object[method.getParameterCount()];
+        Type[] parameterTypes = method.getGenericParameterTypes();
+        for (int i = 0; i < args.length; i++) {
+            args[i] = sampleValue(parameterTypes[i]);
+        }
+
+        Object result;
+        try {
+            result = method.invoke(dao, args);
+        } catch (InvocationTargetException e) {
+            throw new AssertionError(method.getName() + " failed: " + e.getCause(), e.getCause());
+        }
+
+        // LiveData chỉ chạy query khi có observer
+        if (result instanceof LiveData) {
+            awaitFirstValue((LiveData<?>) result);
+        }
+
+        synchronized (capturedQueries) {
+            return new ArrayList<>(capturedQueries);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void awaitFirstValue(LiveData<?> liveData) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        Observer<Object> observer = value -> latch.countDown();
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() ->
+                ((LiveData<Object>) liveData).observeForever(observer));
+        assertTrue("LiveData did not emit", latch.await(5, TimeUnit.SECONDS));
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() ->
+                ((LiveData<Object>) liveData).removeObserver(observer));
+    }
+
+    private List<String> explain(CapturedQuery query) {
+        List<String> plan = new ArrayList<>();
+        try (Cursor cursor = database.query(
+                new SimpleSQLiteQuery("EXPLAIN QUERY PLAN " + query.sql, query.bindArgs))) {
+            int detailIndex = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.add(cursor.getString(detailIndex));
+            }
+        }
+        return plan;
+    }
+
+    private static Object sampleValue(Type type) {
+        if (type instanceof ParameterizedType) {
+            // List<...> / Collection<...> dùng cho "IN (:values)"
+            Type elementType = ((ParameterizedType) type).getActualTypeArguments()[0];
+            return Collections.singletonList(sampleValue(elementType));
+        }
+        if (type == long.class || type == Long.class) {
+            return 1L;
+        }
+        if (type == int.class || type == Integer.class) {
+            return 1;
+        }
+        if (type == double.class || type == Double.class) {
+            return 1.0;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return true;
+        }
+        if (type == String.class) {
+            return "a";
+        }
+        if (type == Date.class) {
+            return new Date();
+        }
+        return null;
+    }
+
+    /**
+     * Bỏ qua câu lệnh nội bộ của Room (transaction, invalidation tracker)
+     */
+    private static boolean isDaoStatement(String sql) {
+        String upper = sql.trim().toUpperCase();
+        boolean isDml = upper.startsWith("SELECT") || upper.startsWith("UPDATE")
+                || upper.startsWith("DELETE") || upper.startsWith("INSERT");
+        return isDml && !upper.contains("ROOM_TABLE_MODIFICATION_LOG")
+                && !upper.startsWith("EXPLAIN");
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.ecommerce_app;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.ecommerce_app.data.dao.ProductDao;
+import com.example.ecommerce_app.data.database.AppDatabase;
+import com.example.ecommerce_app.data.database.DatabaseTuning;
+import com.example.ecommerce_app.data.entities.Category;
+import com.example.ecommerce_app.data.entities.Product;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Benchmark độ trễ đọc (p50/p99) trong lúc hàng đợi ghi đang bận
+ *
+ * Chạy trên database file thật (WAL không có tác dụng với in-memory database),
+ * đo thời gian từ lúc submit đến lúc có kết quả, tức là gồm cả thời gian xếp hàng
+ * như UI thấy. Kết quả được log với tag "ReadLatencyBenchmark".
+ */
+@RunWith(AndroidJUnit4.class)
+public class ReadLatencyBenchmarkTest {
+
+    private static final String TAG = "ReadLatencyBenchmark";
+    private static final int PRODUCT_COUNT = 1000;
+    private static final int READ_COUNT = 500;
+
+    @Test
+    public void benchmarkReadLatencyWhileWriting() throws Exception {
+        double untunedP99 = runBenchmark("untuned", DatabaseTuning.untuned());
+        double tunedP99 = runBenchmark("tuned", DatabaseTuning.defaults());
+
+        Log.i(TAG, String.format(Locale.US, "p99 read latency: untuned %.2f ms, tuned %.2f ms",
+                untunedP99, tunedP99));
+    }
+
+    /**
+     * @return p99 độ trễ đọc (ms)
+     */
+    private double runBenchmark(String name, DatabaseTuning tuning) throws Exception {
+        Context context = ApplicationProvider.getApplicationContext();
+        String databaseName = "read_latency_benchmark_" + name;
+        context.deleteDatabase(databaseName);
+
+        AppDatabase database = AppDatabase.configure(
+                Room.databaseBuilder(context, AppDatabase.class, databaseName), tuning)
+                .addCallback(AppDatabase.TRIGGERS_CALLBACK)
+                .build();
+
+        try {
+            ProductDao productDao = database.productDao();
+            long[] productIds = seedProducts(database);
+
+            // Writer: liên tục cập nhật stock, mỗi lệnh là một transaction riêng
+            AtomicBoolean writing = new AtomicBoolean(true);
+            Future<?> writer = AppDatabase.databaseWriteExecutor.submit(() -> {
+                Random random = new Random(1);
+                while (writing.get()) {
+                    long productId = productIds[random.nextInt(productIds.length)];
+                    productDao.increaseStock(productId, 1, System.currentTimeMillis());
+                }
+            });
+
+            Random random = new Random(2);
+            double[] latenciesMs = new double[READ_COUNT];
+            for (int i = 0; i < READ_COUNT; i++) {
+                long productId = productIds[random.nextInt(productIds.length)];
+                long start = System.nanoTime();
+                Product product = AppDatabase.databaseReadExecutor.submit(() ->
+                        productDao.getProductByIdSync(productId)).get();
+                latenciesMs[i] = (System.nanoTime() - start) / 1_000_000.0;
+                assertNotNull(product);
+            }
+
+            writing.set(false);
+            writer.get();
+
+            Arrays.sort(latenciesMs);
+            double p50 = percentile(latenciesMs, 0.50);
+            double p99 = percentile(latenciesMs, 0.99);
+            Log.i(TAG, String.format(Locale.US, "%s: p50 %.2f ms, p99 %.2f ms, max %.2f ms (%d reads)",
+                    name, p50, p99, latenciesMs[latenciesMs.length - 1], READ_COUNT));
+            return p99;
+        } finally {
+            database.close();
+            context.deleteDatabase(databaseName);
+        }
+    }
+
+    private long[] seedProducts(AppDatabase database) {
+        Category category = new Category();
+        category.setName("Benchmark");
+        long categoryId = database.categoryDao().insert(category);
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product = new Product();
+            product.setName("Benchmark product " + i);
+            product.setCategoryId(categoryId);
+            product.setSku("BENCH_" + i);
+            product.setPrice(1 + i % 100);
+            product.setStock(100);
+            products.add(product);
+        }
+        database.productDao().insertAll(products);
+
+        long[] productIds = new long[PRODUCT_COUNT];
+        List<Product> inserted = database.productDao().getAllProductsSync();
+        assertEquals(PRODUCT_COUNT, inserted.size());
+        for (int i = 0; i < productIds.length; i++) {
+            productIds[i] = inserted.get(i).getId();
+        }
+        return productIds;
+    }
+
+    private static double percentile(double[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.ecommerce_app;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.ecommerce_app.data.database.AppDatabase;
+import com.example.ecommerce_app.utils.SampleDataGenerator;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tạo database đóng gói sẵn cho AppDatabase.createFromAsset từ dữ liệu của SampleDataGenerator
+ *
+ * Chạy lại mỗi khi dữ liệu mẫu hoặc schema (version) thay đổi:
+ *   ./gradlew connectedDebugAndroidTest \
+ *       -Pandroid.testInstrumentationRunnerArguments.class=com.example.ecommerce_app.SeedDatabaseGenerator
+ *   adb exec-out run-as com.example.ecommerce_app cat databases/ecommerce_seed.db \
+ *       > app/src/main/assets/database/ecommerce_seed.db
+ *
+ * Database được build bằng chính Room + TRIGGERS_CALLBACK nên có đủ schema, identity hash,
+ * triggers, FTS index và bảng thống kê như database tạo lúc runtime.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SeedDatabaseGenerator {
+
+    private static final String TAG = "SeedDatabaseGenerator";
+
+    @Test
+    public void generateSeedDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(AppDatabase.SEED_ASSET_FILE);
+
+        // TRUNCATE: toàn bộ dữ liệu nằm trong một file, không có -wal đi kèm
+        AppDatabase database = Room.databaseBuilder(context, AppDatabase.class, AppDatabase.SEED_ASSET_FILE)
+                .setJournalMode(RoomDatabase.JournalMode.TRUNCATE)
+                .addCallback(AppDatabase.TRIGGERS_CALLBACK)
+                .build();
+
+        try {
+            SampleDataGenerator.SampleData data = SampleDataGenerator.createSampleData();
+            SampleDataGenerator.populateDatabase(database, data);
+
+            assertEquals(data.products.size(), database.productDao().getAllProductsSync().size());
+            assertEquals(data.users.size(), database.userDao().getAllUsersSync().size());
+
+            database.getOpenHelper().getWritableDatabase().execSQL("VACUUM");
+        } finally {
+            database.close();
+        }
+
+        File file = context.getDatabasePath(AppDatabase.SEED_ASSET_FILE);
+        assertTrue(file.exists());
+        Log.i(TAG, "Seed database written to " + file.getAbsolutePath() + " (" + file.length() + " bytes)");
+    }
+}
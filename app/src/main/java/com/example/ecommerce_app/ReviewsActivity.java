@@ -17,6 +17,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.ecommerce_app.adapters.ReviewAdapter;
 import com.example.ecommerce_app.data.entities.Product;
 import com.example.ecommerce_app.utils.ImageHelper;
+import com.example.ecommerce_app.utils.InfiniteScrollListener;
 import com.example.ecommerce_app.viewmodels.ReviewsViewModel;
 import com.google.android.material.button.MaterialButton;
 
@@ -27,9 +28,11 @@ public class ReviewsActivity extends AppCompatActivity {
     
     public static final String EXTRA_PRODUCT_ID = "product_id";
     private static final int REQUEST_ADD_REVIEW = 100;
+    private static final int REVIEW_PREFETCH_DISTANCE = 5;
     
     private ReviewsViewModel viewModel;
     private ReviewAdapter reviewAdapter;
+    private InfiniteScrollListener scrollListener;
     
     // UI Components
     private ImageButton btnBack;
@@ -91,8 +94,14 @@ public class ReviewsActivity extends AppCompatActivity {
     
     private void setupRecyclerView() {
         reviewAdapter = new ReviewAdapter(this);
-        rvReviews.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        rvReviews.setLayoutManager(layoutManager);
         rvReviews.setAdapter(reviewAdapter);
+        
+        // Load next page of reviews when scrolling near the end
+        scrollListener = new InfiniteScrollListener(layoutManager, REVIEW_PREFETCH_DISTANCE,
+                () -> viewModel.loadMoreReviews());
+        rvReviews.addOnScrollListener(scrollListener);
     }
     
     private void setupObservers() {
@@ -106,7 +115,9 @@ public class ReviewsActivity extends AppCompatActivity {
         // Observe reviews
         viewModel.getReviews().observe(this, reviews -> {
             if (reviews != null && !reviews.isEmpty()) {
-                reviewAdapter.setReviews(reviews);
+                // Page shorter than the screen: no scroll event will fire, check once it is laid out
+                reviewAdapter.setReviews(reviews,
+                        () -> rvReviews.post(() -> scrollListener.checkLoadMore()));
                 rvReviews.setVisibility(View.VISIBLE);
                 layoutEmptyState.setVisibility(View.GONE);
             } else {
@@ -6,6 +6,7 @@ import android.os.Handler;
 import android.os.Looper;
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.example.ecommerce_app.utils.ImageManifest;
 import com.example.ecommerce_app.utils.SessionManager;
 
 /**
@@ -25,6 +26,9 @@ public class SplashActivity extends AppCompatActivity {
         setContentView(R.layout.activity_splash);
 
         sessionManager = new SessionManager(this);
+        
+        // Đọc manifest ảnh trong lúc splash, màn hình sau tra cứu ảnh không cần I/O
+        ImageManifest.preload(this);
 
         // Sau 2 giây, kiểm tra login status
         new Handler(Looper.getMainLooper()).postDelayed(new Runnable() {
@@ -12,16 +12,13 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.ecommerce_app.R;
 import com.example.ecommerce_app.adapters.PaymentProductAdapter;
-import com.example.ecommerce_app.data.entities.CartItem;
-import com.example.ecommerce_app.data.entities.Product;
-import com.example.ecommerce_app.data.repository.ProductRepository;
+import com.example.ecommerce_app.data.models.CartLineWithProduct;
+import com.example.ecommerce_app.data.repository.CartRepository;
 import com.google.android.material.button.MaterialButton;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.concurrent.ExecutionException;
 
 public class PaymentActivity extends AppCompatActivity {
@@ -40,17 +37,18 @@ public class PaymentActivity extends AppCompatActivity {
     private MaterialButton btnCheckoutNow;
     
     // Data
-    private List<CartItem> selectedItems;
-    private Map<Long, Product> productMap;
+    private long userId;
+    private List<Long> selectedItemIds;
+    private List<CartLineWithProduct> selectedLines;
     private PaymentProductAdapter adapter;
-    private ProductRepository productRepository;
+    private CartRepository cartRepository;
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_payment);
         
-        productRepository = new ProductRepository(getApplication());
+        cartRepository = new CartRepository(getApplication());
         
         initViews();
         receiveData();
@@ -74,24 +72,11 @@ public class PaymentActivity extends AppCompatActivity {
     private void receiveData() {
         // Receive data from intent
         ArrayList<Long> itemIds = (ArrayList<Long>) getIntent().getSerializableExtra("itemIds");
-        ArrayList<Long> productIds = (ArrayList<Long>) getIntent().getSerializableExtra("productIds");
-        ArrayList<Integer> quantities = (ArrayList<Integer>) getIntent().getSerializableExtra("quantities");
+        userId = getIntent().getLongExtra("userId", -1);
         
-        selectedItems = new ArrayList<>();
-        productMap = new HashMap<>();
-        
-        if (itemIds != null && productIds != null && quantities != null && 
-            itemIds.size() == productIds.size() && itemIds.size() == quantities.size()) {
-            
-            // Reconstruct CartItem objects
-            for (int i = 0; i < itemIds.size(); i++) {
-                CartItem item = new CartItem();
-                item.setId(itemIds.get(i));
-                item.setProductId(productIds.get(i));
-                item.setQuantity(quantities.get(i));
-                selectedItems.add(item);
-            }
-        }
+        // Quantities and prices are read fresh from the database in loadProducts()
+        selectedItemIds = itemIds != null ? itemIds : new ArrayList<>();
+        selectedLines = new ArrayList<>();
     }
     
     private void setupRecyclerView() {
@@ -99,7 +84,7 @@ public class PaymentActivity extends AppCompatActivity {
         rvProducts.setLayoutManager(new LinearLayoutManager(this));
         rvProducts.setAdapter(adapter);
         
-        adapter.setItems(selectedItems, productMap);
+        adapter.setItems(selectedLines);
     }
     
     private void setupListeners() {
@@ -122,24 +107,27 @@ public class PaymentActivity extends AppCompatActivity {
     }
     
     /**
-     * Load products from database in background thread
+     * Load selected cart lines with their products in one query
      */
     private void loadProducts() {
+        if (selectedItemIds.isEmpty()) {
+            updateUI();
+            return;
+        }
+        
         new Thread(() -> {
-            for (CartItem item : selectedItems) {
-                try {
-                    Product product = productRepository.getProductByIdSync(item.getProductId()).get();
-                    if (product != null) {
-                        productMap.put(item.getProductId(), product);
-                    }
-                } catch (ExecutionException | InterruptedException e) {
-                    e.printStackTrace();
-                }
+            List<CartLineWithProduct> lines = new ArrayList<>();
+            try {
+                lines = cartRepository.getCartLinesSync(userId, selectedItemIds).get();
+            } catch (ExecutionException | InterruptedException e) {
+                e.printStackTrace();
             }
             
             // Update UI on main thread
+            final List<CartLineWithProduct> result = lines;
             runOnUiThread(() -> {
-                adapter.setItems(selectedItems, productMap);
+                selectedLines = result;
+                adapter.setItems(selectedLines);
                 updateUI();
             });
         }).start();
@@ -147,7 +135,7 @@ public class PaymentActivity extends AppCompatActivity {
 
     private void updateUI() {
         // Update products title
-        int itemCount = selectedItems.size();
+        int itemCount = selectedLines.size();
         tvProductsTitle.setText(String.format(Locale.US, "Products (%d)", itemCount));
         
         // Calculate total amount
@@ -166,18 +154,15 @@ public class PaymentActivity extends AppCompatActivity {
     private double calculateSubtotal() {
         double total = 0.0;
         
-        for (CartItem item : selectedItems) {
-            Product product = productMap.get(item.getProductId());
-            if (product != null) {
-                total += product.getPrice() * item.getQuantity();
-            }
+        for (CartLineWithProduct line : selectedLines) {
+            total += line.getLineTotal();
         }
         
         return total;
     }
     
     private void processCheckout() {
-        if (selectedItems.isEmpty()) {
+        if (selectedLines.isEmpty()) {
             Toast.makeText(this, "No items to checkout", Toast.LENGTH_SHORT).show();
             return;
         }
@@ -9,69 +9,83 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.ecommerce_app.R;
 import com.example.ecommerce_app.data.entities.CartItem;
-import com.example.ecommerce_app.data.entities.Product;
-import com.example.ecommerce_app.data.repository.ProductRepository;
+import com.example.ecommerce_app.data.models.CartLineWithProduct;
 import com.example.ecommerce_app.utils.ImageHelper;
+import com.example.ecommerce_app.utils.LongHashSet;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
-import java.util.concurrent.ExecutionException;
+import java.util.Objects;
 
 /**
  * CartAdapter - Adapter for displaying cart items with product details
+ *
+ * New lists are diffed against the current one on a background thread, so a quantity
+ * change only rebinds its own row, and only its quantity and price text (PAYLOAD_QUANTITY).
+ * Ticking a checkbox updates the selection set without rebinding anything.
  */
-public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder> {
+public class CartAdapter extends ListAdapter<CartLineWithProduct, CartAdapter.CartViewHolder> {
+
+    // Only the quantity or the product price changed: update the quantity and price text
+    private static final Object PAYLOAD_QUANTITY = new Object();
+
+    private static final DiffUtil.ItemCallback<CartLineWithProduct> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<CartLineWithProduct>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull CartLineWithProduct oldLine,
+                                               @NonNull CartLineWithProduct newLine) {
+                    return oldLine.cartItem.getId() == newLine.cartItem.getId();
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull CartLineWithProduct oldLine,
+                                                  @NonNull CartLineWithProduct newLine) {
+                    return sameProduct(oldLine, newLine)
+                            && oldLine.cartItem.getQuantity() == newLine.cartItem.getQuantity()
+                            && Double.compare(oldLine.productPrice, newLine.productPrice) == 0;
+                }
+
+                @Override
+                public Object getChangePayload(@NonNull CartLineWithProduct oldLine,
+                                               @NonNull CartLineWithProduct newLine) {
+                    // null = full bind (product, image and labels changed)
+                    return sameProduct(oldLine, newLine) ? PAYLOAD_QUANTITY : null;
+                }
+
+                private boolean sameProduct(CartLineWithProduct oldLine, CartLineWithProduct newLine) {
+                    return oldLine.cartItem.getProductId() == newLine.cartItem.getProductId()
+                            && Objects.equals(oldLine.productName, newLine.productName)
+                            && Objects.equals(oldLine.productBrand, newLine.productBrand);
+                }
+            };
 
     private Context context;
-    private List<CartItem> cartItems;
-    private Map<Long, Product> productMap; // Cache products by ID
-    private Map<Long, Boolean> selectedItems; // Track selected items by CartItem ID
+    private final LongHashSet selectedIds = new LongHashSet(); // Selected CartItem IDs
     private OnCartItemListener listener;
-    private ProductRepository productRepository;
 
     public CartAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.cartItems = new ArrayList<>();
-        this.productMap = new HashMap<>();
-        this.selectedItems = new HashMap<>();
-        this.productRepository = new ProductRepository(
-            (android.app.Application) context.getApplicationContext());
+        setHasStableIds(true);
     }
 
-    public void setCartItems(List<CartItem> items) {
-        this.cartItems = items != null ? items : new ArrayList<>();
-        loadProducts();
+    public void setCartLines(List<CartLineWithProduct> lines) {
+        setCartLines(lines, null);
     }
 
     /**
-     * Load all products for cart items
+     * @param commitCallback Runs once the new list is displayed, when totals
+     *                       from {@link #getTotalPrice()} reflect it (may be null)
      */
-    private void loadProducts() {
-        new Thread(() -> {
-            for (CartItem item : cartItems) {
-                if (!productMap.containsKey(item.getProductId())) {
-                    try {
-                        Product product = productRepository.getProductByIdSync(item.getProductId()).get();
-                        if (product != null) {
-                            productMap.put(item.getProductId(), product);
-                        }
-                    } catch (ExecutionException | InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                }
-            }
-            // Notify on main thread
-            if (context instanceof android.app.Activity) {
-                ((android.app.Activity) context).runOnUiThread(() -> notifyDataSetChanged());
-            }
-        }).start();
+    public void setCartLines(List<CartLineWithProduct> lines, Runnable commitCallback) {
+        submitList(lines, commitCallback);
     }
 
     public void setOnCartItemListener(OnCartItemListener listener) {
@@ -83,13 +97,9 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
      */
     public double getTotalPrice() {
         double total = 0.0;
-        for (CartItem item : cartItems) {
-            Boolean isSelected = selectedItems.get(item.getId());
-            if (isSelected != null && isSelected) {
-                Product product = productMap.get(item.getProductId());
-                if (product != null) {
-                    total += product.getPrice() * item.getQuantity();
-                }
+        for (CartLineWithProduct line : getCurrentList()) {
+            if (selectedIds.contains(line.cartItem.getId())) {
+                total += line.getLineTotal();
             }
         }
         return total;
@@ -99,13 +109,7 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
      * Get count of selected items
      */
     public int getSelectedCount() {
-        int count = 0;
-        for (Boolean selected : selectedItems.values()) {
-            if (selected != null && selected) {
-                count++;
-            }
-        }
-        return count;
+        return selectedIds.size();
     }
 
     /**
@@ -113,22 +117,14 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
      */
     public List<CartItem> getSelectedItems() {
         List<CartItem> selected = new ArrayList<>();
-        for (CartItem item : cartItems) {
-            Boolean isSelected = selectedItems.get(item.getId());
-            if (isSelected != null && isSelected) {
-                selected.add(item);
+        for (CartLineWithProduct line : getCurrentList()) {
+            if (selectedIds.contains(line.cartItem.getId())) {
+                selected.add(line.cartItem);
             }
         }
         return selected;
     }
 
-    /**
-     * Get product map for passing to other activities
-     */
-    public Map<Long, Product> getProductMap() {
-        return new HashMap<>(productMap);
-    }
-
     @NonNull
     @Override
     public CartViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -138,14 +134,29 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
 
     @Override
     public void onBindViewHolder(@NonNull CartViewHolder holder, int position) {
-        CartItem cartItem = cartItems.get(position);
-        Product product = productMap.get(cartItem.getProductId());
-        holder.bind(cartItem, product);
+        holder.bind(getItem(position));
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull CartViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        // Payloads only carry PAYLOAD_QUANTITY; several merged changes need one update
+        holder.bindQuantity(getItem(position));
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull CartViewHolder holder) {
+        super.onViewRecycled(holder);
+        // Holder went off screen: drop its pending image decode
+        ImageHelper.cancelLoad(holder.ivProduct);
     }
 
     @Override
-    public int getItemCount() {
-        return cartItems.size();
+    public long getItemId(int position) {
+        return getItem(position).cartItem.getId();
     }
 
     class CartViewHolder extends RecyclerView.ViewHolder {
@@ -164,12 +175,17 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
             tvQuantity = itemView.findViewById(R.id.tv_quantity);
             tvPrice = itemView.findViewById(R.id.tv_price);
 
-            // Checkbox listener
-            checkboxItem.setOnCheckedChangeListener((buttonView, isChecked) -> {
+            // Checkbox listener: click (not checked-change) so restoring the state in bind() doesn't fire it
+            checkboxItem.setOnClickListener(v -> {
                 int position = getAdapterPosition();
                 if (position != RecyclerView.NO_POSITION) {
-                    CartItem item = cartItems.get(position);
-                    selectedItems.put(item.getId(), isChecked);
+                    CartItem item = getItem(position).cartItem;
+                    boolean isChecked = checkboxItem.isChecked();
+                    if (isChecked) {
+                        selectedIds.add(item.getId());
+                    } else {
+                        selectedIds.remove(item.getId());
+                    }
                     if (listener != null) {
                         listener.onItemChecked(item, isChecked);
                     }
@@ -181,7 +197,7 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
                 if (listener != null) {
                     int position = getAdapterPosition();
                     if (position != RecyclerView.NO_POSITION) {
-                        listener.onDecreaseQuantity(cartItems.get(position));
+                        listener.onDecreaseQuantity(getItem(position).cartItem);
                     }
                 }
             });
@@ -191,41 +207,40 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
                 if (listener != null) {
                     int position = getAdapterPosition();
                     if (position != RecyclerView.NO_POSITION) {
-                        listener.onIncreaseQuantity(cartItems.get(position));
+                        listener.onIncreaseQuantity(getItem(position).cartItem);
                     }
                 }
             });
         }
 
-        public void bind(CartItem cartItem, Product product) {
-            // Set quantity
-            tvQuantity.setText(String.valueOf(cartItem.getQuantity()));
-
-            if (product != null) {
-                // Product name
-                tvProductName.setText(product.getName());
-
-                // Color (use brand as color for now, or product category)
-                String color = product.getBrand() != null ? product.getBrand() : "Default";
-                tvColor.setText(String.format("Color: %s", color));
-
-                // Price (total for this item)
-                double totalPrice = product.getPrice() * cartItem.getQuantity();
-                tvPrice.setText(String.format(Locale.US, "$%.2f", totalPrice));
-
-                // Load product image
-                String imagePath = ImageHelper.getProductMainImagePath(product.getId());
-                ImageHelper.loadImageFromAssets(context, imagePath, ivProduct);
-            } else {
-                // Loading state
-                tvProductName.setText("Loading...");
-                tvColor.setText("");
-                tvPrice.setText("$0.00");
-            }
+        public void bind(CartLineWithProduct line) {
+            CartItem cartItem = line.cartItem;
+
+            // Quantity and price
+            bindQuantity(line);
+
+            // Product name
+            tvProductName.setText(line.productName);
+
+            // Color (use brand as color for now, or product category)
+            String color = line.productBrand != null ? line.productBrand : "Default";
+            tvColor.setText(String.format("Color: %s", color));
+
+            // Load product image
+            String imagePath = ImageHelper.getProductMainImagePath(cartItem.getProductId());
+            ImageHelper.loadImageFromAssets(context, imagePath, ivProduct);
 
             // Restore checkbox state
-            Boolean isSelected = selectedItems.get(cartItem.getId());
-            checkboxItem.setChecked(isSelected != null && isSelected);
+            checkboxItem.setChecked(selectedIds.contains(cartItem.getId()));
+        }
+
+        /**
+         * Partial bind for PAYLOAD_QUANTITY: image, labels and checkbox are left untouched
+         */
+        void bindQuantity(CartLineWithProduct line) {
+            tvQuantity.setText(String.valueOf(line.cartItem.getQuantity()));
+            // Price (total for this item)
+            tvPrice.setText(String.format(Locale.US, "$%.2f", line.getLineTotal()));
         }
     }
 
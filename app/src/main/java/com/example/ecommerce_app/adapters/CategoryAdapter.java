@@ -26,6 +26,7 @@ public class CategoryAdapter extends RecyclerView.Adapter<CategoryAdapter.Catego
     private List<Category> categories;
     private List<Integer> productCounts;
     private OnCategoryClickListener listener;
+    private int itemWidth; // 0 = width from item_category (match_parent)
 
     public CategoryAdapter(Context context) {
         this.context = context;
@@ -47,20 +48,47 @@ public class CategoryAdapter extends RecyclerView.Adapter<CategoryAdapter.Catego
         this.listener = listener;
     }
 
+    /**
+     * Fixed card width in px, for horizontal carousels where match_parent would fill the screen
+     */
+    public void setItemWidth(int itemWidth) {
+        this.itemWidth = itemWidth;
+    }
+
     @NonNull
     @Override
     public CategoryViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(context).inflate(R.layout.item_category, parent, false);
+        if (itemWidth > 0) {
+            view.getLayoutParams().width = itemWidth;
+        }
         return new CategoryViewHolder(view);
     }
 
+    /**
+     * The layout id doubles as the view type so a shared RecycledViewPool never hands
+     * a category holder to a product adapter (and vice versa)
+     */
+    @Override
+    public int getItemViewType(int position) {
+        return R.layout.item_category;
+    }
+
     @Override
     public void onBindViewHolder(@NonNull CategoryViewHolder holder, int position) {
         Category category = categories.get(position);
-        int productCount = position < productCounts.size() ? productCounts.get(position) : 0;
+        // No counts set (home carousel): the count line is hidden
+        Integer productCount = position < productCounts.size() ? productCounts.get(position) : null;
         holder.bind(category, productCount);
     }
 
+    @Override
+    public void onViewRecycled(@NonNull CategoryViewHolder holder) {
+        super.onViewRecycled(holder);
+        // Holder went off screen: drop its pending image decode
+        ImageHelper.cancelLoad(holder.categoryImage);
+    }
+
     @Override
     public int getItemCount() {
         return categories.size();
@@ -86,9 +114,14 @@ public class CategoryAdapter extends RecyclerView.Adapter<CategoryAdapter.Catego
             });
         }
 
-        public void bind(Category category, int productCount) {
+        public void bind(Category category, Integer productCount) {
             categoryName.setText(category.getName());
-            categoryCount.setText(context.getString(R.string.products_count, productCount));
+            if (productCount != null) {
+                categoryCount.setText(context.getString(R.string.products_count, productCount));
+                categoryCount.setVisibility(View.VISIBLE);
+            } else {
+                categoryCount.setVisibility(View.GONE);
+            }
 
             // Load category image
             if (category.getImageFilename() != null && !category.getImageFilename().isEmpty()) {
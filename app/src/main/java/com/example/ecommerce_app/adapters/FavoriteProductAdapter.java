@@ -8,10 +8,12 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.ecommerce_app.R;
 import com.example.ecommerce_app.data.entities.Product;
+import com.example.ecommerce_app.data.models.FavoriteProduct;
 import com.example.ecommerce_app.utils.ImageHelper;
 import com.google.android.material.card.MaterialCardView;
 
@@ -21,11 +23,13 @@ import java.util.Locale;
 
 /**
  * FavoriteProductAdapter - Adapter for displaying favorite products in a grid
+ *
+ * New lists are diffed against the current one on a background thread, so only the cards
+ * whose product changed are rebound.
  */
-public class FavoriteProductAdapter extends RecyclerView.Adapter<FavoriteProductAdapter.ProductViewHolder> {
+public class FavoriteProductAdapter extends ListAdapter<Product, FavoriteProductAdapter.ProductViewHolder> {
 
     private Context context;
-    private List<Product> products = new ArrayList<>();
     private OnProductClickListener listener;
 
     public interface OnProductClickListener {
@@ -34,7 +38,9 @@ public class FavoriteProductAdapter extends RecyclerView.Adapter<FavoriteProduct
     }
 
     public FavoriteProductAdapter(Context context) {
+        super(new ProductDiffCallback());
         this.context = context;
+        setHasStableIds(true);
     }
 
     public void setOnProductClickListener(OnProductClickListener listener) {
@@ -42,15 +48,31 @@ public class FavoriteProductAdapter extends RecyclerView.Adapter<FavoriteProduct
     }
 
     public void setProducts(List<Product> products) {
-        this.products = products != null ? products : new ArrayList<>();
-        notifyDataSetChanged();
+        submitList(products);
+    }
+
+    /**
+     * Set favorites already filtered and sorted by the database
+     */
+    public void setFavorites(List<FavoriteProduct> favorites) {
+        List<Product> favoriteProducts = new ArrayList<>();
+        if (favorites != null) {
+            for (FavoriteProduct favorite : favorites) {
+                favoriteProducts.add(favorite.product);
+            }
+        }
+        setProducts(favoriteProducts);
     }
 
     public void removeProduct(Product product) {
-        int position = products.indexOf(product);
-        if (position != -1) {
-            products.remove(position);
-            notifyItemRemoved(position);
+        // Match by id: each query emission creates new Product instances
+        List<Product> remaining = new ArrayList<>(getCurrentList());
+        for (int position = 0; position < remaining.size(); position++) {
+            if (remaining.get(position).getId() == product.getId()) {
+                remaining.remove(position);
+                submitList(remaining);
+                return;
+            }
         }
     }
 
@@ -63,7 +85,7 @@ public class FavoriteProductAdapter extends RecyclerView.Adapter<FavoriteProduct
 
     @Override
     public void onBindViewHolder(@NonNull ProductViewHolder holder, int position) {
-        Product product = products.get(position);
+        Product product = getItem(position);
 
         // Set product name
         holder.tvProductName.setText(product.getName());
@@ -102,8 +124,15 @@ public class FavoriteProductAdapter extends RecyclerView.Adapter<FavoriteProduct
     }
 
     @Override
-    public int getItemCount() {
-        return products.size();
+    public void onViewRecycled(@NonNull ProductViewHolder holder) {
+        super.onViewRecycled(holder);
+        // Holder went off screen: drop its pending image decode
+        ImageHelper.cancelLoad(holder.ivProductImage);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getId();
     }
 
     static class ProductViewHolder extends RecyclerView.ViewHolder {
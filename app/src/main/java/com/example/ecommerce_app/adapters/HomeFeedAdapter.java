@@ -0,0 +1,321 @@
+package com.example.ecommerce_app.adapters;
+
+import android.content.Context;
+import android.os.Parcelable;
+import android.util.SparseArray;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.viewpager2.widget.ViewPager2;
+
+import com.example.ecommerce_app.R;
+import com.example.ecommerce_app.data.entities.Category;
+import com.example.ecommerce_app.data.entities.Product;
+import com.example.ecommerce_app.utils.ImagePreloader;
+
+import java.util.List;
+
+/**
+ * HomeFeedAdapter - Sectioned home feed in one vertical RecyclerView:
+ * banner, then horizontal carousels for categories, new arrivals, best sellers and sale
+ *
+ * All carousels take their cards from one shared RecycledViewPool, so item_product holders
+ * created for one section are reused by the others instead of being inflated again, and each
+ * carousel sets initialPrefetchItemCount so its first cards are laid out during the outer
+ * list's prefetch, before the section scrolls into view. Sections without data are left out.
+ */
+public class HomeFeedAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+    public static final int SECTION_BANNER = 0;
+    public static final int SECTION_CATEGORIES = 1;
+    public static final int SECTION_NEW_ARRIVALS = 2;
+    public static final int SECTION_BEST_SELLERS = 3;
+    public static final int SECTION_SALE = 4;
+    public static final int SECTION_COUNT = 5;
+
+    // Cards visible at once in a carousel, laid out ahead by nested prefetch
+    private static final int PRODUCT_PREFETCH_COUNT = 3;
+    private static final int CATEGORY_PREFETCH_COUNT = 2;
+    private static final int CATEGORY_ITEM_WIDTH_DP = 200;
+    // Room for the cards of every product carousel, so recycling one section feeds the next
+    private static final int MAX_POOLED_PRODUCT_VIEWS = 15;
+
+    private final Context context;
+    private final RecyclerView.RecycledViewPool sharedPool = new RecyclerView.RecycledViewPool();
+    private final BannerAdapter bannerAdapter;
+    private final CategoryAdapter categoryAdapter;
+    private final ProductAdapter newArrivalsAdapter;
+    private final ProductAdapter bestSellersAdapter;
+    private final ProductAdapter saleAdapter;
+
+    // Sections currently in the feed, the banner is always shown
+    private final boolean[] visibleSections = new boolean[SECTION_COUNT];
+    // Horizontal scroll position of each carousel while its holder is recycled
+    private final SparseArray<Parcelable> carouselStates = new SparseArray<>();
+    private View.OnClickListener seeAllListener;
+
+    public HomeFeedAdapter(Context context) {
+        this.context = context;
+        bannerAdapter = new BannerAdapter(context);
+        categoryAdapter = new CategoryAdapter(context);
+        categoryAdapter.setItemWidth(
+                Math.round(CATEGORY_ITEM_WIDTH_DP * context.getResources().getDisplayMetrics().density));
+        newArrivalsAdapter = new ProductAdapter(context);
+        bestSellersAdapter = new ProductAdapter(context);
+        saleAdapter = new ProductAdapter(context);
+
+        sharedPool.setMaxRecycledViews(R.layout.item_product, MAX_POOLED_PRODUCT_VIEWS);
+        visibleSections[SECTION_BANNER] = true;
+        setHasStableIds(true);
+    }
+
+    public void setCategories(List<Category> categories) {
+        categoryAdapter.setCategories(categories);
+        setSectionVisible(SECTION_CATEGORIES, categories != null && !categories.isEmpty());
+    }
+
+    public void setNewArrivals(List<Product> products) {
+        setProducts(SECTION_NEW_ARRIVALS, newArrivalsAdapter, products);
+    }
+
+    public void setBestSellers(List<Product> products) {
+        setProducts(SECTION_BEST_SELLERS, bestSellersAdapter, products);
+    }
+
+    public void setSaleProducts(List<Product> products) {
+        setProducts(SECTION_SALE, saleAdapter, products);
+    }
+
+    public void setOnProductClickListener(ProductAdapter.OnProductClickListener listener) {
+        newArrivalsAdapter.setOnProductClickListener(listener);
+        bestSellersAdapter.setOnProductClickListener(listener);
+        saleAdapter.setOnProductClickListener(listener);
+    }
+
+    /**
+     * "See All" on New Arrivals, which opens the newest-first product grid. Best sellers and
+     * sale have no full listing of their own, so those sections show no "See All".
+     */
+    public void setOnSeeAllClickListener(View.OnClickListener listener) {
+        this.seeAllListener = listener;
+    }
+
+    private void setProducts(int section, ProductAdapter adapter, List<Product> products) {
+        adapter.setProducts(products);
+        setSectionVisible(section, products != null && !products.isEmpty());
+    }
+
+    private void setSectionVisible(int section, boolean visible) {
+        if (visibleSections[section] == visible) {
+            return;
+        }
+        if (visible) {
+            visibleSections[section] = true;
+            notifyItemInserted(positionOf(section));
+        } else {
+            int position = positionOf(section);
+            visibleSections[section] = false;
+            carouselStates.remove(section);
+            notifyItemRemoved(position);
+        }
+    }
+
+    private int positionOf(int section) {
+        int position = 0;
+        for (int i = 0; i < section; i++) {
+            if (visibleSections[i]) {
+                position++;
+            }
+        }
+        return position;
+    }
+
+    private int sectionAt(int position) {
+        int remaining = position;
+        for (int section = 0; section < SECTION_COUNT; section++) {
+            if (visibleSections[section] && remaining-- == 0) {
+                return section;
+            }
+        }
+        throw new IndexOutOfBoundsException("No section at " + position);
+    }
+
+    @Override
+    public int getItemCount() {
+        int count = 0;
+        for (boolean visible : visibleSections) {
+            if (visible) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return sectionAt(position);
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return sectionAt(position) == SECTION_BANNER ? R.layout.item_home_banner : R.layout.item_home_section;
+    }
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(context).inflate(viewType, parent, false);
+        if (viewType == R.layout.item_home_banner) {
+            return new BannerSectionViewHolder(view, bannerAdapter);
+        }
+        return new CarouselSectionViewHolder(view, sharedPool);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        if (!(holder instanceof CarouselSectionViewHolder)) {
+            return;
+        }
+        CarouselSectionViewHolder carouselHolder = (CarouselSectionViewHolder) holder;
+        int section = sectionAt(position);
+        switch (section) {
+            case SECTION_CATEGORIES:
+                carouselHolder.bind(section, R.string.categories, categoryAdapter,
+                        CATEGORY_PREFETCH_COUNT, null);
+                break;
+            case SECTION_NEW_ARRIVALS:
+                carouselHolder.bind(section, R.string.new_arrivals, newArrivalsAdapter,
+                        PRODUCT_PREFETCH_COUNT, seeAllListener);
+                break;
+            case SECTION_BEST_SELLERS:
+                carouselHolder.bind(section, R.string.best_sellers, bestSellersAdapter,
+                        PRODUCT_PREFETCH_COUNT, null);
+                break;
+            case SECTION_SALE:
+                carouselHolder.bind(section, R.string.on_sale, saleAdapter,
+                        PRODUCT_PREFETCH_COUNT, null);
+                break;
+            default:
+                break;
+        }
+
+        Parcelable state = carouselStates.get(section);
+        if (state != null) {
+            carouselHolder.layoutManager.onRestoreInstanceState(state);
+        } else {
+            carouselHolder.layoutManager.scrollToPosition(0);
+        }
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull RecyclerView.ViewHolder holder) {
+        super.onViewRecycled(holder);
+        if (holder instanceof CarouselSectionViewHolder) {
+            CarouselSectionViewHolder carouselHolder = (CarouselSectionViewHolder) holder;
+            if (visibleSections[carouselHolder.section]) {
+                carouselStates.put(carouselHolder.section, carouselHolder.layoutManager.onSaveInstanceState());
+            }
+        }
+    }
+
+    static class BannerSectionViewHolder extends RecyclerView.ViewHolder {
+        ViewPager2 bannerViewPager;
+        LinearLayout bannerIndicator;
+
+        BannerSectionViewHolder(@NonNull View itemView, BannerAdapter bannerAdapter) {
+            super(itemView);
+            bannerViewPager = itemView.findViewById(R.id.banner_viewpager);
+            bannerIndicator = itemView.findViewById(R.id.banner_indicator);
+            bannerViewPager.setAdapter(bannerAdapter);
+
+            setupBannerIndicator(bannerAdapter.getItemCount());
+            bannerViewPager.registerOnPageChangeCallback(new ViewPager2.OnPageChangeCallback() {
+                @Override
+                public void onPageSelected(int position) {
+                    super.onPageSelected(position);
+                    updateBannerIndicator(position);
+                }
+            });
+        }
+
+        private void setupBannerIndicator(int bannerCount) {
+            float density = itemView.getResources().getDisplayMetrics().density;
+            for (int i = 0; i < bannerCount; i++) {
+                View indicator = new View(itemView.getContext());
+                LinearLayout.LayoutParams params = new LinearLayout.LayoutParams(
+                        (int) (8 * density),
+                        (int) (8 * density)
+                );
+                params.setMargins(4, 0, 4, 0);
+                indicator.setLayoutParams(params);
+                indicator.setBackgroundResource(R.drawable.indicator_inactive);
+                bannerIndicator.addView(indicator);
+            }
+            if (bannerCount > 0) {
+                bannerIndicator.getChildAt(0).setBackgroundResource(R.drawable.indicator_active);
+            }
+        }
+
+        private void updateBannerIndicator(int position) {
+            int childCount = bannerIndicator.getChildCount();
+            for (int i = 0; i < childCount; i++) {
+                View indicator = bannerIndicator.getChildAt(i);
+                if (i == position) {
+                    indicator.setBackgroundResource(R.drawable.indicator_active);
+                } else {
+                    indicator.setBackgroundResource(R.drawable.indicator_inactive);
+                }
+            }
+        }
+    }
+
+    static class CarouselSectionViewHolder extends RecyclerView.ViewHolder {
+        TextView sectionTitle, seeAll;
+        RecyclerView carousel;
+        LinearLayoutManager layoutManager;
+        int section;
+
+        CarouselSectionViewHolder(@NonNull View itemView, RecyclerView.RecycledViewPool sharedPool) {
+            super(itemView);
+            sectionTitle = itemView.findViewById(R.id.section_title);
+            seeAll = itemView.findViewById(R.id.section_see_all);
+            carousel = itemView.findViewById(R.id.section_carousel);
+
+            layoutManager = new LinearLayoutManager(itemView.getContext(), RecyclerView.HORIZONTAL, false);
+            // Give the cards back to the shared pool when this section is recycled
+            layoutManager.setRecycleChildrenOnDetach(true);
+            carousel.setLayoutManager(layoutManager);
+            carousel.setRecycledViewPool(sharedPool);
+            carousel.setHasFixedSize(true);
+
+            // Preload images of the cards about to scroll in, whichever product section is bound
+            carousel.addOnScrollListener(new ImagePreloader(itemView.getContext(), layoutManager,
+                    R.id.product_image, position -> {
+                        RecyclerView.Adapter<?> adapter = carousel.getAdapter();
+                        return adapter instanceof ImagePreloader.ImagePathProvider
+                                ? ((ImagePreloader.ImagePathProvider) adapter).getImagePath(position)
+                                : null;
+                    }));
+        }
+
+        void bind(int section, int titleRes, RecyclerView.Adapter<?> adapter, int prefetchCount,
+                  View.OnClickListener seeAllListener) {
+            this.section = section;
+            sectionTitle.setText(titleRes);
+            seeAll.setVisibility(seeAllListener != null ? View.VISIBLE : View.GONE);
+            seeAll.setOnClickListener(seeAllListener);
+
+            layoutManager.setInitialPrefetchItemCount(prefetchCount);
+            if (carousel.getAdapter() != adapter) {
+                // Cards of the previous section go to the shared pool
+                carousel.setAdapter(adapter);
+            }
+        }
+    }
+}
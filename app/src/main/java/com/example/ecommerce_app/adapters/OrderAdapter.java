@@ -9,29 +9,59 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.ecommerce_app.R;
 import com.example.ecommerce_app.data.entities.Order;
 import com.example.ecommerce_app.data.entities.OrderItem;
-import com.example.ecommerce_app.data.entities.Product;
+import com.example.ecommerce_app.data.models.OrderSummary;
 import com.example.ecommerce_app.utils.ImageHelper;
 import com.google.android.material.button.MaterialButton;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
+import java.util.Objects;
 
 /**
  * OrderAdapter - RecyclerView adapter for displaying orders with product details
+ *
+ * New lists are diffed against the current one on a background thread, so a status
+ * change or an appended page only rebinds the affected rows.
  */
-public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHolder> {
+public class OrderAdapter extends ListAdapter<OrderSummary, OrderAdapter.OrderViewHolder> {
+
+    private static final DiffUtil.ItemCallback<OrderSummary> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<OrderSummary>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull OrderSummary oldSummary,
+                                               @NonNull OrderSummary newSummary) {
+                    return oldSummary.order.getId() == newSummary.order.getId();
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull OrderSummary oldSummary,
+                                                  @NonNull OrderSummary newSummary) {
+                    Order oldOrder = oldSummary.order;
+                    Order newOrder = newSummary.order;
+                    return Objects.equals(oldOrder.getStatus(), newOrder.getStatus())
+                            && Objects.equals(oldOrder.getOrderNumber(), newOrder.getOrderNumber())
+                            && Double.compare(oldOrder.getTotalAmount(), newOrder.getTotalAmount()) == 0
+                            && oldSummary.getFirstProductId() == newSummary.getFirstProductId()
+                            && firstItemQuantity(oldSummary) == firstItemQuantity(newSummary)
+                            && Objects.equals(oldSummary.firstProductName, newSummary.firstProductName)
+                            && Objects.equals(oldSummary.firstProductDescription,
+                                    newSummary.firstProductDescription);
+                }
+
+                private int firstItemQuantity(OrderSummary summary) {
+                    return summary.firstItem != null ? summary.firstItem.getQuantity() : -1;
+                }
+            };
 
     private Context context;
-    private List<OrderWithDetails> ordersWithDetails = new ArrayList<>();
     private SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
     private OnOrderClickListener listener;
 
@@ -41,24 +71,24 @@ public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHol
     }
 
     public OrderAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
+        setHasStableIds(true);
     }
 
     public void setOnOrderClickListener(OnOrderClickListener listener) {
         this.listener = listener;
     }
 
-    public void setOrders(List<Order> orders) {
-        this.ordersWithDetails.clear();
-        for (Order order : orders) {
-            ordersWithDetails.add(new OrderWithDetails(order, null, null));
-        }
-        notifyDataSetChanged();
+    public void setOrderSummaries(List<OrderSummary> orderSummaries) {
+        setOrderSummaries(orderSummaries, null);
     }
 
-    public void setOrdersWithDetails(List<OrderWithDetails> ordersWithDetails) {
-        this.ordersWithDetails = ordersWithDetails;
-        notifyDataSetChanged();
+    /**
+     * @param commitCallback Runs once the new list is displayed (may be null)
+     */
+    public void setOrderSummaries(List<OrderSummary> orderSummaries, Runnable commitCallback) {
+        submitList(orderSummaries, commitCallback);
     }
 
     @NonNull
@@ -70,26 +100,26 @@ public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHol
 
     @Override
     public void onBindViewHolder(@NonNull OrderViewHolder holder, int position) {
-        OrderWithDetails orderWithDetails = ordersWithDetails.get(position);
-        Order order = orderWithDetails.order;
-        OrderItem firstItem = orderWithDetails.firstItem;
-        Product product = orderWithDetails.product;
+        OrderSummary summary = getItem(position);
+        Order order = summary.order;
+        OrderItem firstItem = summary.firstItem;
+        boolean hasProduct = summary.firstProductName != null;
 
         // Set product image
-        if (product != null) {
-            String imagePath = ImageHelper.getProductMainImagePath(product.getId());
+        if (hasProduct) {
+            String imagePath = ImageHelper.getProductMainImagePath(summary.getFirstProductId());
             ImageHelper.loadImageFromAssets(context, imagePath, holder.ivProductImage);
         } else {
             holder.ivProductImage.setImageResource(R.drawable.ic_launcher_background);
         }
 
         // Set product name
-        if (product != null) {
-            holder.tvProductName.setText(product.getName());
+        if (hasProduct) {
+            holder.tvProductName.setText(summary.firstProductName);
             
             // Set color if available (from product description or attributes)
             // For now, we'll show a generic color text
-            holder.tvProductColor.setText("Color: " + getProductColor(product));
+            holder.tvProductColor.setText("Color: " + getProductColor(summary.firstProductDescription));
         } else {
             holder.tvProductName.setText("Order #" + order.getOrderNumber());
             holder.tvProductColor.setText("Multiple items");
@@ -140,21 +170,28 @@ public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHol
     }
 
     @Override
-    public int getItemCount() {
-        return ordersWithDetails.size();
+    public void onViewRecycled(@NonNull OrderViewHolder holder) {
+        super.onViewRecycled(holder);
+        // Holder went off screen: drop its pending image decode
+        ImageHelper.cancelLoad(holder.ivProductImage);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).order.getId();
     }
 
     /**
      * Get product color from product data
      */
-    private String getProductColor(Product product) {
+    private String getProductColor(String description) {
         // This is a simple implementation
         // In a real app, you might have a separate color field or parse from description
-        if (product.getDescription() != null && product.getDescription().contains("Brown")) {
+        if (description != null && description.contains("Brown")) {
             return "Brown";
-        } else if (product.getDescription() != null && product.getDescription().contains("Black")) {
+        } else if (description != null && description.contains("Black")) {
             return "Black";
-        } else if (product.getDescription() != null && product.getDescription().contains("Pink")) {
+        } else if (description != null && description.contains("Pink")) {
             return "Pink";
         }
         return "Default";
@@ -258,19 +295,4 @@ public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHol
             btnAction = itemView.findViewById(R.id.btn_action);
         }
     }
-
-    /**
-     * Helper class to hold order with its first item and product details
-     */
-    public static class OrderWithDetails {
-        public Order order;
-        public OrderItem firstItem;
-        public Product product;
-
-        public OrderWithDetails(Order order, OrderItem firstItem, Product product) {
-            this.order = order;
-            this.firstItem = firstItem;
-            this.product = product;
-        }
-    }
 }
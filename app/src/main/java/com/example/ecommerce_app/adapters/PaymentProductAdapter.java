@@ -10,29 +10,23 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.ecommerce_app.R;
-import com.example.ecommerce_app.data.entities.CartItem;
-import com.example.ecommerce_app.data.entities.Product;
+import com.example.ecommerce_app.data.models.CartLineWithProduct;
 import com.example.ecommerce_app.utils.ImageHelper;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 public class PaymentProductAdapter extends RecyclerView.Adapter<PaymentProductAdapter.ViewHolder> {
     
-    private List<CartItem> cartItems;
-    private Map<Long, Product> productMap;
+    private List<CartLineWithProduct> cartLines;
     
     public PaymentProductAdapter() {
-        this.cartItems = new ArrayList<>();
-        this.productMap = new HashMap<>();
+        this.cartLines = new ArrayList<>();
     }
     
-    public void setItems(List<CartItem> cartItems, Map<Long, Product> productMap) {
-        this.cartItems = cartItems;
-        this.productMap = productMap;
+    public void setItems(List<CartLineWithProduct> cartLines) {
+        this.cartLines = cartLines != null ? cartLines : new ArrayList<>();
         notifyDataSetChanged();
     }
     
@@ -46,17 +40,19 @@ public class PaymentProductAdapter extends RecyclerView.Adapter<PaymentProductAd
     
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        CartItem cartItem = cartItems.get(position);
-        Product product = productMap.get(cartItem.getProductId());
-        
-        if (product != null) {
-            holder.bind(cartItem, product);
-        }
+        holder.bind(cartLines.get(position));
+    }
+    
+    @Override
+    public void onViewRecycled(@NonNull ViewHolder holder) {
+        super.onViewRecycled(holder);
+        // Holder went off screen: drop its pending image decode
+        ImageHelper.cancelLoad(holder.ivProductImage);
     }
     
     @Override
     public int getItemCount() {
-        return cartItems.size();
+        return cartLines.size();
     }
     
     static class ViewHolder extends RecyclerView.ViewHolder {
@@ -75,19 +71,18 @@ public class PaymentProductAdapter extends RecyclerView.Adapter<PaymentProductAd
             tvProductPrice = itemView.findViewById(R.id.tvProductPrice);
         }
         
-        public void bind(CartItem cartItem, Product product) {
+        public void bind(CartLineWithProduct line) {
             // Set product name
-            tvProductName.setText(product.getName());
+            tvProductName.setText(line.productName);
             
             // Set product color (using brand as color for now)
-            tvProductColor.setText("Color: " + (product.getBrand() != null ? product.getBrand() : "N/A"));
+            tvProductColor.setText("Color: " + (line.productBrand != null ? line.productBrand : "N/A"));
             
             // Set product price (price * quantity)
-            double totalPrice = product.getPrice() * cartItem.getQuantity();
-            tvProductPrice.setText(String.format(Locale.US, "$ %.2f", totalPrice));
+            tvProductPrice.setText(String.format(Locale.US, "$ %.2f", line.getLineTotal()));
             
             // Load product image
-            String imagePath = ImageHelper.getProductMainImagePath(product.getId());
+            String imagePath = ImageHelper.getProductMainImagePath(line.cartItem.getProductId());
             ImageHelper.loadImageFromAssets(itemView.getContext(), imagePath, ivProductImage);
         }
     }
@@ -8,33 +8,47 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.ecommerce_app.R;
 import com.example.ecommerce_app.data.entities.Product;
 import com.example.ecommerce_app.utils.ImageHelper;
+import com.example.ecommerce_app.utils.ImagePreloader;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
 /**
  * ProductAdapter - Adapter for displaying products in RecyclerView
+ *
+ * New lists are diffed against the current one on a background thread, so only the cards
+ * whose product changed are rebound.
  */
-public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductViewHolder> {
+public class ProductAdapter extends ListAdapter<Product, ProductAdapter.ProductViewHolder>
+        implements ImagePreloader.ImagePathProvider {
 
     private Context context;
-    private List<Product> products;
     private OnProductClickListener listener;
 
     public ProductAdapter(Context context) {
+        super(new ProductDiffCallback());
         this.context = context;
-        this.products = new ArrayList<>();
+        setHasStableIds(true);
     }
 
     public void setProducts(List<Product> products) {
-        this.products = products != null ? products : new ArrayList<>();
-        notifyDataSetChanged();
+        submitList(products);
+    }
+
+    /**
+     * Update list for infinite scroll.
+     * The appended page diffs to a single range insert.
+     *
+     * @param commitCallback Runs once the new list is displayed (may be null)
+     */
+    public void setPagedProducts(List<Product> pagedProducts, Runnable commitCallback) {
+        submitList(pagedProducts, commitCallback);
     }
 
     public void setOnProductClickListener(OnProductClickListener listener) {
@@ -50,18 +64,48 @@ public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductV
 
     @Override
     public void onBindViewHolder(@NonNull ProductViewHolder holder, int position) {
-        Product product = products.get(position);
-        holder.bind(product);
+        Product product = getItem(position);
+        holder.bind(product, listener);
     }
 
+    /**
+     * The layout id doubles as the view type, so holders can sit in a RecycledViewPool
+     * shared with other adapters (home feed carousels) without clashing with their types.
+     */
     @Override
-    public int getItemCount() {
-        return products.size();
+    public int getItemViewType(int position) {
+        return R.layout.item_product;
     }
 
-    class ProductViewHolder extends RecyclerView.ViewHolder {
+    @Override
+    public void onViewRecycled(@NonNull ProductViewHolder holder) {
+        super.onViewRecycled(holder);
+        // Holder went off screen: drop its pending image decode
+        ImageHelper.cancelLoad(holder.productImage);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getId();
+    }
+
+    @Override
+    public String getImagePath(int position) {
+        if (position < 0 || position >= getItemCount()) {
+            return null;
+        }
+        return ImageHelper.getProductMainImagePath(getItem(position).getId());
+    }
+
+    /**
+     * Static and bound per item (product + listener), so a holder created by one
+     * ProductAdapter can be recycled into another through a shared pool.
+     */
+    static class ProductViewHolder extends RecyclerView.ViewHolder {
         ImageView productImage, btnFavorite;
         TextView productName, productBrand, productPrice;
+        private Product product;
+        private OnProductClickListener listener;
 
         public ProductViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -72,32 +116,29 @@ public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductV
             productPrice = itemView.findViewById(R.id.product_price);
 
             itemView.setOnClickListener(v -> {
-                if (listener != null) {
-                    int position = getAdapterPosition();
-                    if (position != RecyclerView.NO_POSITION) {
-                        listener.onProductClick(products.get(position));
-                    }
+                if (listener != null && product != null) {
+                    listener.onProductClick(product);
                 }
             });
 
             btnFavorite.setOnClickListener(v -> {
-                if (listener != null) {
-                    int position = getAdapterPosition();
-                    if (position != RecyclerView.NO_POSITION) {
-                        listener.onFavoriteClick(products.get(position));
-                    }
+                if (listener != null && product != null) {
+                    listener.onFavoriteClick(product);
                 }
             });
         }
 
-        public void bind(Product product) {
+        public void bind(Product product, OnProductClickListener listener) {
+            this.product = product;
+            this.listener = listener;
+
             productName.setText(product.getName());
             productBrand.setText(product.getBrand() != null ? product.getBrand() : "");
             productPrice.setText(String.format(Locale.US, "$%.2f", product.getPrice()));
 
             // Load product image theo cấu trúc MỚI: products/product_{id}/main.jpg
             String imagePath = ImageHelper.getProductMainImagePath(product.getId());
-            ImageHelper.loadImageFromAssets(context, imagePath, productImage);
+            ImageHelper.loadImageFromAssets(itemView.getContext(), imagePath, productImage);
         }
     }
 
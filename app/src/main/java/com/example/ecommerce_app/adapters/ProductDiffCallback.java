@@ -0,0 +1,27 @@
+package com.example.ecommerce_app.adapters;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.ecommerce_app.data.entities.Product;
+
+import java.util.Objects;
+
+/**
+ * ProductDiffCallback - Matches products by id and compares only the fields a product card shows,
+ * so a re-emitted query result only rebinds the cards whose name, brand or price changed
+ */
+class ProductDiffCallback extends DiffUtil.ItemCallback<Product> {
+
+    @Override
+    public boolean areItemsTheSame(@NonNull Product oldItem, @NonNull Product newItem) {
+        return oldItem.getId() == newItem.getId();
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull Product oldItem, @NonNull Product newItem) {
+        return Objects.equals(oldItem.getName(), newItem.getName())
+                && Objects.equals(oldItem.getBrand(), newItem.getBrand())
+                && Double.compare(oldItem.getPrice(), newItem.getPrice()) == 0;
+    }
+}
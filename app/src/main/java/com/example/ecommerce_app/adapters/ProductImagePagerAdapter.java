@@ -49,6 +49,13 @@ public class ProductImagePagerAdapter extends RecyclerView.Adapter<ProductImageP
         ImageHelper.loadImageFromAssets(context, imagePath, holder.imageView);
     }
     
+    @Override
+    public void onViewRecycled(@NonNull ImageViewHolder holder) {
+        super.onViewRecycled(holder);
+        // Holder went off screen: drop its pending image decode
+        ImageHelper.cancelLoad(holder.imageView);
+    }
+    
     @Override
     public int getItemCount() {
         return imageNames.size();
@@ -9,32 +9,62 @@ import android.widget.LinearLayout;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.ecommerce_app.R;
+import com.example.ecommerce_app.data.entities.Review;
 import com.example.ecommerce_app.data.models.ReviewWithUser;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 /**
  * ReviewAdapter - Adapter cho RecyclerView hiển thị reviews
+ *
+ * List mới được diff với list hiện tại trên background thread, chỉ review thay đổi mới bị bind lại
  */
-public class ReviewAdapter extends RecyclerView.Adapter<ReviewAdapter.ReviewViewHolder> {
+public class ReviewAdapter extends ListAdapter<ReviewWithUser, ReviewAdapter.ReviewViewHolder> {
+
+    private static final DiffUtil.ItemCallback<ReviewWithUser> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<ReviewWithUser>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull ReviewWithUser oldItem, @NonNull ReviewWithUser newItem) {
+                    return oldItem.review.getId() == newItem.review.getId();
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull ReviewWithUser oldItem, @NonNull ReviewWithUser newItem) {
+                    Review oldReview = oldItem.review;
+                    Review newReview = newItem.review;
+                    return oldReview.getRating() == newReview.getRating()
+                            && Objects.equals(oldReview.getComment(), newReview.getComment())
+                            && Objects.equals(oldReview.getCreatedAt(), newReview.getCreatedAt())
+                            && Objects.equals(oldItem.userFullName, newItem.userFullName);
+                }
+            };
 
     private Context context;
-    private List<ReviewWithUser> reviews = new ArrayList<>();
     private SimpleDateFormat dateFormat = new SimpleDateFormat("dd MMM, yyyy", Locale.ENGLISH);
 
     public ReviewAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
+        setHasStableIds(true);
     }
 
     public void setReviews(List<ReviewWithUser> reviews) {
-        this.reviews = reviews;
-        notifyDataSetChanged();
+        setReviews(reviews, null);
+    }
+
+    /**
+     * @param commitCallback Chạy khi list mới đã được hiển thị (có thể null)
+     */
+    public void setReviews(List<ReviewWithUser> reviews, Runnable commitCallback) {
+        submitList(reviews, commitCallback);
     }
 
     @NonNull
@@ -47,13 +77,13 @@ public class ReviewAdapter extends RecyclerView.Adapter<ReviewAdapter.ReviewView
 
     @Override
     public void onBindViewHolder(@NonNull ReviewViewHolder holder, int position) {
-        ReviewWithUser reviewWithUser = reviews.get(position);
+        ReviewWithUser reviewWithUser = getItem(position);
         holder.bind(reviewWithUser);
     }
 
     @Override
-    public int getItemCount() {
-        return reviews.size();
+    public long getItemId(int position) {
+        return getItem(position).review.getId();
     }
 
     class ReviewViewHolder extends RecyclerView.ViewHolder {
@@ -73,7 +103,7 @@ public class ReviewAdapter extends RecyclerView.Adapter<ReviewAdapter.ReviewView
 
         public void bind(ReviewWithUser reviewWithUser) {
             // Set user name
-            String fullName = reviewWithUser.user != null ? reviewWithUser.user.getFullName() : "Anonymous";
+            String fullName = reviewWithUser.userFullName != null ? reviewWithUser.userFullName : "Anonymous";
             tvUserName.setText(fullName);
             
             // Set initials (first letters of name)
@@ -5,11 +5,14 @@ import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 
 import com.example.ecommerce_app.data.entities.CartItem;
+import com.example.ecommerce_app.data.models.CartLineWithProduct;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * CartItemDao - Data Access Object cho CartItem entity
@@ -39,6 +42,34 @@ public interface CartItemDao {
     @Query("SELECT * FROM cart_items WHERE userId = :userId ORDER BY addedAt DESC")
     List<CartItem> getCartItemsByUserSync(long userId);
     
+    /**
+     * Lấy giỏ hàng kèm thông tin sản phẩm trong một query (JOIN products)
+     */
+    @Query("SELECT cart_items.*, products.name AS productName, products.brand AS productBrand, " +
+           "products.price AS productPrice, products.stock AS productStock " +
+           "FROM cart_items JOIN products ON products.id = cart_items.productId " +
+           "WHERE cart_items.userId = :userId ORDER BY cart_items.addedAt DESC")
+    LiveData<List<CartLineWithProduct>> getCartLinesByUser(long userId);
+    
+    /**
+     * Lấy giỏ hàng kèm thông tin sản phẩm (sync)
+     */
+    @Query("SELECT cart_items.*, products.name AS productName, products.brand AS productBrand, " +
+           "products.price AS productPrice, products.stock AS productStock " +
+           "FROM cart_items JOIN products ON products.id = cart_items.productId " +
+           "WHERE cart_items.userId = :userId ORDER BY cart_items.addedAt DESC")
+    List<CartLineWithProduct> getCartLinesByUserSync(long userId);
+    
+    /**
+     * Lấy các dòng giỏ hàng được chọn kèm thông tin sản phẩm (sync)
+     * Không ORDER BY: tra theo primary key, thứ tự do caller quyết định
+     */
+    @Query("SELECT cart_items.*, products.name AS productName, products.brand AS productBrand, " +
+           "products.price AS productPrice, products.stock AS productStock " +
+           "FROM cart_items JOIN products ON products.id = cart_items.productId " +
+           "WHERE cart_items.userId = :userId AND cart_items.id IN (:cartItemIds)")
+    List<CartLineWithProduct> getCartLinesByIdsSync(long userId, List<Long> cartItemIds);
+    
     /**
      * Lấy cart item cụ thể (user + product)
      */
@@ -80,6 +111,17 @@ public interface CartItemDao {
     @Query("UPDATE cart_items SET quantity = :quantity WHERE id = :cartItemId")
     void updateQuantity(long cartItemId, int quantity);
     
+    /**
+     * Cập nhật số lượng nhiều dòng trong một transaction (observers chỉ bị invalidate một lần)
+     * @param quantities cartItemId -> số lượng mới
+     */
+    @Transaction
+    default void updateQuantities(Map<Long, Integer> quantities) {
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            updateQuantity(entry.getKey(), entry.getValue());
+        }
+    }
+    
     /**
      * Tăng số lượng
      */
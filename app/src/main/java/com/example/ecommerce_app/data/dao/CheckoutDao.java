@@ -0,0 +1,149 @@
+package com.example.ecommerce_app.data.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import com.example.ecommerce_app.data.database.AppDatabase;
+import com.example.ecommerce_app.data.entities.Order;
+import com.example.ecommerce_app.data.entities.OrderItem;
+import com.example.ecommerce_app.data.models.CartLineWithProduct;
+import com.example.ecommerce_app.data.models.CheckoutResult;
+import com.example.ecommerce_app.data.models.CheckoutResult.FailureReason;
+import com.example.ecommerce_app.data.models.CheckoutResult.LineFailure;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CheckoutDao - Data Access Object cho checkout
+ *
+ * Đặt hàng trong đúng một write transaction: đọc giỏ hàng + giá hiện tại,
+ * trừ stock có điều kiện, tạo order + order items, xóa các dòng đã đặt.
+ * Stock được trừ qua ProductDao.decreaseStock, chỉ trừ khi còn đủ (WHERE stock >= :quantity)
+ * nên hai lần checkout đồng thời không thể bán quá số hàng trong kho.
+ *
+ * Là abstract class (không phải interface) để dùng chung ProductDao và CartItemDao
+ * trong transaction.
+ */
+@Dao
+public abstract class CheckoutDao {
+
+    private final ProductDao productDao;
+    private final CartItemDao cartItemDao;
+
+    protected CheckoutDao(AppDatabase database) {
+        this.productDao = database.productDao();
+        this.cartItemDao = database.cartItemDao();
+    }
+
+    // ==================== WRITE ====================
+
+    @Insert
+    public abstract long insertOrder(Order order);
+
+    @Insert
+    public abstract void insertOrderItems(List<OrderItem> orderItems);
+
+    @Query("DELETE FROM cart_items WHERE userId = :userId AND id IN (:cartItemIds)")
+    public abstract void deleteCartItems(long userId, List<Long> cartItemIds);
+
+    // ==================== CHECKOUT ====================
+
+    /**
+     * Đặt hàng từ giỏ hàng của order.getUserId()
+     *
+     * @param order Order chưa insert (orderNumber, địa chỉ, ghi chú...), totalAmount
+     *              được tính lại từ giá tại thời điểm checkout
+     * @param cartItemIds Các dòng được chọn, null = toàn bộ giỏ hàng
+     * @param shippingFee Phí vận chuyển cộng vào totalAmount
+     * @return Order ID, hoặc lý do cho từng dòng không đặt được (đã rollback)
+     */
+    public CheckoutResult checkout(Order order, List<Long> cartItemIds, double shippingFee) {
+        try {
+            return CheckoutResult.success(placeOrder(order, cartItemIds, shippingFee));
+        } catch (CheckoutRejectedException e) {
+            return CheckoutResult.failure(e.failures);
+        }
+    }
+
+    /**
+     * Phần chạy trong transaction của checkout(), ném CheckoutRejectedException để rollback
+     */
+    @Transaction
+    public long placeOrder(Order order, List<Long> cartItemIds, double shippingFee) {
+        long userId = order.getUserId();
+        List<CartLineWithProduct> lines = cartItemIds != null
+                ? cartItemDao.getCartLinesByIdsSync(userId, cartItemIds)
+                : cartItemDao.getCartLinesByUserSync(userId);
+
+        List<LineFailure> failures = new ArrayList<>();
+        if (cartItemIds != null && lines.size() < cartItemIds.size()) {
+            Map<Long, CartLineWithProduct> linesById = new HashMap<>();
+            for (CartLineWithProduct line : lines) {
+                linesById.put(line.cartItem.getId(), line);
+            }
+            for (Long cartItemId : cartItemIds) {
+                if (!linesById.containsKey(cartItemId)) {
+                    failures.add(new LineFailure(cartItemId, -1, null, 0, 0,
+                            FailureReason.CART_ITEM_MISSING));
+                }
+            }
+        }
+        if (lines.isEmpty() && failures.isEmpty()) {
+            failures.add(new LineFailure(-1, -1, null, 0, 0, FailureReason.EMPTY_CART));
+        }
+
+        // Trừ stock trước, giá lấy từ snapshot đọc trong cùng transaction
+        long now = System.currentTimeMillis();
+        double subtotal = 0;
+        List<Long> checkedOutIds = new ArrayList<>();
+        for (CartLineWithProduct line : lines) {
+            int quantity = line.cartItem.getQuantity();
+            if (productDao.decreaseStock(line.cartItem.getProductId(), quantity, now) == 0) {
+                failures.add(new LineFailure(line.cartItem.getId(), line.cartItem.getProductId(),
+                        line.productName, quantity, line.productStock,
+                        FailureReason.INSUFFICIENT_STOCK));
+            }
+            subtotal += line.getLineTotal();
+            checkedOutIds.add(line.cartItem.getId());
+        }
+
+        if (!failures.isEmpty()) {
+            throw new CheckoutRejectedException(failures);
+        }
+
+        order.setTotalAmount(subtotal + shippingFee);
+        long orderId = insertOrder(order);
+
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (CartLineWithProduct line : lines) {
+            OrderItem item = new OrderItem();
+            item.setOrderId(orderId);
+            item.setProductId(line.cartItem.getProductId());
+            item.setQuantity(line.cartItem.getQuantity());
+            item.setPrice(line.productPrice);
+            item.setSubtotal(line.getLineTotal());
+            orderItems.add(item);
+        }
+        insertOrderItems(orderItems);
+
+        deleteCartItems(userId, checkedOutIds);
+        return orderId;
+    }
+
+    /**
+     * Hủy checkout: thoát khỏi transaction để Room rollback mọi thay đổi
+     */
+    static class CheckoutRejectedException extends RuntimeException {
+        final List<LineFailure> failures;
+
+        CheckoutRejectedException(List<LineFailure> failures) {
+            super("Checkout rejected: " + failures.size() + " line(s)");
+            this.failures = failures;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import androidx.room.Insert;
 import androidx.room.Query;
 
 import com.example.ecommerce_app.data.entities.Favorite;
+import com.example.ecommerce_app.data.models.FavoriteProduct;
 
 import java.util.List;
 
@@ -38,6 +39,27 @@ public interface FavoriteDao {
     @Query("SELECT * FROM favorites WHERE userId = :userId ORDER BY addedAt DESC")
     List<Favorite> getFavoritesByUserSync(long userId);
     
+    /**
+     * Lấy sản phẩm yêu thích kèm addedAt trong một query, lọc và sắp xếp trong SQL
+     * 
+     * - pattern: LIKE pattern trên text đã chuẩn hóa của products_fts (name, brand),
+     *   "" = không lọc. Ký tự % _ \ của người dùng phải được escape bằng '\'
+     * - sortOrder: FavoriteSortOrder.name()
+     */
+    @Query("SELECT products.*, favorites.addedAt AS addedAt FROM favorites " +
+           "JOIN products ON products.id = favorites.productId " +
+           "LEFT JOIN products_fts ON products_fts.rowid = favorites.productId " +
+           "LEFT JOIN product_sales_stats ON product_sales_stats.productId = favorites.productId " +
+           "WHERE favorites.userId = :userId " +
+           "AND (:pattern = '' OR products_fts.name LIKE :pattern ESCAPE '\\' " +
+           "OR products_fts.brand LIKE :pattern ESCAPE '\\') " +
+           "ORDER BY " +
+           "CASE WHEN :sortOrder = 'CHEAPEST' THEN products.price END ASC, " +
+           "CASE WHEN :sortOrder = 'POPULAR' THEN product_sales_stats.unitsSold30d END DESC, " +
+           "CASE WHEN :sortOrder = 'LATEST' THEN products.createdAt END DESC, " +
+           "favorites.addedAt DESC")
+    LiveData<List<FavoriteProduct>> getFavoriteProducts(long userId, String pattern, String sortOrder);
+    
     /**
      * Kiểm tra sản phẩm đã được yêu thích chưa
      */
@@ -8,6 +8,7 @@ import androidx.room.Query;
 import androidx.room.Update;
 
 import com.example.ecommerce_app.data.entities.Order;
+import com.example.ecommerce_app.data.models.OrderSummary;
 
 import java.util.List;
 
@@ -57,12 +58,48 @@ public interface OrderDao {
     @Query("SELECT * FROM orders WHERE orderNumber = :orderNumber LIMIT 1")
     Order findByOrderNumber(String orderNumber);
     
+    /**
+     * Lần cập nhật order gần nhất của user
+     * 
+     * Room chạy lại query mỗi khi bảng orders đổi, dùng làm tín hiệu để load lại
+     * các trang lịch sử đơn hàng (getOrderSummariesAfter không phải LiveData)
+     */
+    @Query("SELECT MAX(updatedAt) FROM orders WHERE userId = :userId")
+    LiveData<Long> getLastOrderUpdate(long userId);
+    
     /**
      * Lấy orders theo trạng thái
      */
     @Query("SELECT * FROM orders WHERE userId = :userId AND status = :status ORDER BY createdAt DESC")
     LiveData<List<Order>> getOrdersByStatus(long userId, String status);
     
+    /**
+     * Trang lịch sử đơn hàng của user, lọc theo tập trạng thái: createdAt DESC, id DESC
+     * 
+     * Mỗi dòng gồm order, item đầu tiên (id nhỏ nhất) + tên sản phẩm,
+     * số items và tổng số lượng, nên số query không phụ thuộc số đơn hàng.
+     * Keyset: lấy các order đứng sau (createdAt, id) của order cuối trang trước,
+     * trang đầu truyền Long.MAX_VALUE cho cả hai.
+     */
+    @Query("SELECT orders.*, " +
+           "first_item.id AS firstItem_id, first_item.orderId AS firstItem_orderId, " +
+           "first_item.productId AS firstItem_productId, first_item.quantity AS firstItem_quantity, " +
+           "first_item.price AS firstItem_price, first_item.subtotal AS firstItem_subtotal, " +
+           "products.name AS firstProductName, products.description AS firstProductDescription, " +
+           "(SELECT COUNT(*) FROM order_items WHERE order_items.orderId = orders.id) AS itemCount, " +
+           "(SELECT COALESCE(SUM(order_items.quantity), 0) FROM order_items " +
+           "WHERE order_items.orderId = orders.id) AS totalQuantity " +
+           "FROM orders " +
+           "LEFT JOIN order_items AS first_item ON first_item.id = " +
+           "(SELECT MIN(order_items.id) FROM order_items WHERE order_items.orderId = orders.id) " +
+           "LEFT JOIN products ON products.id = first_item.productId " +
+           "WHERE orders.userId = :userId AND orders.status IN (:statuses) " +
+           "AND orders.createdAt <= :createdAt " +
+           "AND (orders.createdAt < :createdAt OR orders.id < :id) " +
+           "ORDER BY orders.createdAt DESC, orders.id DESC LIMIT :limit")
+    List<OrderSummary> getOrderSummariesAfter(long userId, List<String> statuses,
+                                              long createdAt, long id, int limit);
+    
     /**
      * Lấy tất cả orders (admin view)
      */
@@ -5,9 +5,12 @@ import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 
 import com.example.ecommerce_app.data.entities.Product;
+import com.example.ecommerce_app.data.entities.ProductFts;
+import com.example.ecommerce_app.data.models.ProductSearchResult;
 
 import java.util.List;
 
@@ -15,6 +18,10 @@ import java.util.List;
  * ProductDao - Data Access Object cho Product entity
  * 
  * Bao gồm các query nâng cao: search, filter by category/price, paging
+ * 
+ * Full-text search dùng bảng products_fts (FTS4):
+ * insert/update đi qua các default method bên dưới để đồng bộ index,
+ * delete được đồng bộ bằng trigger (xem AppDatabase)
  */
 @Dao
 public interface ProductDao {
@@ -22,10 +29,24 @@ public interface ProductDao {
     // ==================== CREATE ====================
     
     @Insert
-    long insert(Product product);
+    long insertProductRow(Product product);
     
-    @Insert
-    void insertAll(List<Product> products);
+    /**
+     * Insert product và index cho full-text search
+     */
+    @Transaction
+    default long insert(Product product) {
+        long productId = insertProductRow(product);
+        insertSearchEntry(ProductFts.fromProduct(productId, product));
+        return productId;
+    }
+    
+    @Transaction
+    default void insertAll(List<Product> products) {
+        for (Product product : products) {
+            insert(product);
+        }
+    }
     
     // ==================== READ ====================
     
@@ -66,16 +87,27 @@ public interface ProductDao {
     Product findBySku(String sku);
     
     /**
-     * Tìm kiếm products theo tên
+     * Full-text search trên products_fts
+     * 
+     * @param matchQuery Biểu thức MATCH đã chuẩn hóa (SearchTextNormalizer.toMatchQuery),
+     *                   ví dụ "cam* bien*" hoặc "name:cam* name:bien*" để chỉ tìm theo tên
+     * @return Kết quả kèm matchinfo để xếp hạng BM25 (ProductSearchResult.rank)
+     * 
+     * CROSS JOIN giữ products_fts làm vòng lặp ngoài: nếu không, planner có thể
+     * duyệt index isActive của products rồi tra FTS cho từng dòng
      */
-    @Query("SELECT * FROM products WHERE isActive = 1 AND name LIKE '%' || :keyword || '%' ORDER BY name ASC")
-    LiveData<List<Product>> searchByName(String keyword);
+    @Query("SELECT products.*, matchinfo(products_fts, 'pcnalx') AS matchInfo " +
+           "FROM products_fts CROSS JOIN products ON products.id = products_fts.rowid " +
+           "WHERE products_fts MATCH :matchQuery AND products.isActive = 1")
+    LiveData<List<ProductSearchResult>> searchProducts(String matchQuery);
     
     /**
-     * Tìm kiếm products theo tên hoặc mô tả
+     * Full-text search (sync)
      */
-    @Query("SELECT * FROM products WHERE isActive = 1 AND (name LIKE '%' || :keyword || '%' OR description LIKE '%' || :keyword || '%') ORDER BY name ASC")
-    LiveData<List<Product>> searchProducts(String keyword);
+    @Query("SELECT products.*, matchinfo(products_fts, 'pcnalx') AS matchInfo " +
+           "FROM products_fts CROSS JOIN products ON products.id = products_fts.rowid " +
+           "WHERE products_fts MATCH :matchQuery AND products.isActive = 1")
+    List<ProductSearchResult> searchProductsSync(String matchQuery);
     
     /**
      * Filter products theo category
@@ -107,23 +139,48 @@ public interface ProductDao {
     @Query("SELECT * FROM products WHERE isActive = 1 ORDER BY createdAt DESC LIMIT :limit")
     LiveData<List<Product>> getLatestProducts(int limit);
     
-    /**
-     * Lấy các sản phẩm bán chạy (có thể sort theo số lượng order, tạm sort theo tên)
-     */
-    @Query("SELECT * FROM products WHERE isActive = 1 ORDER BY name ASC LIMIT :limit")
-    LiveData<List<Product>> getBestSellingProducts(int limit);
-    
     /**
      * Lấy sản phẩm đang sale (giá < giá gốc, tạm thời sort theo giá thấp nhất)
      */
     @Query("SELECT * FROM products WHERE isActive = 1 ORDER BY price ASC LIMIT :limit")
     LiveData<List<Product>> getSaleProducts(int limit);
     
+    // ==================== KEYSET PAGING ====================
+    // Seek theo (sort key, id) của dòng cuối trang trước thay vì OFFSET:
+    // điều kiện range "key <= :key" cho phép SQLite seek thẳng vào index,
+    // phần OR chỉ loại các dòng trùng key đã trả về ở trang trước.
+    
+    /**
+     * Trang sản phẩm mới nhất: createdAt DESC, id DESC
+     */
+    @Query("SELECT * FROM products WHERE isActive = 1 " +
+           "AND createdAt <= :createdAt AND (createdAt < :createdAt OR id < :id) " +
+           "ORDER BY createdAt DESC, id DESC LIMIT :limit")
+    List<Product> getNewestProductsAfter(long createdAt, long id, int limit);
+    
     /**
-     * Paging: Lấy products với offset và limit
+     * Trang sản phẩm giá tăng dần: price ASC, id ASC
      */
-    @Query("SELECT * FROM products WHERE isActive = 1 ORDER BY createdAt DESC LIMIT :limit OFFSET :offset")
-    List<Product> getProductsPaged(int limit, int offset);
+    @Query("SELECT * FROM products WHERE isActive = 1 " +
+           "AND price >= :price AND (price > :price OR id > :id) " +
+           "ORDER BY price ASC, id ASC LIMIT :limit")
+    List<Product> getCheapestProductsAfter(double price, long id, int limit);
+    
+    /**
+     * Trang sản phẩm giá giảm dần: price DESC, id DESC
+     */
+    @Query("SELECT * FROM products WHERE isActive = 1 " +
+           "AND price <= :price AND (price < :price OR id < :id) " +
+           "ORDER BY price DESC, id DESC LIMIT :limit")
+    List<Product> getMostExpensiveProductsAfter(double price, long id, int limit);
+    
+    /**
+     * Trang sản phẩm theo tên A-Z: name ASC, id ASC
+     */
+    @Query("SELECT * FROM products WHERE isActive = 1 " +
+           "AND name >= :name AND (name > :name OR id > :id) " +
+           "ORDER BY name ASC, id ASC LIMIT :limit")
+    List<Product> getProductsByNameAfter(String name, long id, int limit);
     
     /**
      * Đếm tổng số products active
@@ -140,13 +197,25 @@ public interface ProductDao {
     // ==================== UPDATE ====================
     
     @Update
-    void update(Product product);
+    void updateProductRow(Product product);
+    
+    /**
+     * Update product và index lại cho full-text search
+     */
+    @Transaction
+    default void update(Product product) {
+        updateProductRow(product);
+        deleteSearchEntry(product.getId());
+        insertSearchEntry(ProductFts.fromProduct(product.getId(), product));
+    }
     
     /**
-     * Cập nhật stock khi có order
+     * Trừ stock nếu còn đủ hàng (kiểm tra và trừ trong cùng một câu lệnh)
+     * @return 1 nếu đã trừ, 0 nếu không đủ hàng
      */
-    @Query("UPDATE products SET stock = stock - :quantity, updatedAt = :updatedAt WHERE id = :productId")
-    void decreaseStock(long productId, int quantity, long updatedAt);
+    @Query("UPDATE products SET stock = stock - :quantity, updatedAt = :updatedAt " +
+           "WHERE id = :productId AND stock >= :quantity")
+    int decreaseStock(long productId, int quantity, long updatedAt);
     
     /**
      * Tăng stock khi hủy order
@@ -170,4 +239,12 @@ public interface ProductDao {
     
     @Query("DELETE FROM products")
     void deleteAll();
+    
+    // ==================== FULL-TEXT INDEX ====================
+    
+    @Insert
+    void insertSearchEntry(ProductFts entry);
+    
+    @Query("DELETE FROM products_fts WHERE rowid = :productId")
+    void deleteSearchEntry(long productId);
 }
@@ -0,0 +1,79 @@
+package com.example.ecommerce_app.data.dao;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import com.example.ecommerce_app.data.entities.Product;
+import com.example.ecommerce_app.data.entities.ProductSalesStats;
+
+import java.util.List;
+
+/**
+ * ProductSalesDao - Data Access Object cho bộ đếm doanh số
+ *
+ * product_sales_stats / product_sales_daily chỉ được ghi bởi trigger,
+ * DAO này chỉ đọc và trượt cửa sổ 7/30 ngày.
+ */
+@Dao
+public interface ProductSalesDao {
+
+    // ==================== READ ====================
+
+    /**
+     * Top sản phẩm bán chạy trong 30 ngày (hòa thì xét doanh số toàn thời gian)
+     * CROSS JOIN giữ product_sales_stats làm vòng lặp ngoài để đọc theo thứ tự index
+     */
+    @Query("SELECT products.* FROM product_sales_stats " +
+           "CROSS JOIN products ON products.id = product_sales_stats.productId " +
+           "WHERE products.isActive = 1 " +
+           "ORDER BY product_sales_stats.unitsSold30d DESC, product_sales_stats.unitsSold DESC " +
+           "LIMIT :limit")
+    LiveData<List<Product>> getBestSellingProducts(int limit);
+
+    /**
+     * Lấy bộ đếm doanh số của sản phẩm
+     */
+    @Query("SELECT * FROM product_sales_stats WHERE productId = :productId")
+    LiveData<ProductSalesStats> getSalesStats(long productId);
+
+    @Query("SELECT * FROM product_sales_stats WHERE productId = :productId")
+    ProductSalesStats getSalesStatsSync(long productId);
+
+    // ==================== ROLLING WINDOWS ====================
+
+    /**
+     * Tính lại cửa sổ 7/30 ngày cho các dòng chưa được tính trong ngày :today
+     */
+    @Query("UPDATE product_sales_stats SET " +
+           "unitsSold7d = COALESCE((SELECT SUM(d.unitsSold) FROM product_sales_daily d " +
+           "WHERE d.productId = product_sales_stats.productId AND d.day > :today - 7), 0), " +
+           "revenue7d = COALESCE((SELECT SUM(d.revenue) FROM product_sales_daily d " +
+           "WHERE d.productId = product_sales_stats.productId AND d.day > :today - 7), 0), " +
+           "unitsSold30d = COALESCE((SELECT SUM(d.unitsSold) FROM product_sales_daily d " +
+           "WHERE d.productId = product_sales_stats.productId AND d.day > :today - 30), 0), " +
+           "revenue30d = COALESCE((SELECT SUM(d.revenue) FROM product_sales_daily d " +
+           "WHERE d.productId = product_sales_stats.productId AND d.day > :today - 30), 0), " +
+           "windowDay = :today " +
+           "WHERE windowDay < :today")
+    int refreshSalesWindows(long today);
+
+    /**
+     * Xóa doanh số theo ngày đã ra khỏi cửa sổ 30 ngày
+     */
+    @Query("DELETE FROM product_sales_daily WHERE day <= :oldestDay")
+    void deleteDailySalesBefore(long oldestDay);
+
+    /**
+     * Trượt cửa sổ doanh số đến ngày :today (epoch day, UTC)
+     * Gọi nhiều lần trong cùng ngày là no-op (chỉ một lần tra index windowDay)
+     */
+    @Transaction
+    default void rollSalesWindows(long today) {
+        if (refreshSalesWindows(today) > 0) {
+            // Cửa sổ dài nhất là 30 ngày
+            deleteDailySalesBefore(today - 30);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import androidx.room.Query;
 import androidx.room.Transaction;
 import androidx.room.Update;
 
+import com.example.ecommerce_app.data.entities.ProductRatingStats;
 import com.example.ecommerce_app.data.entities.Review;
 import com.example.ecommerce_app.data.models.ReviewWithUser;
 
@@ -71,6 +72,16 @@ public interface ReviewDao {
     @Query("SELECT AVG(rating) FROM reviews WHERE productId = :productId")
     double getAverageRating(long productId);
     
+    /**
+     * Lấy thống kê rating của sản phẩm (tra primary key, không aggregate)
+     * Trả về null nếu sản phẩm chưa có review nào
+     */
+    @Query("SELECT * FROM product_rating_stats WHERE productId = :productId")
+    LiveData<ProductRatingStats> getRatingStats(long productId);
+    
+    @Query("SELECT * FROM product_rating_stats WHERE productId = :productId")
+    ProductRatingStats getRatingStatsSync(long productId);
+    
     /**
      * Lấy reviews theo rating
      */
@@ -84,14 +95,33 @@ public interface ReviewDao {
     LiveData<List<Review>> getTopReviews(long productId, int limit);
     
     /**
-     * Lấy reviews với user info (JOIN)
-     * Note: Room không tự động map ReviewWithUser, cần xử lý trong Repository
+     * Lấy reviews kèm tên người review trong một query (LEFT JOIN users)
+     * User đã bị xóa -> userFullName = null
      */
-    @Query("SELECT * FROM reviews WHERE productId = :productId ORDER BY createdAt DESC")
-    List<Review> getReviewsWithUserSync(long productId);
+    @Query("SELECT reviews.*, users.fullName AS userFullName FROM reviews " +
+           "LEFT JOIN users ON users.id = reviews.userId " +
+           "WHERE reviews.productId = :productId " +
+           "ORDER BY reviews.createdAt DESC, reviews.id DESC")
+    List<ReviewWithUser> getReviewsWithUserSync(long productId);
+    
+    @Query("SELECT reviews.*, users.fullName AS userFullName FROM reviews " +
+           "LEFT JOIN users ON users.id = reviews.userId " +
+           "WHERE reviews.productId = :productId " +
+           "ORDER BY reviews.createdAt DESC, reviews.id DESC LIMIT :limit")
+    List<ReviewWithUser> getReviewsWithUserLimitSync(long productId, int limit);
     
-    @Query("SELECT * FROM reviews WHERE productId = :productId ORDER BY createdAt DESC LIMIT :limit")
-    List<Review> getReviewsWithUserLimitSync(long productId, int limit);
+    /**
+     * Trang reviews kèm tên người review: createdAt DESC, id DESC
+     * Keyset: lấy các review đứng sau (createdAt, id) của review cuối trang trước
+     * Trang đầu: truyền Long.MAX_VALUE cho cả hai
+     */
+    @Query("SELECT reviews.*, users.fullName AS userFullName FROM reviews " +
+           "LEFT JOIN users ON users.id = reviews.userId " +
+           "WHERE reviews.productId = :productId " +
+           "AND reviews.createdAt <= :createdAt " +
+           "AND (reviews.createdAt < :createdAt OR reviews.id < :id) " +
+           "ORDER BY reviews.createdAt DESC, reviews.id DESC LIMIT :limit")
+    List<ReviewWithUser> getReviewsWithUserAfter(long productId, long createdAt, long id, int limit);
     
     // ==================== UPDATE ====================
     
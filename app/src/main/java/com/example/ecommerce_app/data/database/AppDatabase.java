@@ -1,6 +1,8 @@
 package com.example.ecommerce_app.data.database;
 
+import android.app.ActivityManager;
 import android.content.Context;
+import android.database.Cursor;
 
 import androidx.annotation.NonNull;
 import androidx.room.Database;
@@ -14,10 +16,12 @@ import com.example.ecommerce_app.data.converters.DateConverter;
 import com.example.ecommerce_app.data.converters.StringListConverter;
 import com.example.ecommerce_app.data.dao.CartItemDao;
 import com.example.ecommerce_app.data.dao.CategoryDao;
+import com.example.ecommerce_app.data.dao.CheckoutDao;
 import com.example.ecommerce_app.data.dao.FavoriteDao;
 import com.example.ecommerce_app.data.dao.OrderDao;
 import com.example.ecommerce_app.data.dao.OrderItemDao;
 import com.example.ecommerce_app.data.dao.ProductDao;
+import com.example.ecommerce_app.data.dao.ProductSalesDao;
 import com.example.ecommerce_app.data.dao.ReviewDao;
 import com.example.ecommerce_app.data.dao.UserDao;
 import com.example.ecommerce_app.data.entities.CartItem;
@@ -26,12 +30,20 @@ import com.example.ecommerce_app.data.entities.Favorite;
 import com.example.ecommerce_app.data.entities.Order;
 import com.example.ecommerce_app.data.entities.OrderItem;
 import com.example.ecommerce_app.data.entities.Product;
+import com.example.ecommerce_app.data.entities.ProductFts;
+import com.example.ecommerce_app.data.entities.ProductRatingStats;
+import com.example.ecommerce_app.data.entities.ProductSalesDaily;
+import com.example.ecommerce_app.data.entities.ProductSalesStats;
 import com.example.ecommerce_app.data.entities.Review;
 import com.example.ecommerce_app.data.entities.User;
 import com.example.ecommerce_app.utils.SampleDataGenerator;
+import com.example.ecommerce_app.utils.SearchTextNormalizer;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * AppDatabase - Room Database chính cho ứng dụng
@@ -49,9 +61,13 @@ import java.util.concurrent.Executors;
         Order.class,
         OrderItem.class,
         Favorite.class,
-        Review.class
+        Review.class,
+        ProductFts.class,
+        ProductRatingStats.class,
+        ProductSalesStats.class,
+        ProductSalesDaily.class
     },
-    version = 1,
+    version = 5,
     exportSchema = false
 )
 @TypeConverters({DateConverter.class, StringListConverter.class})
@@ -60,13 +76,26 @@ public abstract class AppDatabase extends RoomDatabase {
     // Tên database
     private static final String DATABASE_NAME = "ecommerce_db";
     
+    // Database đóng gói sẵn (tạo bằng SeedDatabaseGenerator trong androidTest)
+    public static final String SEED_ASSET_DIR = "database";
+    public static final String SEED_ASSET_FILE = "ecommerce_seed.db";
+    
     // Singleton instance
     private static volatile AppDatabase INSTANCE;
     
-    // ExecutorService để chạy database operations trên background thread
-    private static final int NUMBER_OF_THREADS = 4;
+    // Tất cả write đi qua một thread duy nhất: không tranh write lock, ghi theo thứ tự submit
     public static final ExecutorService databaseWriteExecutor = 
-        Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        Executors.newSingleThreadExecutor();
+    
+    // Read chạy song song trên pool riêng (WAL cho phép đọc trong lúc đang ghi),
+    // nên query chậm hoặc BCrypt không làm UI reads phải xếp hàng sau write
+    private static final int NUMBER_OF_READ_THREADS =
+        Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    public static final ExecutorService databaseReadExecutor = 
+        Executors.newFixedThreadPool(NUMBER_OF_READ_THREADS);
+    
+    // Cấu hình SQLite, có thể đổi bằng setTuning() trước lần getInstance() đầu tiên
+    private static volatile DatabaseTuning tuning;
     
     // Abstract methods để lấy DAOs
     public abstract UserDao userDao();
@@ -77,6 +106,8 @@ public abstract class AppDatabase extends RoomDatabase {
     public abstract OrderItemDao orderItemDao();
     public abstract FavoriteDao favoriteDao();
     public abstract ReviewDao reviewDao();
+    public abstract ProductSalesDao productSalesDao();
+    public abstract CheckoutDao checkoutDao();
     
     /**
      * Lấy instance của database (Singleton pattern)
@@ -85,14 +116,25 @@ public abstract class AppDatabase extends RoomDatabase {
         if (INSTANCE == null) {
             synchronized (AppDatabase.class) {
                 if (INSTANCE == null) {
-                    INSTANCE = Room.databaseBuilder(
-                        context.getApplicationContext(),
+                    Context appContext = context.getApplicationContext();
+                    DatabaseTuning databaseTuning = tuning != null ? tuning : defaultTuning(appContext);
+                    
+                    RoomDatabase.Builder<AppDatabase> builder = configure(Room.databaseBuilder(
+                        appContext,
                         AppDatabase.class,
                         DATABASE_NAME
-                    )
+                    ), databaseTuning)
+                    .addCallback(TRIGGERS_CALLBACK) // Tạo triggers trước khi seed data
                     .addCallback(sRoomDatabaseCallback) // Thêm callback để seed data
-                    .addMigrations(MIGRATION_1_2) // Thêm migration nếu có
-                    .build();
+                    .addMigrations(MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5); // Thêm migration nếu có
+                    
+                    // Lần chạy đầu: copy database đã có sẵn catalog (kèm triggers, FTS, thống kê)
+                    // thay vì seed lúc runtime. Room không gọi onCreate cho database copy từ asset.
+                    if (hasSeedAsset(appContext)) {
+                        builder.createFromAsset(SEED_ASSET_DIR + "/" + SEED_ASSET_FILE);
+                    }
+                    
+                    INSTANCE = builder.build();
                 }
             }
         }
@@ -100,7 +142,58 @@ public abstract class AppDatabase extends RoomDatabase {
     }
     
     /**
-     * Callback được gọi khi database được tạo lần đầu
+     * Đổi cấu hình SQLite, chỉ có tác dụng nếu gọi trước lần getInstance() đầu tiên
+     */
+    public static void setTuning(DatabaseTuning databaseTuning) {
+        tuning = databaseTuning;
+    }
+    
+    /**
+     * Gắn executors đọc/ghi và cấu hình SQLite vào builder
+     * Dùng chung cho database của app và database tự build (benchmark, test)
+     */
+    public static RoomDatabase.Builder<AppDatabase> configure(RoomDatabase.Builder<AppDatabase> builder,
+                                                              DatabaseTuning databaseTuning) {
+        return builder
+                .setQueryExecutor(databaseReadExecutor) // LiveData queries + invalidation tracker
+                .setTransactionExecutor(databaseWriteExecutor)
+                .setJournalMode(databaseTuning.getJournalMode())
+                .addCallback(databaseTuning.asCallback());
+    }
+    
+    private static boolean hasSeedAsset(Context context) {
+        try {
+            String[] files = context.getAssets().list(SEED_ASSET_DIR);
+            return files != null && Arrays.asList(files).contains(SEED_ASSET_FILE);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+    
+    private static DatabaseTuning defaultTuning(Context context) {
+        ActivityManager activityManager =
+                (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        if (activityManager != null && activityManager.isLowRamDevice()) {
+            return DatabaseTuning.lowMemory();
+        }
+        return DatabaseTuning.defaults();
+    }
+    
+    /**
+     * Callback tạo các trigger khi database được tạo lần đầu
+     * Room không tạo trigger cho entity, database tự build (ví dụ in-memory trong test)
+     * cũng phải add callback này để dữ liệu phụ được đồng bộ
+     */
+    public static final RoomDatabase.Callback TRIGGERS_CALLBACK = new RoomDatabase.Callback() {
+        @Override
+        public void onCreate(@NonNull SupportSQLiteDatabase db) {
+            super.onCreate(db);
+            createTriggers(db);
+        }
+    };
+    
+    /**
+     * Callback được gọi khi database được tạo lần đầu (không có database đóng gói sẵn)
      * Sử dụng để seed dữ liệu mẫu
      */
     private static RoomDatabase.Callback sRoomDatabaseCallback = new RoomDatabase.Callback() {
@@ -108,43 +201,336 @@ public abstract class AppDatabase extends RoomDatabase {
         public void onCreate(@NonNull SupportSQLiteDatabase db) {
             super.onCreate(db);
             
-            // Seed dữ liệu mẫu trên background thread
-            databaseWriteExecutor.execute(() -> {
-                // Lấy các DAOs
-                UserDao userDao = INSTANCE.userDao();
-                CategoryDao categoryDao = INSTANCE.categoryDao();
-                ProductDao productDao = INSTANCE.productDao();
-                ReviewDao reviewDao = INSTANCE.reviewDao();
-                
-                // Tạo dữ liệu mẫu
-                SampleDataGenerator.populateDatabase(
-                    userDao, 
-                    categoryDao, 
-                    productDao, 
-                    reviewDao
-                );
+            // Hash mật khẩu + dựng dữ liệu trên read pool, rồi ghi tất cả trong một transaction
+            databaseReadExecutor.execute(() -> {
+                SampleDataGenerator.SampleData data = SampleDataGenerator.createSampleData();
+                databaseWriteExecutor.execute(() ->
+                        SampleDataGenerator.populateDatabase(INSTANCE, data));
             });
         }
+    };
+    
+    /**
+     * Tạo tất cả trigger đồng bộ dữ liệu phụ (gọi khi tạo DB mới)
+     * Migrations chỉ gọi phần trigger của version tương ứng
+     */
+    static void createTriggers(@NonNull SupportSQLiteDatabase db) {
+        createSearchIndexTriggers(db);
+        createRatingStatsTriggers(db);
+        createSalesTriggers(db);
+    }
+    
+    static void createSearchIndexTriggers(@NonNull SupportSQLiteDatabase db) {
+        // Xóa product (kể cả cascade từ category) -> xóa khỏi full-text index
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `products_fts_after_delete` " +
+                "AFTER DELETE ON `products` BEGIN " +
+                "DELETE FROM `products_fts` WHERE `rowid` = OLD.`id`; END");
+    }
+    
+    /**
+     * Giữ product_rating_stats khớp chính xác với bảng reviews
+     */
+    static void createRatingStatsTriggers(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `reviews_rating_stats_after_insert` " +
+                "AFTER INSERT ON `reviews` BEGIN " +
+                ensureRatingStatsRow("NEW") +
+                applyRatingDelta("NEW", "+") +
+                "END");
+        
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `reviews_rating_stats_after_update` " +
+                "AFTER UPDATE OF `rating`, `productId` ON `reviews` BEGIN " +
+                applyRatingDelta("OLD", "-") +
+                ensureRatingStatsRow("NEW") +
+                applyRatingDelta("NEW", "+") +
+                "END");
+        
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `reviews_rating_stats_after_delete` " +
+                "AFTER DELETE ON `reviews` BEGIN " +
+                applyRatingDelta("OLD", "-") +
+                "END");
+    }
+    
+    /**
+     * Tạo dòng thống kê rỗng nếu chưa có
+     * Không dùng INSERT OR IGNORE: conflict clause của câu lệnh ngoài (Room dùng
+     * INSERT OR ABORT) sẽ ghi đè conflict clause bên trong trigger
+     */
+    private static String ensureRatingStatsRow(String row) {
+        return "INSERT INTO `product_rating_stats` (`productId`, `ratingCount`, `ratingSum`, " +
+                "`oneStarCount`, `twoStarCount`, `threeStarCount`, `fourStarCount`, `fiveStarCount`) " +
+                "SELECT " + row + ".`productId`, 0, 0, 0, 0, 0, 0, 0 " +
+                "WHERE NOT EXISTS (SELECT 1 FROM `product_rating_stats` " +
+                "WHERE `productId` = " + row + ".`productId`); ";
+    }
+    
+    /**
+     * Cộng/trừ một review vào dòng thống kê của sản phẩm
+     * (so sánh trả về 0/1 nên dùng trực tiếp để đếm theo số sao)
+     */
+    private static String applyRatingDelta(String row, String sign) {
+        String rating = row + ".`rating`";
+        return "UPDATE `product_rating_stats` SET " +
+                "`ratingCount` = `ratingCount` " + sign + " 1, " +
+                "`ratingSum` = `ratingSum` " + sign + " " + rating + ", " +
+                "`oneStarCount` = `oneStarCount` " + sign + " (" + rating + " = 1), " +
+                "`twoStarCount` = `twoStarCount` " + sign + " (" + rating + " = 2), " +
+                "`threeStarCount` = `threeStarCount` " + sign + " (" + rating + " = 3), " +
+                "`fourStarCount` = `fourStarCount` " + sign + " (" + rating + " = 4), " +
+                "`fiveStarCount` = `fiveStarCount` " + sign + " (" + rating + " = 5) " +
+                "WHERE `productId` = " + row + ".`productId`; ";
+    }
+    
+    // Ngày (epoch day, UTC) của đơn hàng chứa order item NEW/OLD
+    private static String orderDay(String row) {
+        return "(SELECT `createdAt` FROM `orders` WHERE `id` = " + row + ".`orderId`) / 86400000";
+    }
+    
+    /**
+     * Giữ product_sales_stats / product_sales_daily khớp với order_items
+     * 
+     * - Mỗi product mới có sẵn một dòng stats (best seller query chỉ cần đọc index)
+     * - Thêm/xóa order item cộng/trừ vào bucket theo ngày và bộ đếm toàn thời gian,
+     *   cửa sổ 7/30 ngày chỉ cộng nếu ngày đặt hàng nằm trong cửa sổ hiện tại (windowDay)
+     * - Xóa order: trừ trong BEFORE DELETE vì khi cascade xuống order_items
+     *   thì dòng orders đã bị xóa, không còn biết ngày đặt hàng
+     */
+    static void createSalesTriggers(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `products_sales_stats_after_insert` " +
+                "AFTER INSERT ON `products` BEGIN " +
+                "INSERT INTO `product_sales_stats` (`productId`, `unitsSold`, `revenue`, " +
+                "`unitsSold7d`, `revenue7d`, `unitsSold30d`, `revenue30d`, `windowDay`) " +
+                "SELECT NEW.`id`, 0, 0, 0, 0, 0, 0, CAST(strftime('%s', 'now') AS INTEGER) / 86400 " +
+                "WHERE NOT EXISTS (SELECT 1 FROM `product_sales_stats` WHERE `productId` = NEW.`id`); " +
+                "END");
         
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `order_items_sales_after_insert` " +
+                "AFTER INSERT ON `order_items` BEGIN " +
+                "INSERT INTO `product_sales_daily` (`productId`, `day`, `unitsSold`, `revenue`) " +
+                "SELECT NEW.`productId`, " + orderDay("NEW") + ", 0, 0 " +
+                "WHERE NOT EXISTS (SELECT 1 FROM `product_sales_daily` " +
+                "WHERE `productId` = NEW.`productId` AND `day` = " + orderDay("NEW") + "); " +
+                applySalesDelta("NEW", "+") +
+                "END");
+        
+        // Khi cascade từ orders thì dòng orders đã bị xóa -> đã xử lý ở orders_sales_before_delete
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `order_items_sales_after_delete` " +
+                "AFTER DELETE ON `order_items` " +
+                "WHEN EXISTS (SELECT 1 FROM `orders` WHERE `id` = OLD.`orderId`) BEGIN " +
+                applySalesDelta("OLD", "-") +
+                "END");
+        
+        String itemsOfOrder = "FROM `order_items` WHERE `orderId` = OLD.`id` AND `productId` = ";
+        String orderDay = "OLD.`createdAt` / 86400000";
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `orders_sales_before_delete` " +
+                "BEFORE DELETE ON `orders` BEGIN " +
+                "UPDATE `product_sales_daily` SET " +
+                "`unitsSold` = `unitsSold` - (SELECT SUM(`quantity`) " + itemsOfOrder + "`product_sales_daily`.`productId`), " +
+                "`revenue` = `revenue` - (SELECT SUM(`subtotal`) " + itemsOfOrder + "`product_sales_daily`.`productId`) " +
+                "WHERE `day` = " + orderDay + " " +
+                "AND `productId` IN (SELECT `productId` FROM `order_items` WHERE `orderId` = OLD.`id`); " +
+                "UPDATE `product_sales_stats` SET " +
+                "`unitsSold` = `unitsSold` - (SELECT SUM(`quantity`) " + itemsOfOrder + "`product_sales_stats`.`productId`), " +
+                "`revenue` = `revenue` - (SELECT SUM(`subtotal`) " + itemsOfOrder + "`product_sales_stats`.`productId`), " +
+                "`unitsSold7d` = `unitsSold7d` - CASE WHEN " + orderDay + " > `windowDay` - 7 " +
+                "THEN (SELECT SUM(`quantity`) " + itemsOfOrder + "`product_sales_stats`.`productId`) ELSE 0 END, " +
+                "`revenue7d` = `revenue7d` - CASE WHEN " + orderDay + " > `windowDay` - 7 " +
+                "THEN (SELECT SUM(`subtotal`) " + itemsOfOrder + "`product_sales_stats`.`productId`) ELSE 0 END, " +
+                "`unitsSold30d` = `unitsSold30d` - CASE WHEN " + orderDay + " > `windowDay` - 30 " +
+                "THEN (SELECT SUM(`quantity`) " + itemsOfOrder + "`product_sales_stats`.`productId`) ELSE 0 END, " +
+                "`revenue30d` = `revenue30d` - CASE WHEN " + orderDay + " > `windowDay` - 30 " +
+                "THEN (SELECT SUM(`subtotal`) " + itemsOfOrder + "`product_sales_stats`.`productId`) ELSE 0 END " +
+                "WHERE `productId` IN (SELECT `productId` FROM `order_items` WHERE `orderId` = OLD.`id`); " +
+                "END");
+    }
+    
+    /**
+     * Cộng/trừ một order item vào bucket theo ngày và bộ đếm doanh số
+     */
+    private static String applySalesDelta(String row, String sign) {
+        String quantity = row + ".`quantity`";
+        String subtotal = row + ".`subtotal`";
+        String day = orderDay(row);
+        return "UPDATE `product_sales_daily` SET " +
+                "`unitsSold` = `unitsSold` " + sign + " " + quantity + ", " +
+                "`revenue` = `revenue` " + sign + " " + subtotal + " " +
+                "WHERE `productId` = " + row + ".`productId` AND `day` = " + day + "; " +
+                "UPDATE `product_sales_stats` SET " +
+                "`unitsSold` = `unitsSold` " + sign + " " + quantity + ", " +
+                "`revenue` = `revenue` " + sign + " " + subtotal + ", " +
+                "`unitsSold7d` = `unitsSold7d` " + sign + " CASE WHEN " + day + " > `windowDay` - 7 " +
+                "THEN " + quantity + " ELSE 0 END, " +
+                "`revenue7d` = `revenue7d` " + sign + " CASE WHEN " + day + " > `windowDay` - 7 " +
+                "THEN " + subtotal + " ELSE 0 END, " +
+                "`unitsSold30d` = `unitsSold30d` " + sign + " CASE WHEN " + day + " > `windowDay` - 30 " +
+                "THEN " + quantity + " ELSE 0 END, " +
+                "`revenue30d` = `revenue30d` " + sign + " CASE WHEN " + day + " > `windowDay` - 30 " +
+                "THEN " + subtotal + " ELSE 0 END " +
+                "WHERE `productId` = " + row + ".`productId`; ";
+    }
+    
+    /**
+     * Migration từ version 1 sang 2
+     * Thêm bảng full-text search products_fts và index toàn bộ products hiện có
+     */
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
         @Override
-        public void onOpen(@NonNull SupportSQLiteDatabase db) {
-            super.onOpen(db);
-            // Có thể thêm logic khi mở database
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `products_fts` " +
+                    "USING FTS4(`name` TEXT, `brand` TEXT, `description` TEXT, `sku` TEXT)");
+            createSearchIndexTriggers(database);
+            
+            // Bỏ dấu phải làm trong Java nên không dùng INSERT ... SELECT được
+            try (Cursor cursor = database.query(
+                    "SELECT id, name, brand, description, sku FROM products")) {
+                while (cursor.moveToNext()) {
+                    database.execSQL(
+                        "INSERT INTO `products_fts` (`rowid`, `name`, `brand`, `description`, `sku`) " +
+                        "VALUES (?, ?, ?, ?, ?)",
+                        new Object[]{
+                            cursor.getLong(0),
+                            SearchTextNormalizer.fold(cursor.getString(1)),
+                            SearchTextNormalizer.fold(cursor.getString(2)),
+                            SearchTextNormalizer.fold(cursor.getString(3)),
+                            SearchTextNormalizer.fold(cursor.getString(4))
+                        });
+                }
+            }
         }
     };
     
     /**
-     * Migration từ version 1 sang 2 (ví dụ)
-     * Sử dụng khi cần thay đổi schema database
+     * Migration từ version 2 sang 3
+     * Thay index đơn cột bằng index ghép theo đúng access path của các DAO query
+     * (filter + ORDER BY) để tránh full scan và temp B-tree sort
      */
-    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
         @Override
         public void migrate(@NonNull SupportSQLiteDatabase database) {
-            // Ví dụ: Thêm cột mới vào table
-            // database.execSQL("ALTER TABLE products ADD COLUMN discount REAL DEFAULT 0");
+            // products
+            database.execSQL("DROP INDEX IF EXISTS `index_products_categoryId`");
+            database.execSQL("DROP INDEX IF EXISTS `index_products_name`");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_products_categoryId_isActive_name` " +
+                    "ON `products` (`categoryId`, `isActive`, `name`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_products_categoryId_isActive_price` " +
+                    "ON `products` (`categoryId`, `isActive`, `price`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_products_isActive_createdAt` " +
+                    "ON `products` (`isActive`, `createdAt`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_products_isActive_price` " +
+                    "ON `products` (`isActive`, `price`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_products_isActive_name` " +
+                    "ON `products` (`isActive`, `name`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_products_isActive_brand_name` " +
+                    "ON `products` (`isActive`, `brand`, `name`)");
+            
+            // cart_items, favorites
+            database.execSQL("DROP INDEX IF EXISTS `index_cart_items_userId`");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_cart_items_userId_addedAt` " +
+                    "ON `cart_items` (`userId`, `addedAt`)");
+            database.execSQL("DROP INDEX IF EXISTS `index_favorites_userId`");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_favorites_userId_addedAt` " +
+                    "ON `favorites` (`userId`, `addedAt`)");
+            
+            // orders
+            database.execSQL("DROP INDEX IF EXISTS `index_orders_userId`");
+            database.execSQL("DROP INDEX IF EXISTS `index_orders_status`");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_orders_userId_createdAt` " +
+                    "ON `orders` (`userId`, `createdAt`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_orders_userId_status_createdAt` " +
+                    "ON `orders` (`userId`, `status`, `createdAt`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_orders_status_createdAt` " +
+                    "ON `orders` (`status`, `createdAt`)");
+            
+            // reviews
+            database.execSQL("DROP INDEX IF EXISTS `index_reviews_userId`");
+            database.execSQL("DROP INDEX IF EXISTS `index_reviews_productId`");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_reviews_userId_createdAt` " +
+                    "ON `reviews` (`userId`, `createdAt`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_reviews_productId_createdAt` " +
+                    "ON `reviews` (`productId`, `createdAt`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_reviews_productId_rating_createdAt` " +
+                    "ON `reviews` (`productId`, `rating`, `createdAt`)");
+            
+            // users
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_users_role_createdAt` " +
+                    "ON `users` (`role`, `createdAt`)");
+        }
+    };
+    
+    /**
+     * Migration từ version 3 sang 4
+     * Thêm bảng product_rating_stats (giữ bởi trigger) và tính lại từ reviews hiện có
+     */
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `product_rating_stats` (" +
+                    "`productId` INTEGER NOT NULL, `ratingCount` INTEGER NOT NULL, " +
+                    "`ratingSum` INTEGER NOT NULL, `oneStarCount` INTEGER NOT NULL, " +
+                    "`twoStarCount` INTEGER NOT NULL, `threeStarCount` INTEGER NOT NULL, " +
+                    "`fourStarCount` INTEGER NOT NULL, `fiveStarCount` INTEGER NOT NULL, " +
+                    "PRIMARY KEY(`productId`), " +
+                    "FOREIGN KEY(`productId`) REFERENCES `products`(`id`) " +
+                    "ON UPDATE NO ACTION ON DELETE CASCADE )");
+            
+            database.execSQL("INSERT INTO `product_rating_stats` (`productId`, `ratingCount`, `ratingSum`, " +
+                    "`oneStarCount`, `twoStarCount`, `threeStarCount`, `fourStarCount`, `fiveStarCount`) " +
+                    "SELECT `productId`, COUNT(*), SUM(`rating`), " +
+                    "SUM(`rating` = 1), SUM(`rating` = 2), SUM(`rating` = 3), " +
+                    "SUM(`rating` = 4), SUM(`rating` = 5) " +
+                    "FROM `reviews` GROUP BY `productId`");
+            
+            createRatingStatsTriggers(database);
+        }
+    };
+    
+    /**
+     * Migration từ version 4 sang 5
+     * Thêm bộ đếm doanh số (toàn thời gian + cửa sổ 7/30 ngày) và tính lại từ order_items
+     */
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `product_sales_stats` (" +
+                    "`productId` INTEGER NOT NULL, `unitsSold` INTEGER NOT NULL, " +
+                    "`revenue` REAL NOT NULL, `unitsSold7d` INTEGER NOT NULL, " +
+                    "`revenue7d` REAL NOT NULL, `unitsSold30d` INTEGER NOT NULL, " +
+                    "`revenue30d` REAL NOT NULL, `windowDay` INTEGER NOT NULL, " +
+                    "PRIMARY KEY(`productId`), " +
+                    "FOREIGN KEY(`productId`) REFERENCES `products`(`id`) " +
+                    "ON UPDATE NO ACTION ON DELETE CASCADE )");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_product_sales_stats_unitsSold30d_unitsSold` " +
+                    "ON `product_sales_stats` (`unitsSold30d`, `unitsSold`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_product_sales_stats_windowDay` " +
+                    "ON `product_sales_stats` (`windowDay`)");
+            
+            database.execSQL("CREATE TABLE IF NOT EXISTS `product_sales_daily` (" +
+                    "`productId` INTEGER NOT NULL, `day` INTEGER NOT NULL, " +
+                    "`unitsSold` INTEGER NOT NULL, `revenue` REAL NOT NULL, " +
+                    "PRIMARY KEY(`productId`, `day`), " +
+                    "FOREIGN KEY(`productId`) REFERENCES `products`(`id`) " +
+                    "ON UPDATE NO ACTION ON DELETE CASCADE )");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_product_sales_daily_day` " +
+                    "ON `product_sales_daily` (`day`)");
+            
+            // Bucket theo ngày cho 30 ngày gần nhất
+            long today = TimeUnit.MILLISECONDS.toDays(System.currentTimeMillis());
+            database.execSQL("INSERT INTO `product_sales_daily` (`productId`, `day`, `unitsSold`, `revenue`) " +
+                    "SELECT oi.`productId`, o.`createdAt` / 86400000 AS `day`, " +
+                    "SUM(oi.`quantity`), SUM(oi.`subtotal`) " +
+                    "FROM `order_items` oi JOIN `orders` o ON o.`id` = oi.`orderId` " +
+                    "WHERE o.`createdAt` / 86400000 > ? " +
+                    "GROUP BY oi.`productId`, `day`",
+                    new Object[]{today - 30});
+            
+            // Bộ đếm toàn thời gian; windowDay = 0 để lần đọc đầu tiên tính lại cửa sổ 7/30 ngày
+            database.execSQL("INSERT INTO `product_sales_stats` (`productId`, `unitsSold`, `revenue`, " +
+                    "`unitsSold7d`, `revenue7d`, `unitsSold30d`, `revenue30d`, `windowDay`) " +
+                    "SELECT p.`id`, COALESCE(SUM(oi.`quantity`), 0), COALESCE(SUM(oi.`subtotal`), 0), " +
+                    "0, 0, 0, 0, 0 " +
+                    "FROM `products` p LEFT JOIN `order_items` oi ON oi.`productId` = p.`id` " +
+                    "GROUP BY p.`id`");
             
-            // Hoặc tạo table mới
-            // database.execSQL("CREATE TABLE IF NOT EXISTS `promotions` (...)");
+            createSalesTriggers(database);
         }
     };
     
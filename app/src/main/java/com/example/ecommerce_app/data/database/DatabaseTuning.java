@@ -0,0 +1,95 @@
+package com.example.ecommerce_app.data.database;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * DatabaseTuning - Cấu hình SQLite áp dụng mỗi khi mở database
+ *
+ * Các trường:
+ * - writeAheadLogging: WAL cho phép đọc song song trong lúc đang ghi
+ * - synchronous: NORMAL là đủ an toàn với WAL (chỉ mất transaction cuối khi mất điện)
+ * - cacheSizeKib: Page cache của connection
+ * - mmapSizeBytes: Đọc file qua memory-mapped I/O, 0 = tắt
+ * - journalSizeLimitBytes: Cắt file WAL về kích thước này sau checkpoint
+ *
+ * PRAGMA được chạy trong onOpen nên chỉ áp dụng cho primary connection
+ * (connection ghi); connection đọc phụ của WAL dùng cấu hình mặc định của framework.
+ */
+public class DatabaseTuning {
+
+    public final boolean writeAheadLogging;
+    public final String synchronous;
+    public final int cacheSizeKib;
+    public final long mmapSizeBytes;
+    public final long journalSizeLimitBytes;
+
+    public DatabaseTuning(boolean writeAheadLogging, String synchronous, int cacheSizeKib,
+                          long mmapSizeBytes, long journalSizeLimitBytes) {
+        this.writeAheadLogging = writeAheadLogging;
+        this.synchronous = synchronous;
+        this.cacheSizeKib = cacheSizeKib;
+        this.mmapSizeBytes = mmapSizeBytes;
+        this.journalSizeLimitBytes = journalSizeLimitBytes;
+    }
+
+    /**
+     * Cấu hình mặc định: WAL, synchronous NORMAL, cache 8 MiB, mmap 32 MiB
+     */
+    public static DatabaseTuning defaults() {
+        return new DatabaseTuning(true, "NORMAL", 8 * 1024, 32L * 1024 * 1024, 4L * 1024 * 1024);
+    }
+
+    /**
+     * Cấu hình cho máy ít RAM: cache nhỏ, không mmap
+     */
+    public static DatabaseTuning lowMemory() {
+        return new DatabaseTuning(true, "NORMAL", 2 * 1024, 0, 1024L * 1024);
+    }
+
+    /**
+     * Cấu hình mặc định của SQLite/framework (dùng để so sánh trong benchmark)
+     */
+    public static DatabaseTuning untuned() {
+        return new DatabaseTuning(false, "FULL", 2 * 1024, 0, -1);
+    }
+
+    public RoomDatabase.JournalMode getJournalMode() {
+        return writeAheadLogging
+                ? RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING
+                : RoomDatabase.JournalMode.TRUNCATE;
+    }
+
+    /**
+     * Callback chạy các PRAGMA khi database được mở
+     */
+    public RoomDatabase.Callback asCallback() {
+        return new RoomDatabase.Callback() {
+            @Override
+            public void onOpen(@NonNull SupportSQLiteDatabase db) {
+                super.onOpen(db);
+                apply(db);
+            }
+        };
+    }
+
+    void apply(@NonNull SupportSQLiteDatabase db) {
+        pragma(db, "synchronous = " + synchronous);
+        // Giá trị âm = KiB thay vì số page
+        pragma(db, "cache_size = -" + cacheSizeKib);
+        pragma(db, "mmap_size = " + mmapSizeBytes);
+        pragma(db, "journal_size_limit = " + journalSizeLimitBytes);
+    }
+
+    /**
+     * Một số PRAGMA trả về dòng kết quả nên phải chạy bằng query() thay vì execSQL()
+     */
+    private static void pragma(@NonNull SupportSQLiteDatabase db, String statement) {
+        try (Cursor cursor = db.query("PRAGMA " + statement)) {
+            cursor.moveToFirst();
+        }
+    }
+}
@@ -32,7 +32,7 @@ import java.util.Date;
             )
         },
         indices = {
-            @Index(value = "userId"),
+            @Index(value = {"userId", "addedAt"}),
             @Index(value = "productId"),
             @Index(value = {"userId", "productId"}, unique = true)
         })
@@ -30,9 +30,10 @@ import java.util.Date;
             onDelete = ForeignKey.CASCADE
         ),
         indices = {
-            @Index(value = "userId"),
+            @Index(value = {"userId", "createdAt"}),
+            @Index(value = {"userId", "status", "createdAt"}),
             @Index(value = "orderNumber", unique = true),
-            @Index(value = "status")
+            @Index(value = {"status", "createdAt"})
         })
 public class Order {
     
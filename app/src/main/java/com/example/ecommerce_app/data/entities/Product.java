@@ -28,6 +28,9 @@ import java.util.List;
  * - isActive: Còn kinh doanh hay không
  * - createdAt: Ngày tạo
  * - updatedAt: Ngày cập nhật
+ * 
+ * Index ghép (isActive, cột sắp xếp) để các danh sách sản phẩm
+ * seek + đọc theo thứ tự index, không phải sort bằng temp B-tree
  */
 @Entity(tableName = "products",
         foreignKeys = @ForeignKey(
@@ -37,9 +40,13 @@ import java.util.List;
             onDelete = ForeignKey.CASCADE
         ),
         indices = {
-            @Index(value = "categoryId"),
+            @Index(value = {"categoryId", "isActive", "name"}),
+            @Index(value = {"categoryId", "isActive", "price"}),
             @Index(value = "sku", unique = true),
-            @Index(value = "name")
+            @Index(value = {"isActive", "createdAt"}),
+            @Index(value = {"isActive", "price"}),
+            @Index(value = {"isActive", "name"}),
+            @Index(value = {"isActive", "brand", "name"})
         })
 public class Product {
     
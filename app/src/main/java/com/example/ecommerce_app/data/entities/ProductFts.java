@@ -0,0 +1,91 @@
+package com.example.ecommerce_app.data.entities;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.PrimaryKey;
+
+import com.example.ecommerce_app.utils.SearchTextNormalizer;
+
+/**
+ * Entity ProductFts - Bảng full-text search (FTS4) cho products
+ *
+ * Các trường:
+ * - rowid: Trùng với products.id
+ * - name, brand, description, sku: Text đã bỏ dấu + chữ thường (SearchTextNormalizer)
+ *
+ * Không dùng contentEntity vì cần lưu text đã bỏ dấu tiếng Việt
+ * (tokenizer của SQLite trên Android cũ không bỏ được dấu kép như "ế", "ộ").
+ * Đồng bộ: insert/update qua ProductDao, delete qua trigger trong AppDatabase.
+ */
+@Fts4
+@Entity(tableName = "products_fts")
+public class ProductFts {
+
+    @PrimaryKey
+    @ColumnInfo(name = "rowid")
+    private long rowid;
+
+    private String name;
+    private String brand;
+    private String description;
+    private String sku;
+
+    // Constructor
+    public ProductFts() {
+    }
+
+    /**
+     * Tạo search entry từ product (text được chuẩn hóa)
+     */
+    public static ProductFts fromProduct(long productId, Product product) {
+        ProductFts entry = new ProductFts();
+        entry.setRowid(productId);
+        entry.setName(SearchTextNormalizer.fold(product.getName()));
+        entry.setBrand(SearchTextNormalizer.fold(product.getBrand()));
+        entry.setDescription(SearchTextNormalizer.fold(product.getDescription()));
+        entry.setSku(SearchTextNormalizer.fold(product.getSku()));
+        return entry;
+    }
+
+    // Getters and Setters
+    public long getRowid() {
+        return rowid;
+    }
+
+    public void setRowid(long rowid) {
+        this.rowid = rowid;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public void setBrand(String brand) {
+        this.brand = brand;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.ecommerce_app.data.entities;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.PrimaryKey;
+
+/**
+ * Entity ProductRatingStats - Thống kê đánh giá của sản phẩm (denormalized)
+ *
+ * Các trường:
+ * - productId: ID sản phẩm (primary key, foreign key)
+ * - ratingCount: Tổng số reviews
+ * - ratingSum: Tổng số sao
+ * - oneStarCount .. fiveStarCount: Số reviews theo từng mức sao
+ *
+ * Không ghi trực tiếp từ code: được giữ chính xác bởi các trigger trên bảng reviews
+ * (AppDatabase.createTriggers), nên đọc rating chỉ tốn một lần tra primary key.
+ */
+@Entity(tableName = "product_rating_stats",
+        foreignKeys = @ForeignKey(
+            entity = Product.class,
+            parentColumns = "id",
+            childColumns = "productId",
+            onDelete = ForeignKey.CASCADE
+        ))
+public class ProductRatingStats {
+
+    @PrimaryKey
+    private long productId;
+
+    private int ratingCount;
+    private long ratingSum;
+    private int oneStarCount;
+    private int twoStarCount;
+    private int threeStarCount;
+    private int fourStarCount;
+    private int fiveStarCount;
+
+    // Constructor
+    public ProductRatingStats() {
+    }
+
+    /**
+     * Thống kê rỗng cho sản phẩm chưa có review nào
+     */
+    public static ProductRatingStats empty(long productId) {
+        ProductRatingStats stats = new ProductRatingStats();
+        stats.setProductId(productId);
+        return stats;
+    }
+
+    /**
+     * Rating trung bình, 0 nếu chưa có review
+     */
+    public double getAverageRating() {
+        return ratingCount > 0 ? (double) ratingSum / ratingCount : 0.0;
+    }
+
+    /**
+     * Số reviews có đúng số sao (1-5)
+     */
+    public int getStarCount(int stars) {
+        switch (stars) {
+            case 1: return oneStarCount;
+            case 2: return twoStarCount;
+            case 3: return threeStarCount;
+            case 4: return fourStarCount;
+            case 5: return fiveStarCount;
+            default: return 0;
+        }
+    }
+
+    // Getters and Setters
+    public long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(long productId) {
+        this.productId = productId;
+    }
+
+    public int getRatingCount() {
+        return ratingCount;
+    }
+
+    public void setRatingCount(int ratingCount) {
+        this.ratingCount = ratingCount;
+    }
+
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
+    public int getOneStarCount() {
+        return oneStarCount;
+    }
+
+    public void setOneStarCount(int oneStarCount) {
+        this.oneStarCount = oneStarCount;
+    }
+
+    public int getTwoStarCount() {
+        return twoStarCount;
+    }
+
+    public void setTwoStarCount(int twoStarCount) {
+        this.twoStarCount = twoStarCount;
+    }
+
+    public int getThreeStarCount() {
+        return threeStarCount;
+    }
+
+    public void setThreeStarCount(int threeStarCount) {
+        this.threeStarCount = threeStarCount;
+    }
+
+    public int getFourStarCount() {
+        return fourStarCount;
+    }
+
+    public void setFourStarCount(int fourStarCount) {
+        this.fourStarCount = fourStarCount;
+    }
+
+    public int getFiveStarCount() {
+        return fiveStarCount;
+    }
+
+    public void setFiveStarCount(int fiveStarCount) {
+        this.fiveStarCount = fiveStarCount;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.ecommerce_app.data.entities;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+
+/**
+ * Entity ProductSalesDaily - Doanh số theo ngày của sản phẩm
+ * 
+ * Các trường:
+ * - productId: ID sản phẩm (foreign key)
+ * - day: Ngày đặt hàng (epoch day, UTC)
+ * - unitsSold: Số lượng bán trong ngày
+ * - revenue: Doanh thu trong ngày
+ * 
+ * Chỉ giữ 30 ngày gần nhất, dùng để tính lại cửa sổ 7/30 ngày của ProductSalesStats
+ */
+@Entity(tableName = "product_sales_daily",
+        primaryKeys = {"productId", "day"},
+        foreignKeys = @ForeignKey(
+            entity = Product.class,
+            parentColumns = "id",
+            childColumns = "productId",
+            onDelete = ForeignKey.CASCADE
+        ),
+        indices = {
+            @Index(value = "day")
+        })
+public class ProductSalesDaily {
+    
+    private long productId;
+    private long day;
+    private int unitsSold;
+    private double revenue;
+    
+    // Constructor
+    public ProductSalesDaily() {
+    }
+    
+    // Getters and Setters
+    public long getProductId() {
+        return productId;
+    }
+    
+    public void setProductId(long productId) {
+        this.productId = productId;
+    }
+    
+    public long getDay() {
+        return day;
+    }
+    
+    public void setDay(long day) {
+        this.day = day;
+    }
+    
+    public int getUnitsSold() {
+        return unitsSold;
+    }
+    
+    public void setUnitsSold(int unitsSold) {
+        this.unitsSold = unitsSold;
+    }
+    
+    public double getRevenue() {
+        return revenue;
+    }
+    
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+}
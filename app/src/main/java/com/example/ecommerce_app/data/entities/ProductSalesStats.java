@@ -0,0 +1,114 @@
+package com.example.ecommerce_app.data.entities;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Entity ProductSalesStats - Bộ đếm doanh số của sản phẩm (denormalized)
+ * 
+ * Các trường:
+ * - productId: ID sản phẩm (primary key, foreign key)
+ * - unitsSold, revenue: Số lượng bán và doanh thu toàn thời gian
+ * - unitsSold7d, revenue7d: Trong 7 ngày gần nhất (tính đến windowDay)
+ * - unitsSold30d, revenue30d: Trong 30 ngày gần nhất (tính đến windowDay)
+ * - windowDay: Ngày (epoch day, UTC) mà cửa sổ 7/30 ngày được tính lại lần cuối
+ * 
+ * Giữ bởi trigger trên products/order_items/orders (AppDatabase.createTriggers),
+ * cửa sổ 7/30 ngày được "trượt" mỗi ngày từ product_sales_daily (ProductSalesDao.rollSalesWindows).
+ * Index (unitsSold30d, unitsSold) để top-N best seller là một lần đọc index theo thứ tự.
+ */
+@Entity(tableName = "product_sales_stats",
+        foreignKeys = @ForeignKey(
+            entity = Product.class,
+            parentColumns = "id",
+            childColumns = "productId",
+            onDelete = ForeignKey.CASCADE
+        ),
+        indices = {
+            @Index(value = {"unitsSold30d", "unitsSold"}),
+            @Index(value = "windowDay")
+        })
+public class ProductSalesStats {
+    
+    @PrimaryKey
+    private long productId;
+    
+    private int unitsSold;
+    private double revenue;
+    private int unitsSold7d;
+    private double revenue7d;
+    private int unitsSold30d;
+    private double revenue30d;
+    private long windowDay;
+    
+    // Constructor
+    public ProductSalesStats() {
+    }
+    
+    // Getters and Setters
+    public long getProductId() {
+        return productId;
+    }
+    
+    public void setProductId(long productId) {
+        this.productId = productId;
+    }
+    
+    public int getUnitsSold() {
+        return unitsSold;
+    }
+    
+    public void setUnitsSold(int unitsSold) {
+        this.unitsSold = unitsSold;
+    }
+    
+    public double getRevenue() {
+        return revenue;
+    }
+    
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+    
+    public int getUnitsSold7d() {
+        return unitsSold7d;
+    }
+    
+    public void setUnitsSold7d(int unitsSold7d) {
+        this.unitsSold7d = unitsSold7d;
+    }
+    
+    public double getRevenue7d() {
+        return revenue7d;
+    }
+    
+    public void setRevenue7d(double revenue7d) {
+        this.revenue7d = revenue7d;
+    }
+    
+    public int getUnitsSold30d() {
+        return unitsSold30d;
+    }
+    
+    public void setUnitsSold30d(int unitsSold30d) {
+        this.unitsSold30d = unitsSold30d;
+    }
+    
+    public double getRevenue30d() {
+        return revenue30d;
+    }
+    
+    public void setRevenue30d(double revenue30d) {
+        this.revenue30d = revenue30d;
+    }
+    
+    public long getWindowDay() {
+        return windowDay;
+    }
+    
+    public void setWindowDay(long windowDay) {
+        this.windowDay = windowDay;
+    }
+}
@@ -35,8 +35,9 @@ import java.util.Date;
             )
         },
         indices = {
-            @Index(value = "userId"),
-            @Index(value = "productId"),
+            @Index(value = {"userId", "createdAt"}),
+            @Index(value = {"productId", "createdAt"}),
+            @Index(value = {"productId", "rating", "createdAt"}),
             @Index(value = {"userId", "productId"}, unique = true)
         })
 public class Review {
@@ -24,7 +24,8 @@ import java.util.Date;
 @Entity(tableName = "users",
         indices = {
             @Index(value = "username", unique = true),
-            @Index(value = "email", unique = true)
+            @Index(value = "email", unique = true),
+            @Index(value = {"role", "createdAt"})
         })
 public class User {
     
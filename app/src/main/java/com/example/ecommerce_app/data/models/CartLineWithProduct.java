@@ -0,0 +1,92 @@
+package com.example.ecommerce_app.data.models;
+
+import androidx.room.Embedded;
+
+import com.example.ecommerce_app.data.entities.CartItem;
+
+/**
+ * CartLineWithProduct - Một dòng giỏ hàng kèm thông tin sản phẩm
+ *
+ * Được Room map trực tiếp từ query JOIN trong CartItemDao,
+ * giá luôn là giá hiện tại của sản phẩm.
+ */
+public class CartLineWithProduct {
+    
+    @Embedded
+    public CartItem cartItem;
+    
+    public String productName;
+    public String productBrand;
+    public double productPrice;
+    public int productStock;
+    
+    public CartLineWithProduct() {
+    }
+    
+    /**
+     * Bản sao với số lượng khác (cartItem cũng được copy, bản gốc giữ nguyên)
+     */
+    public CartLineWithProduct withQuantity(int quantity) {
+        CartItem item = new CartItem();
+        item.setId(cartItem.getId());
+        item.setUserId(cartItem.getUserId());
+        item.setProductId(cartItem.getProductId());
+        item.setQuantity(quantity);
+        item.setAddedAt(cartItem.getAddedAt());
+        
+        CartLineWithProduct copy = new CartLineWithProduct();
+        copy.cartItem = item;
+        copy.productName = productName;
+        copy.productBrand = productBrand;
+        copy.productPrice = productPrice;
+        copy.productStock = productStock;
+        return copy;
+    }
+    
+    /**
+     * Thành tiền = giá hiện tại * số lượng
+     */
+    public double getLineTotal() {
+        return productPrice * cartItem.getQuantity();
+    }
+    
+    public CartItem getCartItem() {
+        return cartItem;
+    }
+    
+    public void setCartItem(CartItem cartItem) {
+        this.cartItem = cartItem;
+    }
+    
+    public String getProductName() {
+        return productName;
+    }
+    
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+    
+    public String getProductBrand() {
+        return productBrand;
+    }
+    
+    public void setProductBrand(String productBrand) {
+        this.productBrand = productBrand;
+    }
+    
+    public double getProductPrice() {
+        return productPrice;
+    }
+    
+    public void setProductPrice(double productPrice) {
+        this.productPrice = productPrice;
+    }
+    
+    public int getProductStock() {
+        return productStock;
+    }
+    
+    public void setProductStock(int productStock) {
+        this.productStock = productStock;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.ecommerce_app.data.models;
+
+/**
+ * CartSummary - Tổng hợp giỏ hàng, CartViewModel tính từ các dòng đang hiển thị
+ *
+ * Các trường:
+ * - lineCount: Số dòng (sản phẩm khác nhau) trong giỏ
+ * - totalQuantity: Tổng số lượng
+ * - subtotal: Tổng tiền chưa gồm phí vận chuyển
+ */
+public class CartSummary {
+    
+    public int lineCount;
+    public int totalQuantity;
+    public double subtotal;
+    
+    public CartSummary() {
+    }
+    
+    /**
+     * Giỏ hàng rỗng
+     */
+    public static CartSummary empty() {
+        return new CartSummary();
+    }
+    
+    public boolean isEmpty() {
+        return lineCount == 0;
+    }
+    
+    public int getLineCount() {
+        return lineCount;
+    }
+    
+    public void setLineCount(int lineCount) {
+        this.lineCount = lineCount;
+    }
+    
+    public int getTotalQuantity() {
+        return totalQuantity;
+    }
+    
+    public void setTotalQuantity(int totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+    
+    public double getSubtotal() {
+        return subtotal;
+    }
+    
+    public void setSubtotal(double subtotal) {
+        this.subtotal = subtotal;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.ecommerce_app.data.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CheckoutResult - Kết quả của CheckoutDao.checkout
+ *
+ * Thành công: orderId > 0, failures rỗng.
+ * Thất bại: orderId = -1 và mỗi dòng giỏ hàng không đặt được có một LineFailure,
+ * toàn bộ transaction đã được rollback (không trừ stock, không tạo order, giỏ hàng giữ nguyên).
+ */
+public class CheckoutResult {
+
+    /**
+     * Lý do một dòng giỏ hàng không checkout được
+     */
+    public enum FailureReason {
+        // Giỏ hàng trống / không còn dòng nào được chọn
+        EMPTY_CART,
+        // Dòng giỏ hàng đã bị xóa (ví dụ ở màn hình khác)
+        CART_ITEM_MISSING,
+        // Không đủ hàng tại thời điểm checkout
+        INSUFFICIENT_STOCK
+    }
+
+    /**
+     * Một dòng giỏ hàng không checkout được
+     */
+    public static class LineFailure {
+        public final long cartItemId;
+        public final long productId;
+        public final String productName;
+        public final int requestedQuantity;
+        public final int availableStock;
+        public final FailureReason reason;
+
+        public LineFailure(long cartItemId, long productId, String productName,
+                           int requestedQuantity, int availableStock, FailureReason reason) {
+            this.cartItemId = cartItemId;
+            this.productId = productId;
+            this.productName = productName;
+            this.requestedQuantity = requestedQuantity;
+            this.availableStock = availableStock;
+            this.reason = reason;
+        }
+    }
+
+    private final long orderId;
+    private final List<LineFailure> failures;
+
+    private CheckoutResult(long orderId, List<LineFailure> failures) {
+        this.orderId = orderId;
+        this.failures = Collections.unmodifiableList(failures);
+    }
+
+    public static CheckoutResult success(long orderId) {
+        return new CheckoutResult(orderId, new ArrayList<>());
+    }
+
+    public static CheckoutResult failure(List<LineFailure> failures) {
+        return new CheckoutResult(-1, new ArrayList<>(failures));
+    }
+
+    public boolean isSuccess() {
+        return orderId > 0;
+    }
+
+    public long getOrderId() {
+        return orderId;
+    }
+
+    public List<LineFailure> getFailures() {
+        return failures;
+    }
+}
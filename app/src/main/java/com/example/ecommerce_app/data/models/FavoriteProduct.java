@@ -0,0 +1,40 @@
+package com.example.ecommerce_app.data.models;
+
+import androidx.room.Embedded;
+
+import com.example.ecommerce_app.data.entities.Product;
+
+import java.util.Date;
+
+/**
+ * FavoriteProduct - Sản phẩm yêu thích kèm thời điểm được thêm vào danh sách
+ *
+ * Được Room map trực tiếp từ query JOIN trong FavoriteDao.
+ */
+public class FavoriteProduct {
+    
+    @Embedded
+    public Product product;
+    
+    // favorites.addedAt
+    public Date addedAt;
+    
+    public FavoriteProduct() {
+    }
+    
+    public Product getProduct() {
+        return product;
+    }
+    
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+    
+    public Date getAddedAt() {
+        return addedAt;
+    }
+    
+    public void setAddedAt(Date addedAt) {
+        this.addedAt = addedAt;
+    }
+}
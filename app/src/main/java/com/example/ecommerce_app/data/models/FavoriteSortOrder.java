@@ -0,0 +1,13 @@
+package com.example.ecommerce_app.data.models;
+
+/**
+ * FavoriteSortOrder - Các kiểu sắp xếp cho danh sách yêu thích
+ *
+ * Được truyền vào query dưới dạng name() và xử lý trong ORDER BY của FavoriteDao.
+ */
+public enum FavoriteSortOrder {
+    ALL,        // addedAt DESC (mới thêm vào yêu thích trước)
+    LATEST,     // products.createdAt DESC (sản phẩm mới nhất)
+    POPULAR,    // số lượng bán 30 ngày DESC (product_sales_stats)
+    CHEAPEST    // price ASC
+}
@@ -0,0 +1,87 @@
+package com.example.ecommerce_app.data.models;
+
+import androidx.room.Embedded;
+
+import com.example.ecommerce_app.data.entities.Order;
+import com.example.ecommerce_app.data.entities.OrderItem;
+
+/**
+ * OrderSummary - Một dòng trong lịch sử đơn hàng
+ *
+ * Order kèm item đầu tiên (id nhỏ nhất), số items, tổng số lượng
+ * và thông tin sản phẩm của item đầu tiên, đọc trong một query (OrderDao).
+ */
+public class OrderSummary {
+    
+    @Embedded
+    public Order order;
+    
+    // null nếu order chưa có item nào
+    @Embedded(prefix = "firstItem_")
+    public OrderItem firstItem;
+    
+    public int itemCount;
+    public int totalQuantity;
+    
+    // null nếu không có item hoặc sản phẩm đã bị xóa
+    public String firstProductName;
+    public String firstProductDescription;
+    
+    public OrderSummary() {
+    }
+    
+    /**
+     * ID sản phẩm của item đầu tiên, -1 nếu không có
+     */
+    public long getFirstProductId() {
+        return firstItem != null ? firstItem.getProductId() : -1;
+    }
+    
+    public Order getOrder() {
+        return order;
+    }
+    
+    public void setOrder(Order order) {
+        this.order = order;
+    }
+    
+    public OrderItem getFirstItem() {
+        return firstItem;
+    }
+    
+    public void setFirstItem(OrderItem firstItem) {
+        this.firstItem = firstItem;
+    }
+    
+    public int getItemCount() {
+        return itemCount;
+    }
+    
+    public void setItemCount(int itemCount) {
+        this.itemCount = itemCount;
+    }
+    
+    public int getTotalQuantity() {
+        return totalQuantity;
+    }
+    
+    public void setTotalQuantity(int totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+    
+    public String getFirstProductName() {
+        return firstProductName;
+    }
+    
+    public void setFirstProductName(String firstProductName) {
+        this.firstProductName = firstProductName;
+    }
+    
+    public String getFirstProductDescription() {
+        return firstProductDescription;
+    }
+    
+    public void setFirstProductDescription(String firstProductDescription) {
+        this.firstProductDescription = firstProductDescription;
+    }
+}
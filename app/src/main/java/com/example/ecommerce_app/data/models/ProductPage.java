@@ -0,0 +1,34 @@
+package com.example.ecommerce_app.data.models;
+
+import com.example.ecommerce_app.data.entities.Product;
+
+import java.util.List;
+
+/**
+ * ProductPage - Một trang sản phẩm trả về từ keyset paging
+ *
+ * nextPageToken là chuỗi opaque, truyền lại cho ProductRepository.getProductsPage
+ * để lấy trang tiếp theo; null nếu đã hết dữ liệu.
+ */
+public class ProductPage {
+
+    private final List<Product> products;
+    private final String nextPageToken;
+
+    public ProductPage(List<Product> products, String nextPageToken) {
+        this.products = products;
+        this.nextPageToken = nextPageToken;
+    }
+
+    public List<Product> getProducts() {
+        return products;
+    }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public boolean hasMore() {
+        return nextPageToken != null;
+    }
+}
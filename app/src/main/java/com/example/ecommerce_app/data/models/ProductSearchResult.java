@@ -0,0 +1,130 @@
+package com.example.ecommerce_app.data.models;
+
+import androidx.room.Embedded;
+
+import com.example.ecommerce_app.data.entities.Product;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ProductSearchResult - Kết quả full-text search: Product + matchinfo của FTS4
+ *
+ * FTS4 không có hàm bm25() (chỉ FTS5 có), nên điểm BM25 được tính từ
+ * matchinfo(products_fts, 'pcnalx') ngay trong Java.
+ */
+public class ProductSearchResult {
+
+    // Trọng số theo thứ tự cột của products_fts: name, brand, description, sku
+    private static final double[] COLUMN_WEIGHTS = {8.0, 3.0, 1.0, 5.0};
+
+    // Tham số BM25 chuẩn
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    @Embedded
+    public Product product;
+
+    // Blob matchinfo 'pcnalx' (mảng uint32, native byte order)
+    public byte[] matchInfo;
+
+    public ProductSearchResult() {
+    }
+
+    public Product getProduct() {
+        return product;
+    }
+
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+
+    public byte[] getMatchInfo() {
+        return matchInfo;
+    }
+
+    public void setMatchInfo(byte[] matchInfo) {
+        this.matchInfo = matchInfo;
+    }
+
+    /**
+     * Tính điểm BM25 từ matchinfo 'pcnalx'
+     *
+     * Layout: p, c, n, a[c], l[c], x[3 * c * p]
+     * - p: số phrase, c: số cột, n: số row trong bảng
+     * - a: số token trung bình mỗi cột, l: số token mỗi cột của row hiện tại
+     * - x: (hits trong row, hits trong toàn bảng, số row có hit) cho mỗi phrase/cột
+     *
+     * @return Điểm BM25, càng cao càng liên quan
+     */
+    public double getBm25Score() {
+        if (matchInfo == null || matchInfo.length < 12) {
+            return 0.0;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder());
+        int phraseCount = buffer.getInt(0);
+        int columnCount = buffer.getInt(4);
+        long rowCount = buffer.getInt(8) & 0xFFFFFFFFL;
+
+        int avgOffset = 3;
+        int lengthOffset = avgOffset + columnCount;
+        int hitsOffset = lengthOffset + columnCount;
+
+        double score = 0.0;
+        for (int phrase = 0; phrase < phraseCount; phrase++) {
+            for (int column = 0; column < columnCount; column++) {
+                int base = hitsOffset + 3 * (phrase * columnCount + column);
+                int termFrequency = buffer.getInt(base * 4);
+                if (termFrequency == 0) {
+                    continue;
+                }
+
+                int docsWithHits = buffer.getInt((base + 2) * 4);
+                double avgLength = Math.max(1, buffer.getInt((avgOffset + column) * 4));
+                double length = buffer.getInt((lengthOffset + column) * 4);
+
+                // IDF có thể âm với token quá phổ biến, giữ tối thiểu như FTS5
+                double idf = Math.log((rowCount - docsWithHits + 0.5) / (docsWithHits + 0.5));
+                idf = Math.max(idf, 1e-6);
+
+                double tf = termFrequency * (K1 + 1)
+                        / (termFrequency + K1 * (1 - B + B * length / avgLength));
+                double weight = column < COLUMN_WEIGHTS.length ? COLUMN_WEIGHTS[column] : 1.0;
+
+                score += weight * idf * tf;
+            }
+        }
+
+        return score;
+    }
+
+    /**
+     * Sắp xếp kết quả theo BM25 giảm dần và trả về danh sách Product
+     */
+    public static List<Product> rank(List<ProductSearchResult> results) {
+        List<Product> products = new ArrayList<>();
+        if (results == null || results.isEmpty()) {
+            return products;
+        }
+
+        int size = results.size();
+        double[] scores = new double[size];
+        List<Integer> order = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            scores[i] = results.get(i).getBm25Score();
+            order.add(i);
+        }
+
+        Collections.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+
+        for (int index : order) {
+            products.add(results.get(index).product);
+        }
+
+        return products;
+    }
+}
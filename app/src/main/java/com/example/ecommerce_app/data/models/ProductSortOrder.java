@@ -0,0 +1,14 @@
+package com.example.ecommerce_app.data.models;
+
+/**
+ * ProductSortOrder - Các kiểu sắp xếp cho danh sách sản phẩm phân trang (keyset paging)
+ *
+ * Mỗi kiểu sắp xếp luôn kèm id làm khóa phụ để thứ tự là duy nhất,
+ * nhờ đó continuation token xác định chính xác vị trí trang tiếp theo.
+ */
+public enum ProductSortOrder {
+    NEWEST,             // createdAt DESC, id DESC
+    PRICE_LOW_TO_HIGH,  // price ASC, id ASC
+    PRICE_HIGH_TO_LOW,  // price DESC, id DESC
+    NAME_A_TO_Z         // name ASC, id ASC
+}
@@ -1,23 +1,25 @@
 package com.example.ecommerce_app.data.models;
 
+import androidx.room.Embedded;
+
 import com.example.ecommerce_app.data.entities.Review;
-import com.example.ecommerce_app.data.entities.User;
 
 /**
  * ReviewWithUser - POJO kết hợp Review với User info
  * Để hiển thị reviews với tên người dùng
+ *
+ * Được Room map trực tiếp từ query JOIN trong ReviewDao,
+ * chỉ lấy các trường của user mà UI cần.
  */
 public class ReviewWithUser {
     
+    @Embedded
     public Review review;
-    public User user;
     
-    public ReviewWithUser() {
-    }
+    // users.fullName, null nếu user đã bị xóa
+    public String userFullName;
     
-    public ReviewWithUser(Review review, User user) {
-        this.review = review;
-        this.user = user;
+    public ReviewWithUser() {
     }
     
     public Review getReview() {
@@ -28,11 +30,11 @@ public class ReviewWithUser {
         this.review = review;
     }
     
-    public User getUser() {
-        return user;
+    public String getUserFullName() {
+        return userFullName;
     }
     
-    public void setUser(User user) {
-        this.user = user;
+    public void setUserFullName(String userFullName) {
+        this.userFullName = userFullName;
     }
 }
@@ -7,8 +7,12 @@ import androidx.lifecycle.LiveData;
 import com.example.ecommerce_app.data.dao.CartItemDao;
 import com.example.ecommerce_app.data.database.AppDatabase;
 import com.example.ecommerce_app.data.entities.CartItem;
+import com.example.ecommerce_app.data.models.CartLineWithProduct;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Future;
 
 /**
@@ -30,11 +34,39 @@ public class CartRepository {
     }
     
     public Future<List<CartItem>> getCartItemsSync(long userId) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             return cartItemDao.getCartItemsByUserSync(userId);
         });
     }
     
+    /**
+     * Giỏ hàng kèm thông tin sản phẩm (một query JOIN)
+     */
+    public LiveData<List<CartLineWithProduct>> getCartLines(long userId) {
+        return cartItemDao.getCartLinesByUser(userId);
+    }
+    
+    /**
+     * Các dòng giỏ hàng được chọn kèm thông tin sản phẩm, giữ thứ tự của cartItemIds
+     */
+    public Future<List<CartLineWithProduct>> getCartLinesSync(long userId, List<Long> cartItemIds) {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
+            Map<Long, CartLineWithProduct> linesById = new HashMap<>();
+            for (CartLineWithProduct line : cartItemDao.getCartLinesByIdsSync(userId, cartItemIds)) {
+                linesById.put(line.cartItem.getId(), line);
+            }
+            
+            List<CartLineWithProduct> lines = new ArrayList<>();
+            for (Long cartItemId : cartItemIds) {
+                CartLineWithProduct line = linesById.get(cartItemId);
+                if (line != null) {
+                    lines.add(line);
+                }
+            }
+            return lines;
+        });
+    }
+    
     public LiveData<Integer> getCartItemCount(long userId) {
         return cartItemDao.getCartItemCount(userId);
     }
@@ -76,6 +108,17 @@ public class CartRepository {
         });
     }
     
+    /**
+     * Cập nhật số lượng nhiều dòng trong một transaction
+     * @param quantities cartItemId -> số lượng mới
+     */
+    public Future<?> updateQuantities(Map<Long, Integer> quantities) {
+        Map<Long, Integer> batch = new HashMap<>(quantities);
+        return AppDatabase.databaseWriteExecutor.submit(() -> {
+            cartItemDao.updateQuantities(batch);
+        });
+    }
+    
     /**
      * Xóa sản phẩm khỏi giỏ
      */
@@ -98,7 +141,7 @@ public class CartRepository {
      * Kiểm tra sản phẩm có trong giỏ không
      */
     public Future<Boolean> isInCart(long userId, long productId) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             return cartItemDao.checkProductInCart(userId, productId) > 0;
         });
     }
@@ -30,7 +30,7 @@ public class CategoryRepository {
     }
     
     public Future<List<Category>> getAllCategoriesSync() {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             return categoryDao.getAllCategoriesSync();
         });
     }
@@ -40,7 +40,7 @@ public class CategoryRepository {
     }
     
     public Future<Category> getCategoryByIdSync(long categoryId) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             return categoryDao.getCategoryByIdSync(categoryId);
         });
     }
@@ -70,13 +70,13 @@ public class CategoryRepository {
     }
     
     public Future<Category> findByName(String name) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             return categoryDao.findByName(name);
         });
     }
     
     public Future<Integer> getCount() {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             return categoryDao.getCount();
         });
     }
@@ -7,6 +7,9 @@ import androidx.lifecycle.LiveData;
 import com.example.ecommerce_app.data.dao.FavoriteDao;
 import com.example.ecommerce_app.data.database.AppDatabase;
 import com.example.ecommerce_app.data.entities.Favorite;
+import com.example.ecommerce_app.data.models.FavoriteProduct;
+import com.example.ecommerce_app.data.models.FavoriteSortOrder;
+import com.example.ecommerce_app.utils.SearchTextNormalizer;
 
 import java.util.List;
 import java.util.concurrent.Future;
@@ -32,8 +35,26 @@ public class FavoriteRepository {
         return favoriteDao.getFavoritesByUser(userId);
     }
     
+    /**
+     * Lấy sản phẩm yêu thích (JOIN products), tìm kiếm và sắp xếp trong SQL
+     * Tìm theo text đã bỏ dấu nên "cam bien" khớp với "Cảm Biến"
+     */
+    public LiveData<List<FavoriteProduct>> getFavoriteProducts(long userId, String query,
+                                                              FavoriteSortOrder sortOrder) {
+        String folded = SearchTextNormalizer.fold(query).trim();
+        String pattern = folded.isEmpty() ? "" : "%" + escapeLike(folded) + "%";
+        return favoriteDao.getFavoriteProducts(userId, pattern, sortOrder.name());
+    }
+    
+    /**
+     * Escape ký tự đặc biệt của LIKE (dùng với ESCAPE '\')
+     */
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+    
     public Future<List<Favorite>> getFavoritesByUserSync(long userId) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             return favoriteDao.getFavoritesByUserSync(userId);
         });
     }
@@ -69,7 +90,7 @@ public class FavoriteRepository {
      * Kiểm tra sản phẩm đã được yêu thích chưa
      */
     public Future<Boolean> isFavorite(long userId, long productId) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             return favoriteDao.isFavorite(userId, productId) > 0;
         });
     }
@@ -78,7 +99,7 @@ public class FavoriteRepository {
      * Đếm số lượng favorites
      */
     public Future<Integer> getFavoriteCount(long userId) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             return favoriteDao.getFavoriteCount(userId);
         });
     }
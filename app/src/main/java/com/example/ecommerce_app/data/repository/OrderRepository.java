@@ -4,11 +4,14 @@ import android.app.Application;
 
 import androidx.lifecycle.LiveData;
 
+import com.example.ecommerce_app.data.dao.CheckoutDao;
 import com.example.ecommerce_app.data.dao.OrderDao;
 import com.example.ecommerce_app.data.dao.OrderItemDao;
 import com.example.ecommerce_app.data.database.AppDatabase;
 import com.example.ecommerce_app.data.entities.Order;
 import com.example.ecommerce_app.data.entities.OrderItem;
+import com.example.ecommerce_app.data.models.CheckoutResult;
+import com.example.ecommerce_app.data.models.OrderSummary;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -23,11 +26,13 @@ public class OrderRepository {
     
     private OrderDao orderDao;
     private OrderItemDao orderItemDao;
+    private CheckoutDao checkoutDao;
     
     public OrderRepository(Application application) {
         AppDatabase database = AppDatabase.getInstance(application);
         orderDao = database.orderDao();
         orderItemDao = database.orderItemDao();
+        checkoutDao = database.checkoutDao();
     }
     
     // ==================== ORDER OPERATIONS ====================
@@ -41,7 +46,7 @@ public class OrderRepository {
     }
     
     public Future<Order> getOrderByIdSync(long orderId) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             return orderDao.getOrderByIdSync(orderId);
         });
     }
@@ -50,6 +55,30 @@ public class OrderRepository {
         return orderDao.getOrdersByStatus(userId, status);
     }
     
+    public LiveData<Long> getLastOrderUpdate(long userId) {
+        return orderDao.getLastOrderUpdate(userId);
+    }
+    
+    /**
+     * Lấy một trang lịch sử đơn hàng (order + item đầu tiên + số lượng), mới nhất trước
+     * 
+     * @param statuses Các trạng thái cần lấy
+     * @param after Order cuối của trang trước, null cho trang đầu
+     * @return Tối đa pageSize orders, ít hơn pageSize nghĩa là đã hết
+     */
+    public Future<List<OrderSummary>> getOrderSummariesPage(long userId, List<String> statuses,
+                                                           OrderSummary after, int pageSize) {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
+            long createdAt = Long.MAX_VALUE;
+            long id = Long.MAX_VALUE;
+            if (after != null && after.order.getCreatedAt() != null) {
+                createdAt = after.order.getCreatedAt().getTime();
+                id = after.order.getId();
+            }
+            return orderDao.getOrderSummariesAfter(userId, statuses, createdAt, id, pageSize);
+        });
+    }
+    
     public LiveData<List<Order>> getAllOrders() {
         return orderDao.getAllOrders();
     }
@@ -73,6 +102,27 @@ public class OrderRepository {
         });
     }
     
+    /**
+     * Đặt hàng từ giỏ hàng trong một transaction
+     * (trừ stock có điều kiện, chốt giá, tạo order + items, xóa các dòng đã đặt)
+     * 
+     * @param cartItemIds Các dòng giỏ hàng được chọn, null = toàn bộ giỏ hàng
+     * @return Order ID, hoặc lý do thất bại cho từng dòng (không có gì bị thay đổi)
+     */
+    public Future<CheckoutResult> checkout(long userId, List<Long> cartItemIds, double shippingFee,
+                                           String shippingAddress, String shippingPhone, String note) {
+        return AppDatabase.databaseWriteExecutor.submit(() -> {
+            Order order = new Order();
+            order.setUserId(userId);
+            order.setOrderNumber(generateOrderNumber());
+            order.setShippingAddress(shippingAddress);
+            order.setShippingPhone(shippingPhone);
+            order.setNote(note);
+            
+            return checkoutDao.checkout(order, cartItemIds, shippingFee);
+        });
+    }
+    
     /**
      * Cập nhật trạng thái order
      */
@@ -104,7 +154,7 @@ public class OrderRepository {
     }
     
     public Future<List<OrderItem>> getOrderItemsSync(long orderId) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             return orderItemDao.getOrderItemsByOrderSync(orderId);
         });
     }
@@ -137,13 +187,13 @@ public class OrderRepository {
     // ==================== STATISTICS ====================
     
     public Future<Integer> getOrderCount(long userId) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             return orderDao.getOrderCount(userId);
         });
     }
     
     public Future<Double> getTotalSpent(long userId) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             return orderDao.getTotalSpent(userId);
         });
     }
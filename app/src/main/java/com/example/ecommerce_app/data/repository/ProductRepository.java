@@ -1,16 +1,27 @@
 package com.example.ecommerce_app.data.repository;
 
 import android.app.Application;
+import android.util.Base64;
 
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
 
 import com.example.ecommerce_app.data.dao.ProductDao;
+import com.example.ecommerce_app.data.dao.ProductSalesDao;
 import com.example.ecommerce_app.data.database.AppDatabase;
 import com.example.ecommerce_app.data.entities.Product;
+import com.example.ecommerce_app.data.models.ProductPage;
+import com.example.ecommerce_app.data.models.ProductSearchResult;
+import com.example.ecommerce_app.data.models.ProductSortOrder;
+import com.example.ecommerce_app.utils.SearchTextNormalizer;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * ProductRepository - Repository cho Product entity
@@ -18,10 +29,12 @@ import java.util.concurrent.Future;
 public class ProductRepository {
     
     private ProductDao productDao;
+    private ProductSalesDao productSalesDao;
     
     public ProductRepository(Application application) {
         AppDatabase database = AppDatabase.getInstance(application);
         productDao = database.productDao();
+        productSalesDao = database.productSalesDao();
     }
     
     // ==================== CRUD OPERATIONS ====================
@@ -35,7 +48,7 @@ public class ProductRepository {
     }
     
     public Future<Product> getProductByIdSync(long productId) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             return productDao.getProductByIdSync(productId);
         });
     }
@@ -61,8 +74,26 @@ public class ProductRepository {
     
     // ==================== SEARCH & FILTER ====================
     
+    /**
+     * Full-text search trên tên, brand, mô tả, SKU (không phân biệt dấu)
+     * Kết quả xếp hạng theo BM25
+     */
     public LiveData<List<Product>> searchProducts(String keyword) {
-        return productDao.searchProducts(keyword);
+        return search(SearchTextNormalizer.toMatchQuery(keyword));
+    }
+    
+    /**
+     * Full-text search chỉ theo tên sản phẩm
+     */
+    public LiveData<List<Product>> searchByName(String keyword) {
+        return search(SearchTextNormalizer.toMatchQuery(keyword, "name"));
+    }
+    
+    private LiveData<List<Product>> search(String matchQuery) {
+        if (matchQuery.isEmpty()) {
+            return new MutableLiveData<>(new ArrayList<>());
+        }
+        return Transformations.map(productDao.searchProducts(matchQuery), ProductSearchResult::rank);
     }
     
     public LiveData<List<Product>> getProductsByCategory(long categoryId) {
@@ -87,8 +118,16 @@ public class ProductRepository {
         return productDao.getLatestProducts(limit);
     }
     
+    /**
+     * Top sản phẩm bán chạy 30 ngày, đọc từ bộ đếm doanh số (product_sales_stats)
+     * Cửa sổ 7/30 ngày được trượt sang ngày hiện tại trước, LiveData tự cập nhật sau đó
+     */
     public LiveData<List<Product>> getBestSellingProducts(int limit) {
-        return productDao.getBestSellingProducts(limit);
+        long today = TimeUnit.MILLISECONDS.toDays(System.currentTimeMillis());
+        AppDatabase.databaseWriteExecutor.execute(() -> {
+            productSalesDao.rollSalesWindows(today);
+        });
+        return productSalesDao.getBestSellingProducts(limit);
     }
     
     public LiveData<List<Product>> getSaleProducts(int limit) {
@@ -97,14 +136,97 @@ public class ProductRepository {
     
     // ==================== PAGING ====================
     
-    public Future<List<Product>> getProductsPaged(int limit, int offset) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
-            return productDao.getProductsPaged(limit, offset);
+    /**
+     * Keyset paging: lấy một trang sản phẩm theo kiểu sắp xếp
+     * 
+     * @param sortOrder Kiểu sắp xếp
+     * @param pageToken Token của trang trước (ProductPage.getNextPageToken), null cho trang đầu
+     * @param pageSize Số sản phẩm mỗi trang
+     * @throws IllegalArgumentException (qua Future) nếu token không hợp lệ hoặc khác kiểu sắp xếp
+     */
+    public Future<ProductPage> getProductsPage(ProductSortOrder sortOrder, String pageToken, int pageSize) {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
+            // Lấy dư 1 dòng để biết còn trang sau hay không
+            List<Product> rows = queryPage(sortOrder, pageToken, pageSize + 1);
+            
+            if (rows.size() <= pageSize) {
+                return new ProductPage(rows, null);
+            }
+            
+            List<Product> products = new ArrayList<>(rows.subList(0, pageSize));
+            Product last = products.get(pageSize - 1);
+            return new ProductPage(products, encodePageToken(sortOrder, last));
         });
     }
     
+    private List<Product> queryPage(ProductSortOrder sortOrder, String pageToken, int limit) {
+        String[] cursor = pageToken != null ? decodePageToken(sortOrder, pageToken) : null;
+        long lastId;
+        
+        switch (sortOrder) {
+            case PRICE_LOW_TO_HIGH:
+                lastId = cursor != null ? Long.parseLong(cursor[1]) : Long.MIN_VALUE;
+                double minPrice = cursor != null ? Double.parseDouble(cursor[2]) : -Double.MAX_VALUE;
+                return productDao.getCheapestProductsAfter(minPrice, lastId, limit);
+            case PRICE_HIGH_TO_LOW:
+                lastId = cursor != null ? Long.parseLong(cursor[1]) : Long.MAX_VALUE;
+                double maxPrice = cursor != null ? Double.parseDouble(cursor[2]) : Double.MAX_VALUE;
+                return productDao.getMostExpensiveProductsAfter(maxPrice, lastId, limit);
+            case NAME_A_TO_Z:
+                lastId = cursor != null ? Long.parseLong(cursor[1]) : Long.MIN_VALUE;
+                String name = cursor != null ? cursor[2] : "";
+                return productDao.getProductsByNameAfter(name, lastId, limit);
+            case NEWEST:
+            default:
+                lastId = cursor != null ? Long.parseLong(cursor[1]) : Long.MAX_VALUE;
+                long createdAt = cursor != null ? Long.parseLong(cursor[2]) : Long.MAX_VALUE;
+                return productDao.getNewestProductsAfter(createdAt, lastId, limit);
+        }
+    }
+    
+    /**
+     * Token = Base64("SORT_ORDER:id:sortKey") của dòng cuối trang
+     * sortKey đặt cuối vì tên sản phẩm có thể chứa ':'
+     */
+    private static String encodePageToken(ProductSortOrder sortOrder, Product last) {
+        String sortKey;
+        switch (sortOrder) {
+            case PRICE_LOW_TO_HIGH:
+            case PRICE_HIGH_TO_LOW:
+                sortKey = String.valueOf(last.getPrice());
+                break;
+            case NAME_A_TO_Z:
+                sortKey = last.getName() != null ? last.getName() : "";
+                break;
+            case NEWEST:
+            default:
+                sortKey = String.valueOf(last.getCreatedAt() != null ? last.getCreatedAt().getTime() : 0L);
+                break;
+        }
+        
+        String raw = sortOrder.name() + ":" + last.getId() + ":" + sortKey;
+        return Base64.encodeToString(raw.getBytes(StandardCharsets.UTF_8),
+                Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING);
+    }
+    
+    private static String[] decodePageToken(ProductSortOrder sortOrder, String pageToken) {
+        String raw;
+        try {
+            raw = new String(Base64.decode(pageToken, Base64.URL_SAFE | Base64.NO_WRAP),
+                    StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page token", e);
+        }
+        
+        String[] parts = raw.split(":", 3);
+        if (parts.length != 3 || !parts[0].equals(sortOrder.name())) {
+            throw new IllegalArgumentException("Page token does not match sort order " + sortOrder);
+        }
+        return parts;
+    }
+    
     public Future<Integer> getActiveProductCount() {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             return productDao.getActiveProductCount();
         });
     }
@@ -113,12 +235,7 @@ public class ProductRepository {
     
     public Future<Boolean> decreaseStock(long productId, int quantity) {
         return AppDatabase.databaseWriteExecutor.submit(() -> {
-            int currentStock = productDao.getStock(productId);
-            if (currentStock >= quantity) {
-                productDao.decreaseStock(productId, quantity, new Date().getTime());
-                return true;
-            }
-            return false;
+            return productDao.decreaseStock(productId, quantity, new Date().getTime()) > 0;
         });
     }
     
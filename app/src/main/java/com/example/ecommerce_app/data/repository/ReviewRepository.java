@@ -3,14 +3,14 @@ package com.example.ecommerce_app.data.repository;
 import android.app.Application;
 
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Transformations;
 
 import com.example.ecommerce_app.data.dao.ReviewDao;
 import com.example.ecommerce_app.data.database.AppDatabase;
+import com.example.ecommerce_app.data.entities.ProductRatingStats;
 import com.example.ecommerce_app.data.entities.Review;
-import com.example.ecommerce_app.data.entities.User;
 import com.example.ecommerce_app.data.models.ReviewWithUser;
 
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.Future;
@@ -37,7 +37,7 @@ public class ReviewRepository {
     }
     
     public Future<List<Review>> getReviewsByProductSync(long productId) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             return reviewDao.getReviewsByProductSync(productId);
         });
     }
@@ -105,12 +105,22 @@ public class ReviewRepository {
         });
     }
     
+    /**
+     * Lấy thống kê rating (số reviews, trung bình, số reviews theo sao)
+     * Luôn trả về object khác null, tự cập nhật khi reviews thay đổi
+     */
+    public LiveData<ProductRatingStats> getRatingStats(long productId) {
+        return Transformations.map(reviewDao.getRatingStats(productId),
+                stats -> stats != null ? stats : ProductRatingStats.empty(productId));
+    }
+    
     /**
      * Đếm số reviews
      */
     public Future<Integer> getReviewCount(long productId) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
-            return reviewDao.getReviewCount(productId);
+        return AppDatabase.databaseReadExecutor.submit(() -> {
+            ProductRatingStats stats = reviewDao.getRatingStatsSync(productId);
+            return stats != null ? stats.getRatingCount() : 0;
         });
     }
     
@@ -118,8 +128,9 @@ public class ReviewRepository {
      * Tính rating trung bình
      */
     public Future<Double> getAverageRating(long productId) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
-            return reviewDao.getAverageRating(productId);
+        return AppDatabase.databaseReadExecutor.submit(() -> {
+            ProductRatingStats stats = reviewDao.getRatingStatsSync(productId);
+            return stats != null ? stats.getAverageRating() : 0.0;
         });
     }
     
@@ -138,21 +149,11 @@ public class ReviewRepository {
     }
     
     /**
-     * Lấy reviews với user info
-     * Map manually vì Room không tự động map ReviewWithUser
+     * Lấy reviews với user info (một query JOIN)
      */
     public Future<List<ReviewWithUser>> getReviewsWithUser(long productId) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
-            List<Review> reviews = reviewDao.getReviewsWithUserSync(productId);
-            List<ReviewWithUser> result = new ArrayList<>();
-            
-            for (Review review : reviews) {
-                User user = AppDatabase.getInstance(null).userDao().getUserByIdSync(review.getUserId());
-                ReviewWithUser reviewWithUser = new ReviewWithUser(review, user);
-                result.add(reviewWithUser);
-            }
-            
-            return result;
+        return AppDatabase.databaseReadExecutor.submit(() -> {
+            return reviewDao.getReviewsWithUserSync(productId);
         });
     }
     
@@ -160,17 +161,26 @@ public class ReviewRepository {
      * Lấy reviews với user info (giới hạn số lượng)
      */
     public Future<List<ReviewWithUser>> getReviewsWithUserLimit(long productId, int limit) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
-            List<Review> reviews = reviewDao.getReviewsWithUserLimitSync(productId, limit);
-            List<ReviewWithUser> result = new ArrayList<>();
-            
-            for (Review review : reviews) {
-                User user = AppDatabase.getInstance(null).userDao().getUserByIdSync(review.getUserId());
-                ReviewWithUser reviewWithUser = new ReviewWithUser(review, user);
-                result.add(reviewWithUser);
+        return AppDatabase.databaseReadExecutor.submit(() -> {
+            return reviewDao.getReviewsWithUserLimitSync(productId, limit);
+        });
+    }
+    
+    /**
+     * Lấy một trang reviews với user info, mới nhất trước
+     * 
+     * @param after Review cuối của trang trước, null cho trang đầu
+     * @return Tối đa pageSize reviews, ít hơn pageSize nghĩa là đã hết
+     */
+    public Future<List<ReviewWithUser>> getReviewsWithUserPage(long productId, ReviewWithUser after, int pageSize) {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
+            long createdAt = Long.MAX_VALUE;
+            long id = Long.MAX_VALUE;
+            if (after != null && after.review.getCreatedAt() != null) {
+                createdAt = after.review.getCreatedAt().getTime();
+                id = after.review.getId();
             }
-            
-            return result;
+            return reviewDao.getReviewsWithUserAfter(productId, createdAt, id, pageSize);
         });
     }
 }
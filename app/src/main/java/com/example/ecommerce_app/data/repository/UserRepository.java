@@ -35,7 +35,8 @@ public class UserRepository {
      * @return User ID nếu thành công, -1 nếu username đã tồn tại, -2 nếu email đã tồn tại
      */
     public Future<Long> register(String username, String email, String password, String fullName, String phone) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        // Kiểm tra + hash BCrypt trên read pool, chỉ lệnh insert đi qua hàng đợi ghi
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             // Kiểm tra username đã tồn tại
             if (userDao.checkUsernameExists(username) > 0) {
                 return -1L; // Username đã tồn tại
@@ -54,7 +55,8 @@ public class UserRepository {
             user.setFullName(fullName);
             user.setPhone(phone);
             
-            return userDao.insert(user);
+            // username/email có unique index nên đăng ký trùng lúc này sẽ bị từ chối khi insert
+            return AppDatabase.databaseWriteExecutor.submit(() -> userDao.insert(user)).get();
         });
     }
     
@@ -65,7 +67,7 @@ public class UserRepository {
      * @return User nếu thành công, null nếu thất bại
      */
     public Future<User> login(String email, String password) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             // Tìm user theo email (vì LoginActivity nhập email)
             User user = userDao.findByEmail(email);
             
@@ -93,7 +95,7 @@ public class UserRepository {
     }
     
     public Future<User> getUserByIdSync(long userId) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             return userDao.getUserByIdSync(userId);
         });
     }
@@ -128,7 +130,8 @@ public class UserRepository {
     }
     
     public Future<Boolean> changePassword(long userId, String oldPassword, String newPassword) {
-        return AppDatabase.databaseWriteExecutor.submit(() -> {
+        // Verify + hash BCrypt trên read pool, chỉ lệnh update đi qua hàng đợi ghi
+        return AppDatabase.databaseReadExecutor.submit(() -> {
             User user = userDao.getUserByIdSync(userId);
             
             if (user == null) {
@@ -142,7 +145,9 @@ public class UserRepository {
             
             // Update password
             String newPasswordHash = PasswordHasher.hashPassword(newPassword);
-            userDao.updatePassword(userId, newPasswordHash, new Date().getTime());
+            AppDatabase.databaseWriteExecutor.submit(() -> {
+                userDao.updatePassword(userId, newPasswordHash, new Date().getTime());
+            }).get();
             
             return true;
         });
@@ -0,0 +1,198 @@
+package com.example.ecommerce_app.fragments;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.ecommerce_app.ProductDetailActivity;
+import com.example.ecommerce_app.R;
+import com.example.ecommerce_app.adapters.ProductAdapter;
+import com.example.ecommerce_app.data.entities.Product;
+import com.example.ecommerce_app.data.models.ProductSortOrder;
+import com.example.ecommerce_app.utils.ImagePreloader;
+import com.example.ecommerce_app.utils.InfiniteScrollListener;
+import com.example.ecommerce_app.utils.SessionManager;
+import com.example.ecommerce_app.viewmodels.FavoriteViewModel;
+import com.example.ecommerce_app.viewmodels.ProductListViewModel;
+import com.google.android.material.chip.ChipGroup;
+
+/**
+ * AllProductsFragment - Lưới sản phẩm cuộn vô hạn (nút "See All" ở Home)
+ *
+ * Các trang được load bằng keyset pagination qua ProductListViewModel.
+ */
+public class AllProductsFragment extends Fragment {
+
+    public static final String ARG_PREFETCH_DISTANCE = "prefetch_distance";
+    public static final int DEFAULT_PREFETCH_DISTANCE = 6;
+
+    private ProductListViewModel viewModel;
+    private FavoriteViewModel favoriteViewModel;
+    private long userId;
+    private RecyclerView recyclerProducts;
+    private ProductAdapter productAdapter;
+    private ChipGroup chipGroupSort;
+    private ProgressBar progressLoading;
+    private TextView textEmpty;
+    private InfiniteScrollListener scrollListener;
+
+    public static AllProductsFragment newInstance(int prefetchDistance) {
+        AllProductsFragment fragment = new AllProductsFragment();
+        Bundle args = new Bundle();
+        args.putInt(ARG_PREFETCH_DISTANCE, prefetchDistance);
+        fragment.setArguments(args);
+        return fragment;
+    }
+
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container,
+                             @Nullable Bundle savedInstanceState) {
+        return inflater.inflate(R.layout.fragment_all_products, container, false);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        viewModel = new ViewModelProvider(this).get(ProductListViewModel.class);
+        favoriteViewModel = new ViewModelProvider(this).get(FavoriteViewModel.class);
+
+        userId = new SessionManager(requireContext()).getUserId();
+        if (userId > 0) {
+            favoriteViewModel.setUserId(userId);
+        }
+
+        initViews(view);
+        setupRecyclerView();
+        setupSortChips();
+        observeData();
+
+        view.findViewById(R.id.btn_back).setOnClickListener(v ->
+                requireActivity().getSupportFragmentManager().popBackStack());
+
+        // ViewModel giữ lại qua configuration change, chỉ load lần đầu
+        if (viewModel.getPagedProducts().getValue() == null
+                || viewModel.getPagedProducts().getValue().isEmpty()) {
+            viewModel.loadFirstPage(viewModel.getPageSortOrder());
+        }
+    }
+
+    private void initViews(View view) {
+        recyclerProducts = view.findViewById(R.id.recycler_all_products);
+        chipGroupSort = view.findViewById(R.id.chip_group_sort);
+        progressLoading = view.findViewById(R.id.progress_loading);
+        textEmpty = view.findViewById(R.id.text_empty);
+    }
+
+    private void setupRecyclerView() {
+        productAdapter = new ProductAdapter(requireContext());
+        GridLayoutManager layoutManager = new GridLayoutManager(requireContext(), 2);
+        recyclerProducts.setLayoutManager(layoutManager);
+        recyclerProducts.setAdapter(productAdapter);
+
+        int prefetchDistance = getArguments() != null
+                ? getArguments().getInt(ARG_PREFETCH_DISTANCE, DEFAULT_PREFETCH_DISTANCE)
+                : DEFAULT_PREFETCH_DISTANCE;
+
+        scrollListener = new InfiniteScrollListener(layoutManager, prefetchDistance,
+                () -> viewModel.loadNextPage());
+        recyclerProducts.addOnScrollListener(scrollListener);
+
+        // Nạp trước ảnh của các hàng sắp cuộn vào màn hình
+        recyclerProducts.addOnScrollListener(new ImagePreloader(requireContext(), layoutManager,
+                R.id.product_image, productAdapter));
+
+        productAdapter.setOnProductClickListener(new ProductAdapter.OnProductClickListener() {
+            @Override
+            public void onProductClick(Product product) {
+                Intent intent = new Intent(getActivity(), ProductDetailActivity.class);
+                intent.putExtra(ProductDetailActivity.EXTRA_PRODUCT_ID, product.getId());
+                startActivity(intent);
+            }
+
+            @Override
+            public void onFavoriteClick(Product product) {
+                if (userId > 0) {
+                    favoriteViewModel.toggleFavorite(product.getId());
+                } else {
+                    Toast.makeText(getContext(), "Vui lòng đăng nhập để thêm yêu thích", Toast.LENGTH_SHORT).show();
+                }
+            }
+        });
+    }
+
+    private void setupSortChips() {
+        chipGroupSort.check(getChipId(viewModel.getPageSortOrder()));
+
+        chipGroupSort.setOnCheckedStateChangeListener((group, checkedIds) -> {
+            if (checkedIds.isEmpty()) {
+                return;
+            }
+
+            ProductSortOrder sortOrder = getSortOrder(checkedIds.get(0));
+            if (sortOrder != viewModel.getPageSortOrder()) {
+                recyclerProducts.scrollToPosition(0);
+                viewModel.loadFirstPage(sortOrder);
+            }
+        });
+    }
+
+    private void observeData() {
+        viewModel.getPagedProducts().observe(getViewLifecycleOwner(), products -> {
+            // Trang ngắn hơn màn hình thì không có sự kiện cuộn, kiểm tra lại sau khi layout xong
+            productAdapter.setPagedProducts(products,
+                    () -> recyclerProducts.post(() -> scrollListener.checkLoadMore()));
+
+            Boolean hasMore = viewModel.getHasMorePages().getValue();
+            boolean isEmpty = products == null || products.isEmpty();
+            textEmpty.setVisibility(isEmpty && Boolean.FALSE.equals(hasMore) ? View.VISIBLE : View.GONE);
+        });
+
+        viewModel.getIsLoading().observe(getViewLifecycleOwner(), isLoading ->
+                progressLoading.setVisibility(Boolean.TRUE.equals(isLoading) ? View.VISIBLE : View.GONE));
+
+        favoriteViewModel.getErrorMessage().observe(getViewLifecycleOwner(), message -> {
+            if (message != null && !message.isEmpty()) {
+                Toast.makeText(getContext(), message, Toast.LENGTH_SHORT).show();
+                favoriteViewModel.clearMessages();
+            }
+        });
+    }
+
+    private int getChipId(ProductSortOrder sortOrder) {
+        switch (sortOrder) {
+            case PRICE_LOW_TO_HIGH:
+                return R.id.chip_sort_price_low;
+            case PRICE_HIGH_TO_LOW:
+                return R.id.chip_sort_price_high;
+            case NAME_A_TO_Z:
+                return R.id.chip_sort_name;
+            case NEWEST:
+            default:
+                return R.id.chip_sort_newest;
+        }
+    }
+
+    private ProductSortOrder getSortOrder(int chipId) {
+        if (chipId == R.id.chip_sort_price_low) {
+            return ProductSortOrder.PRICE_LOW_TO_HIGH;
+        } else if (chipId == R.id.chip_sort_price_high) {
+            return ProductSortOrder.PRICE_HIGH_TO_LOW;
+        } else if (chipId == R.id.chip_sort_name) {
+            return ProductSortOrder.NAME_A_TO_Z;
+        }
+        return ProductSortOrder.NEWEST;
+    }
+}
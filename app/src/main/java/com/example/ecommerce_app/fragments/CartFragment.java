@@ -111,17 +111,14 @@ public class CartFragment extends Fragment {
 
             @Override
             public void onIncreaseQuantity(CartItem item) {
+                // Shown immediately, rapid taps are written to the database as one batch
                 viewModel.updateQuantity(item.getId(), item.getQuantity() + 1);
-                // Update checkout card after quantity change
-                recyclerCart.postDelayed(() -> updateCheckoutCard(), 100);
             }
 
             @Override
             public void onDecreaseQuantity(CartItem item) {
                 if (item.getQuantity() > 1) {
                     viewModel.updateQuantity(item.getId(), item.getQuantity() - 1);
-                    // Update checkout card after quantity change
-                    recyclerCart.postDelayed(() -> updateCheckoutCard(), 100);
                 }
             }
         });
@@ -138,8 +135,12 @@ public class CartFragment extends Fragment {
                 return;
             }
             
-            // Navigate to Payment screen
-            navigateToPayment(selectedItems);
+            // Payment screen reads the cart from the database, write pending quantities first
+            viewModel.flushPendingEdits(() -> {
+                if (isAdded()) {
+                    navigateToPayment(selectedItems);
+                }
+            });
         });
     }
 
@@ -167,27 +168,37 @@ public class CartFragment extends Fragment {
         startActivity(intent);
     }
 
+    @Override
+    public void onStop() {
+        super.onStop();
+        // Don't keep quantity edits buffered while the screen is not visible
+        if (viewModel != null) {
+            viewModel.flushPendingEdits();
+        }
+    }
+
     private void observeData() {
-        // Observe cart items
-        viewModel.getCartItems().observe(getViewLifecycleOwner(), cartItems -> {
-            if (cartItems != null && !cartItems.isEmpty()) {
-                cartAdapter.setCartItems(cartItems);
+        // Observe cart lines (cart items joined with products, one query)
+        viewModel.getCartLines().observe(getViewLifecycleOwner(), cartLines -> {
+            if (cartLines != null && !cartLines.isEmpty()) {
                 showEmptyState(false);
-                
-                // Calculate total after adapter loads products
-                recyclerCart.postDelayed(() -> {
-                    double total = cartAdapter.getTotalPrice();
-                    viewModel.calculateTotalPrice();
-                    updateTotalPrice(total);
-                }, 500); // Give time for products to load
+                // Selected totals are read from the adapter, so wait for the new list
+                cartAdapter.setCartLines(cartLines, this::updateCheckoutCard);
             } else {
+                cartAdapter.setCartLines(null);
                 showEmptyState(true);
             }
         });
 
-        // Observe total price
+        // Observe total price (summed from the displayed lines, including pending quantity edits)
         viewModel.getTotalPrice().observe(getViewLifecycleOwner(), totalPrice -> {
-            if (totalPrice != null) {
+            if (totalPrice == null) {
+                return;
+            }
+            if (cartAdapter.getSelectedCount() > 0) {
+                // Checkout card shows the selected items only
+                updateCheckoutCard();
+            } else {
                 updateTotalPrice(totalPrice);
             }
         });
@@ -247,13 +258,4 @@ public class CartFragment extends Fragment {
             bottomCard.setVisibility(View.GONE);
         }
     }
-
-    @Override
-    public void onResume() {
-        super.onResume();
-        // Refresh cart when fragment resumes
-        if (currentUserId > 0) {
-            viewModel.calculateTotalPrice();
-        }
-    }
 }
@@ -18,22 +18,13 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.ecommerce_app.R;
 import com.example.ecommerce_app.adapters.FavoriteProductAdapter;
-import com.example.ecommerce_app.data.database.AppDatabase;
-import com.example.ecommerce_app.data.dao.ProductDao;
-import com.example.ecommerce_app.data.entities.Favorite;
 import com.example.ecommerce_app.data.entities.Product;
+import com.example.ecommerce_app.data.models.FavoriteSortOrder;
 import com.example.ecommerce_app.utils.SessionManager;
 import com.example.ecommerce_app.viewmodels.FavoriteViewModel;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
 /**
  * FavoriteFragment - Favorite products screen with search and filtering
  */
@@ -46,15 +37,8 @@ public class FavoriteFragment extends Fragment {
     private EditText etSearch;
     private ChipGroup chipGroup;
     
-    private AppDatabase database;
-    private ProductDao productDao;
-    private ExecutorService executorService;
     private SessionManager sessionManager;
     private long userId;
-    
-    private List<Product> allFavoriteProducts = new ArrayList<>();
-    private String currentFilter = "ALL";
-    private String searchQuery = "";
 
     @Nullable
     @Override
@@ -62,11 +46,6 @@ public class FavoriteFragment extends Fragment {
                              @Nullable Bundle savedInstanceState) {
         View view = inflater.inflate(R.layout.fragment_favorite, container, false);
 
-        // Initialize database
-        database = AppDatabase.getInstance(requireContext());
-        productDao = database.productDao();
-        executorService = Executors.newSingleThreadExecutor();
-        
         // Get user ID from session
         sessionManager = new SessionManager(requireContext());
         userId = sessionManager.getUserId();
@@ -93,15 +72,9 @@ public class FavoriteFragment extends Fragment {
 
             @Override
             public void onFavoriteClick(Product product) {
-                // Remove from favorites
+                // Remove from favorites, the list LiveData emits again after the delete
                 favoriteViewModel.removeFromFavorites(product.getId());
                 favoriteAdapter.removeProduct(product);
-                allFavoriteProducts.remove(product);
-                
-                // Check if empty
-                if (allFavoriteProducts.isEmpty()) {
-                    showEmptyState();
-                }
             }
         });
 
@@ -113,10 +86,12 @@ public class FavoriteFragment extends Fragment {
             favoriteViewModel.setUserId(userId);
         }
 
-        // Observe favorites
-        favoriteViewModel.getFavorites().observe(getViewLifecycleOwner(), favorites -> {
+        // Observe favorite products (joined, searched and sorted in SQL)
+        favoriteViewModel.getFavoriteProducts().observe(getViewLifecycleOwner(), favorites -> {
+            favoriteAdapter.setFavorites(favorites);
+            
             if (favorites != null && !favorites.isEmpty()) {
-                loadFavoriteProducts(favorites);
+                hideEmptyState();
             } else {
                 showEmptyState();
             }
@@ -129,8 +104,8 @@ public class FavoriteFragment extends Fragment {
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                searchQuery = s.toString().toLowerCase().trim();
-                filterProducts();
+                // Debounced in the ViewModel
+                favoriteViewModel.setSearchQuery(s.toString());
             }
 
             @Override
@@ -144,17 +119,16 @@ public class FavoriteFragment extends Fragment {
             }
             
             int selectedId = checkedIds.get(0);
-            if (selectedId == R.id.chip_all) {
-                currentFilter = "ALL";
-            } else if (selectedId == R.id.chip_latest) {
-                currentFilter = "LATEST";
+            FavoriteSortOrder sortOrder = FavoriteSortOrder.ALL;
+            if (selectedId == R.id.chip_latest) {
+                sortOrder = FavoriteSortOrder.LATEST;
             } else if (selectedId == R.id.chip_most_popular) {
-                currentFilter = "POPULAR";
+                sortOrder = FavoriteSortOrder.POPULAR;
             } else if (selectedId == R.id.chip_cheapest) {
-                currentFilter = "CHEAPEST";
+                sortOrder = FavoriteSortOrder.CHEAPEST;
             }
             
-            filterProducts();
+            favoriteViewModel.setSortOrder(sortOrder);
         });
 
         // Set default filter
@@ -179,90 +153,6 @@ public class FavoriteFragment extends Fragment {
         }
     }
 
-    /**
-     * Load favorite products from database
-     */
-    private void loadFavoriteProducts(List<Favorite> favorites) {
-        executorService.execute(() -> {
-            List<Product> products = new ArrayList<>();
-            
-            for (Favorite favorite : favorites) {
-                Product product = productDao.getProductByIdSync(favorite.getProductId());
-                if (product != null) {
-                    products.add(product);
-                }
-            }
-
-            // Update UI on main thread
-            if (getActivity() != null) {
-                getActivity().runOnUiThread(() -> {
-                    allFavoriteProducts = products;
-                    filterProducts();
-                    
-                    if (products.isEmpty()) {
-                        showEmptyState();
-                    } else {
-                        hideEmptyState();
-                    }
-                });
-            }
-        });
-    }
-
-    /**
-     * Filter products based on search query and selected filter
-     */
-    private void filterProducts() {
-        List<Product> filteredProducts = new ArrayList<>(allFavoriteProducts);
-
-        // Apply search filter
-        if (!searchQuery.isEmpty()) {
-            List<Product> searchResults = new ArrayList<>();
-            for (Product product : filteredProducts) {
-                if (product.getName().toLowerCase().contains(searchQuery) ||
-                    (product.getBrand() != null && product.getBrand().toLowerCase().contains(searchQuery))) {
-                    searchResults.add(product);
-                }
-            }
-            filteredProducts = searchResults;
-        }
-
-        // Apply sort filter
-        switch (currentFilter) {
-            case "LATEST":
-                // Sort by created date (newest first)
-                Collections.sort(filteredProducts, (p1, p2) -> 
-                    p2.getCreatedAt().compareTo(p1.getCreatedAt()));
-                break;
-            case "POPULAR":
-                // Sort by name (as we don't have popularity metric)
-                // In a real app, you'd sort by number of purchases or views
-                Collections.sort(filteredProducts, (p1, p2) -> 
-                    p1.getName().compareTo(p2.getName()));
-                break;
-            case "CHEAPEST":
-                // Sort by price (lowest first)
-                Collections.sort(filteredProducts, (p1, p2) -> 
-                    Double.compare(p1.getPrice(), p2.getPrice()));
-                break;
-            case "ALL":
-            default:
-                // No sorting, keep original order
-                break;
-        }
-
-        favoriteAdapter.setProducts(filteredProducts);
-
-        // Show/hide empty state
-        if (filteredProducts.isEmpty() && !allFavoriteProducts.isEmpty()) {
-            // Show "no results" message
-            recyclerFavorites.setVisibility(View.GONE);
-            emptyState.setVisibility(View.VISIBLE);
-        } else {
-            hideEmptyState();
-        }
-    }
-
     /**
      * Show empty state
      */
@@ -278,12 +168,4 @@ public class FavoriteFragment extends Fragment {
         recyclerFavorites.setVisibility(View.VISIBLE);
         emptyState.setVisibility(View.GONE);
     }
-
-    @Override
-    public void onDestroy() {
-        super.onDestroy();
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
-    }
 }
@@ -16,20 +16,14 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.ecommerce_app.R;
 import com.example.ecommerce_app.adapters.OrderAdapter;
-import com.example.ecommerce_app.data.database.AppDatabase;
-import com.example.ecommerce_app.data.dao.OrderItemDao;
-import com.example.ecommerce_app.data.dao.ProductDao;
 import com.example.ecommerce_app.data.entities.Order;
-import com.example.ecommerce_app.data.entities.OrderItem;
-import com.example.ecommerce_app.data.entities.Product;
+import com.example.ecommerce_app.utils.InfiniteScrollListener;
 import com.example.ecommerce_app.utils.SessionManager;
 import com.example.ecommerce_app.viewmodels.OrderViewModel;
 import com.google.android.material.tabs.TabLayout;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * MyOrderFragment - Shows user's order history with tab filtering
@@ -38,17 +32,17 @@ import java.util.concurrent.Executors;
  */
 public class MyOrderFragment extends Fragment {
 
+    private static final List<String> IN_PROGRESS_STATUSES = Arrays.asList("PENDING", "PROCESSING", "SHIPPED");
+    private static final List<String> HISTORY_STATUSES = Arrays.asList("DELIVERED", "COMPLETED", "CANCELLED");
+    private static final int ORDER_PREFETCH_DISTANCE = 5;
+
     private RecyclerView recyclerOrders;
     private OrderAdapter orderAdapter;
     private OrderViewModel orderViewModel;
     private TabLayout tabLayout;
     private View emptyState;
     private SessionManager sessionManager;
-    
-    private AppDatabase database;
-    private OrderItemDao orderItemDao;
-    private ProductDao productDao;
-    private ExecutorService executorService;
+    private InfiniteScrollListener scrollListener;
     
     private int currentTab = 0; // 0 = My Order, 1 = History
 
@@ -66,22 +60,22 @@ public class MyOrderFragment extends Fragment {
             return view;
         }
 
-        // Initialize database
-        database = AppDatabase.getInstance(requireContext());
-        orderItemDao = database.orderItemDao();
-        productDao = database.productDao();
-        executorService = Executors.newSingleThreadExecutor();
-
         // Initialize views
         recyclerOrders = view.findViewById(R.id.recycler_orders);
         tabLayout = view.findViewById(R.id.tab_layout);
         emptyState = view.findViewById(R.id.empty_state);
 
         // Setup RecyclerView
-        recyclerOrders.setLayoutManager(new LinearLayoutManager(getContext()));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(getContext());
+        recyclerOrders.setLayoutManager(layoutManager);
         orderAdapter = new OrderAdapter(getContext());
         recyclerOrders.setAdapter(orderAdapter);
         
+        // Load next page of orders when scrolling near the end
+        scrollListener = new InfiniteScrollListener(layoutManager, ORDER_PREFETCH_DISTANCE,
+                () -> orderViewModel.loadMoreOrderSummaries());
+        recyclerOrders.addOnScrollListener(scrollListener);
+        
         // Set order click listener
         orderAdapter.setOnOrderClickListener(new OrderAdapter.OnOrderClickListener() {
             @Override
@@ -102,7 +96,23 @@ public class MyOrderFragment extends Fragment {
         // Set user ID (TODO: Get from session/SharedPreferences)
         orderViewModel.setUserId(1); // Temporary hardcoded user ID
 
-        // Observe orders based on current tab
+        // Observe order summaries (one query per page, filtered by status in SQL)
+        orderViewModel.getOrderSummaries().observe(getViewLifecycleOwner(), summaries -> {
+            if (summaries == null || summaries.isEmpty()) {
+                orderAdapter.setOrderSummaries(null);
+                recyclerOrders.setVisibility(View.GONE);
+                emptyState.setVisibility(View.VISIBLE);
+                return;
+            }
+            
+            // Page shorter than the screen: no scroll event will fire, check once it is laid out
+            orderAdapter.setOrderSummaries(summaries,
+                    () -> recyclerOrders.post(() -> scrollListener.checkLoadMore()));
+            recyclerOrders.setVisibility(View.VISIBLE);
+            emptyState.setVisibility(View.GONE);
+        });
+        
+        // Load orders based on current tab
         loadOrdersForCurrentTab();
 
         // Tab selection listener
@@ -129,87 +139,11 @@ public class MyOrderFragment extends Fragment {
     private void loadOrdersForCurrentTab() {
         if (currentTab == 0) {
             // My Order tab - show in progress orders (PENDING, PROCESSING, SHIPPED)
-            loadInProgressOrders();
+            orderViewModel.loadOrderSummaries(IN_PROGRESS_STATUSES);
         } else {
             // History tab - show completed/cancelled orders (DELIVERED, COMPLETED, CANCELLED)
-            loadHistoryOrders();
-        }
-    }
-
-    /**
-     * Load in-progress orders
-     */
-    private void loadInProgressOrders() {
-        orderViewModel.getOrders().observe(getViewLifecycleOwner(), orders -> {
-            if (orders != null) {
-                // Filter for in-progress orders
-                List<Order> inProgressOrders = new ArrayList<>();
-                for (Order order : orders) {
-                    String status = order.getStatus().toUpperCase();
-                    if (status.equals("PENDING") || status.equals("PROCESSING") || status.equals("SHIPPED")) {
-                        inProgressOrders.add(order);
-                    }
-                }
-                
-                loadOrdersWithDetails(inProgressOrders);
-            }
-        });
-    }
-
-    /**
-     * Load history orders (completed/cancelled)
-     */
-    private void loadHistoryOrders() {
-        orderViewModel.getOrders().observe(getViewLifecycleOwner(), orders -> {
-            if (orders != null) {
-                // Filter for history orders
-                List<Order> historyOrders = new ArrayList<>();
-                for (Order order : orders) {
-                    String status = order.getStatus().toUpperCase();
-                    if (status.equals("DELIVERED") || status.equals("COMPLETED") || status.equals("CANCELLED")) {
-                        historyOrders.add(order);
-                    }
-                }
-                
-                loadOrdersWithDetails(historyOrders);
-            }
-        });
-    }
-
-    /**
-     * Load orders with product details
-     */
-    private void loadOrdersWithDetails(List<Order> orders) {
-        if (orders.isEmpty()) {
-            recyclerOrders.setVisibility(View.GONE);
-            emptyState.setVisibility(View.VISIBLE);
-            return;
+            orderViewModel.loadOrderSummaries(HISTORY_STATUSES);
         }
-
-        executorService.execute(() -> {
-            List<OrderAdapter.OrderWithDetails> ordersWithDetails = new ArrayList<>();
-            
-            for (Order order : orders) {
-                // Get first order item
-                List<OrderItem> items = orderItemDao.getOrderItemsSync(order.getId());
-                if (!items.isEmpty()) {
-                    OrderItem firstItem = items.get(0);
-                    Product product = productDao.getProductByIdSync(firstItem.getProductId());
-                    ordersWithDetails.add(new OrderAdapter.OrderWithDetails(order, firstItem, product));
-                } else {
-                    ordersWithDetails.add(new OrderAdapter.OrderWithDetails(order, null, null));
-                }
-            }
-
-            // Update UI on main thread
-            if (getActivity() != null) {
-                getActivity().runOnUiThread(() -> {
-                    orderAdapter.setOrdersWithDetails(ordersWithDetails);
-                    recyclerOrders.setVisibility(View.VISIBLE);
-                    emptyState.setVisibility(View.GONE);
-                });
-            }
-        });
     }
 
     /**
@@ -229,10 +163,9 @@ public class MyOrderFragment extends Fragment {
                 break;
             case "DELIVERED":
             case "COMPLETED":
-                // Confirm received
+                // Confirm received; the list reloads once the write commits
                 orderViewModel.confirmReceived(order.getId());
                 Toast.makeText(getContext(), "Thank you for confirming!", Toast.LENGTH_SHORT).show();
-                loadOrdersForCurrentTab();
                 break;
             case "CANCELLED":
                 // TODO: Reorder
@@ -240,12 +173,4 @@ public class MyOrderFragment extends Fragment {
                 break;
         }
     }
-
-    @Override
-    public void onDestroy() {
-        super.onDestroy();
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
-    }
 }
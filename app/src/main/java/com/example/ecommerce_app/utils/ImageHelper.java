@@ -3,15 +3,33 @@ package com.example.ecommerce_app.utils;
 import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
+import android.graphics.ImageDecoder;
+import android.os.Build;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.Process;
+import android.util.LruCache;
+import android.view.ViewTreeObserver;
 import android.widget.ImageView;
 
+import androidx.annotation.RequiresApi;
+
+import com.example.ecommerce_app.R;
+
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.Executors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * ImageHelper - Utility class để làm việc với ảnh từ assets
@@ -45,6 +63,113 @@ public class ImageHelper {
     // Tên file ảnh mặc định
     public static final String MAIN_IMAGE = "main.jpg";
     
+    // Pool decode dùng chung với số thread cố định, ưu tiên thấp hơn UI thread
+    private static final int NUMBER_OF_DECODE_THREADS =
+        Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    // Hàng đợi ưu tiên: view đang hiển thị trước preload, trong đó request mới nhất trước
+    private static final ThreadPoolExecutor decodeExecutor = new ThreadPoolExecutor(
+        NUMBER_OF_DECODE_THREADS, NUMBER_OF_DECODE_THREADS, 0L, TimeUnit.MILLISECONDS,
+        new PriorityBlockingQueue<>(),
+        runnable -> new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "image-decode"));
+    
+    // Thứ tự các lần decode được yêu cầu, chỉ truy cập trên main thread
+    private static long nextSequence;
+    
+    private static final int PRIORITY_PRELOAD = 0;
+    private static final int PRIORITY_VISIBLE = 1;
+    
+    // Ảnh preload chiếm tối đa 1/4 memory cache để không đẩy ảnh đang hiển thị ra ngoài
+    private static final int PRELOAD_CACHE_FRACTION = 4;
+    
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    
+    // Bitmap đã decode theo asset path + kích thước đích, tối đa 1/8 heap (đơn vị KiB)
+    private static final LruCache<String, Bitmap> memoryCache =
+        new LruCache<String, Bitmap>((int) (Runtime.getRuntime().maxMemory() / 1024 / 8)) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getAllocationByteCount() / 1024;
+            }
+        };
+    
+    // Ảnh có cạnh dài tới mức này (px) được coi là thumbnail: JPEG decode bằng RGB_565
+    private static final int THUMBNAIL_MAX_SIZE_PX = 720;
+    
+    // Kích thước (px) của thumbnail lưu trong ThumbnailDiskCache, bucket cuối = THUMBNAIL_MAX_SIZE_PX
+    private static final int[] THUMBNAIL_BUCKETS_PX = {128, 192, 256, 384, 512, THUMBNAIL_MAX_SIZE_PX};
+    
+    // Lần decode đang chờ/đang chạy theo key, chỉ truy cập trên main thread
+    private static final Map<String, DecodeJob> inFlightLoads = new HashMap<>();
+    
+    /**
+     * Một lần load ảnh vào ImageView, gắn vào view qua tag R.id.image_load_request
+     * để lần bind sau hoặc lúc recycle có thể hủy
+     */
+    private static final class LoadRequest {
+        final Context context;
+        final String assetPath;
+        final ImageView target;
+        ViewTreeObserver.OnPreDrawListener sizeListener;
+        DecodeJob job;
+        
+        LoadRequest(Context context, String assetPath, ImageView target) {
+            this.context = context;
+            this.assetPath = assetPath;
+            this.target = target;
+        }
+    }
+    
+    /**
+     * Decode một ảnh ở một kích thước, dùng chung cho mọi request cùng key
+     */
+    private static final class DecodeJob implements Runnable, Comparable<DecodeJob> {
+        final Context context;
+        final String key;
+        final String assetPath;
+        final int targetWidth;
+        final int targetHeight;
+        // Chỉ truy cập trên main thread
+        final List<LoadRequest> requests = new ArrayList<>();
+        // Chỉ đổi khi job không nằm trong hàng đợi
+        int priority;
+        long sequence;
+        
+        DecodeJob(Context context, String key, String assetPath, int targetWidth, int targetHeight) {
+            this.context = context;
+            this.key = key;
+            this.assetPath = assetPath;
+            this.targetWidth = targetWidth;
+            this.targetHeight = targetHeight;
+        }
+        
+        @Override
+        public void run() {
+            Bitmap bitmap = decodeThumbnail(context, assetPath, targetWidth, targetHeight);
+            if (bitmap != null) {
+                memoryCache.put(key, bitmap);
+            }
+            // Post result back to UI thread
+            mainHandler.post(() -> deliver(this, bitmap));
+        }
+        
+        /**
+         * Ảnh đang hiển thị: mới nhất trước (vị trí vừa cuộn tới).
+         * Preload: cũ nhất trước, vì preload được yêu cầu từ gần tới xa.
+         */
+        @Override
+        public int compareTo(DecodeJob other) {
+            if (priority != other.priority) {
+                return Integer.compare(other.priority, priority);
+            }
+            return priority == PRIORITY_VISIBLE
+                    ? Long.compare(other.sequence, sequence)
+                    : Long.compare(sequence, other.sequence);
+        }
+    }
+    
     /**
      * Load bitmap từ assets theo path đầy đủ
      * 
@@ -57,8 +182,7 @@ public class ImageHelper {
             return null;
         }
         
-        try {
-            InputStream inputStream = context.getAssets().open(fullPath);
+        try (InputStream inputStream = openImage(context, fullPath)) {
             return BitmapFactory.decodeStream(inputStream);
         } catch (IOException e) {
             e.printStackTrace();
@@ -94,6 +218,15 @@ public class ImageHelper {
      * Load image from assets asynchronously and set it into ImageView
      * This overload allows direct loading into ImageView without blocking UI thread
      * 
+     * Must be called on the main thread. The image is decoded at the size of the
+     * ImageView (waiting for its first layout if needed) rather than at full resolution.
+     * Decoded bitmaps are kept in a memory LRU cache, decoding runs on a shared fixed-size
+     * pool, and concurrent requests for the same image and size share a single decode.
+     * 
+     * Calling this again for the same ImageView (e.g. a rebound ViewHolder) cancels the
+     * previous load, so a recycled view never receives a stale image. Adapters should also
+     * call {@link #cancelLoad(ImageView)} from onViewRecycled.
+     * 
      * @param context Application context (must not be null)
      * @param assetPath Full path to image in assets (e.g., "images/products/product_1.jpg")
      * @param targetImageView ImageView to display the loaded image (must not be null)
@@ -104,35 +237,427 @@ public class ImageHelper {
             return;
         }
         
-        // Load image off the main thread
-        Executors.newSingleThreadExecutor().execute(() -> {
-            Bitmap bitmap = null;
-            try (InputStream is = context.getAssets().open(assetPath)) {
-                bitmap = BitmapFactory.decodeStream(is);
-            } catch (IOException e) {
-                // Image not found or error reading - will use fallback
-            } catch (Exception e) {
-                // Other exceptions - will use fallback
+        cancelLoad(targetImageView);
+        // Application context: request trong hàng đợi không giữ Activity
+        final LoadRequest request = new LoadRequest(context.getApplicationContext(), assetPath, targetImageView);
+        targetImageView.setTag(R.id.image_load_request, request);
+        
+        if (targetImageView.getWidth() > 0 && targetImageView.getHeight() > 0) {
+            startLoad(request, targetImageView.getWidth(), targetImageView.getHeight());
+            return;
+        }
+        
+        // ViewHolder mới chưa được layout: chờ tới frame đầu tiên để biết kích thước
+        targetImageView.setImageDrawable(null);
+        request.sizeListener = new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                removeSizeListener(request);
+                int width = targetImageView.getWidth();
+                int height = targetImageView.getHeight();
+                if (width <= 0 || height <= 0) {
+                    // View không có kích thước (wrap_content): giới hạn theo màn hình
+                    width = targetImageView.getResources().getDisplayMetrics().widthPixels;
+                    height = targetImageView.getResources().getDisplayMetrics().heightPixels;
+                }
+                startLoad(request, width, height);
+                return true;
+            }
+        };
+        targetImageView.getViewTreeObserver().addOnPreDrawListener(request.sizeListener);
+    }
+    
+    /**
+     * Hủy lần load đang gắn với ImageView (gọi từ onViewRecycled)
+     * 
+     * Decode chưa bắt đầu và không còn view nào chờ sẽ bị bỏ khỏi hàng đợi;
+     * decode đang chạy vẫn hoàn tất và vào cache nhưng không gán vào view.
+     */
+    public static void cancelLoad(ImageView targetImageView) {
+        Object tag = targetImageView.getTag(R.id.image_load_request);
+        if (!(tag instanceof LoadRequest)) {
+            return;
+        }
+        LoadRequest request = (LoadRequest) tag;
+        targetImageView.setTag(R.id.image_load_request, null);
+        removeSizeListener(request);
+        
+        DecodeJob job = request.job;
+        if (job == null) {
+            return;
+        }
+        request.job = null;
+        job.requests.remove(request);
+        // remove() chỉ thành công khi job còn trong hàng đợi, tức là chưa chạy
+        if (job.requests.isEmpty() && decodeExecutor.remove(job)) {
+            inFlightLoads.remove(job.key);
+        }
+    }
+    
+    private static void removeSizeListener(LoadRequest request) {
+        if (request.sizeListener == null) {
+            return;
+        }
+        ViewTreeObserver observer = request.target.getViewTreeObserver();
+        if (observer.isAlive()) {
+            observer.removeOnPreDrawListener(request.sizeListener);
+        }
+        request.sizeListener = null;
+    }
+    
+    /**
+     * Gán ảnh từ cache, hoặc gắn request vào lần decode cùng key (tạo mới nếu chưa có)
+     */
+    private static void startLoad(LoadRequest request, int targetWidth, int targetHeight) {
+        String key = cacheKey(request.assetPath, targetWidth, targetHeight);
+        Bitmap cached = memoryCache.get(key);
+        if (cached != null) {
+            request.target.setTag(R.id.image_load_request, null);
+            request.target.setImageBitmap(cached);
+            return;
+        }
+        
+        // Không giữ ảnh cũ của holder đã recycle trong lúc chờ decode
+        request.target.setImageDrawable(null);
+        
+        DecodeJob job = inFlightLoads.get(key);
+        if (job == null) {
+            job = new DecodeJob(request.context, key, request.assetPath, targetWidth, targetHeight);
+            job.requests.add(request);
+            request.job = job;
+            inFlightLoads.put(key, job);
+            enqueue(job, PRIORITY_VISIBLE);
+            return;
+        }
+        
+        // Đã có lần decode cùng key (có thể là preload): chờ kết quả,
+        // đưa job lên đầu hàng đợi nếu chưa chạy
+        job.requests.add(request);
+        request.job = job;
+        if (decodeExecutor.remove(job)) {
+            enqueue(job, PRIORITY_VISIBLE);
+        }
+    }
+    
+    private static void enqueue(DecodeJob job, int priority) {
+        job.priority = priority;
+        job.sequence = ++nextSequence;
+        decodeExecutor.execute(job);
+    }
+    
+    /**
+     * Decode trước các ảnh sắp được hiển thị vào memory cache (main thread)
+     * 
+     * targetWidth/targetHeight phải bằng kích thước ImageView sẽ hiển thị ảnh để dùng chung
+     * cache key. assetPaths xếp từ gần tới xa; danh sách bị cắt theo ngân sách preload
+     * (1/PRELOAD_CACHE_FRACTION memory cache). Ảnh đã có trong cache hoặc đang decode bị bỏ qua.
+     */
+    public static void preloadImages(Context context, List<String> assetPaths, int targetWidth, int targetHeight) {
+        if (context == null || assetPaths == null || targetWidth <= 0 || targetHeight <= 0) {
+            return;
+        }
+        
+        // Ước lượng theo RGB_565 (2 byte/pixel) của thumbnail
+        long bytesPerImage = Math.max(1L, 2L * targetWidth * targetHeight);
+        long budgetBytes = memoryCache.maxSize() * 1024L / PRELOAD_CACHE_FRACTION;
+        int maxImages = (int) Math.min(assetPaths.size(), budgetBytes / bytesPerImage);
+        
+        Context appContext = context.getApplicationContext();
+        for (int i = 0; i < maxImages; i++) {
+            String assetPath = assetPaths.get(i);
+            if (assetPath == null) {
+                continue;
+            }
+            String key = cacheKey(assetPath, targetWidth, targetHeight);
+            if (inFlightLoads.containsKey(key) || memoryCache.get(key) != null) {
+                continue;
+            }
+            DecodeJob job = new DecodeJob(appContext, key, assetPath, targetWidth, targetHeight);
+            inFlightLoads.put(key, job);
+            enqueue(job, PRIORITY_PRELOAD);
+        }
+    }
+    
+    /**
+     * Bỏ các preload chưa bắt đầu và chưa có view nào chờ (ví dụ khi đổi hướng cuộn)
+     */
+    public static void cancelPreloads() {
+        Iterator<DecodeJob> iterator = inFlightLoads.values().iterator();
+        while (iterator.hasNext()) {
+            DecodeJob job = iterator.next();
+            if (job.priority == PRIORITY_PRELOAD && job.requests.isEmpty() && decodeExecutor.remove(job)) {
+                iterator.remove();
+            }
+        }
+    }
+    
+    /**
+     * Gán kết quả decode cho các view vẫn đang chờ (main thread)
+     */
+    private static void deliver(DecodeJob job, Bitmap bitmap) {
+        if (inFlightLoads.get(job.key) == job) {
+            inFlightLoads.remove(job.key);
+        }
+        for (LoadRequest request : job.requests) {
+            if (request.target.getTag(R.id.image_load_request) != request) {
+                continue;
+            }
+            request.target.setTag(R.id.image_load_request, null);
+            request.job = null;
+            if (bitmap != null) {
+                request.target.setImageBitmap(bitmap);
+            } else {
+                showPlaceholder(request.context, request.target);
+            }
+        }
+        job.requests.clear();
+    }
+    
+    /**
+     * Key của memory cache: cùng ảnh decode ở kích thước khác nhau là các entry khác nhau
+     */
+    private static String cacheKey(String assetPath, int targetWidth, int targetHeight) {
+        return assetPath + "@" + targetWidth + "x" + targetHeight;
+    }
+    
+    /**
+     * Mở stream tới dữ liệu ảnh (asset gốc, file thumbnail...), có thể được gọi nhiều lần
+     */
+    interface ImageSource {
+        InputStream open() throws IOException;
+    }
+    
+    /**
+     * Decode ảnh cho view targetWidth x targetHeight, ưu tiên thumbnail trong ThumbnailDiskCache
+     * 
+     * Thumbnail được lưu theo bucket kích thước (cạnh ngắn = bucket) nên các view có kích thước
+     * gần nhau dùng chung một file. Chưa có thumbnail thì decode asset gốc một lần ở kích thước
+     * bucket, lưu lại, rồi thu nhỏ về đúng kích thước view. Chỉ ảnh không có alpha được lưu
+     * (decode lại bằng RGB_565); ảnh lớn hơn bucket lớn nhất decode thẳng từ asset.
+     * 
+     * Key gồm số byte + kích thước gốc trong ImageManifest: bản cập nhật app thay ảnh cùng path
+     * thì key đổi, thumbnail cũ không còn được đọc và bị LRU dọn dần. Ảnh không có trong
+     * manifest không có phiên bản nội dung nên không đi qua disk cache.
+     */
+    static Bitmap decodeThumbnail(Context context, String assetPath, int targetWidth, int targetHeight) {
+        int bucket = thumbnailBucket(Math.max(targetWidth, targetHeight));
+        ImageManifest.Entry entry = ImageManifest.getInstance(context).getEntry(assetPath);
+        if (bucket == 0 || entry == null) {
+            return decodeSampledAsset(context, assetPath, targetWidth, targetHeight);
+        }
+        
+        ThumbnailDiskCache diskCache = ThumbnailDiskCache.getInstance(context);
+        String diskKey = assetPath + "@" + bucket + "#" + entry.bytes + ":" + entry.width + "x" + entry.height;
+        File file = diskCache.get(diskKey);
+        if (file != null) {
+            Bitmap bitmap = decodeSampled(() -> new FileInputStream(file),
+                    targetWidth, targetHeight, Bitmap.Config.RGB_565);
+            if (bitmap != null) {
+                return bitmap;
+            }
+            // File vừa bị xóa/hỏng: decode lại từ asset gốc bên dưới
+        }
+        
+        Bitmap thumbnail = decodeSampledAsset(context, assetPath, bucket, bucket);
+        if (thumbnail == null) {
+            return null;
+        }
+        if (thumbnail.getConfig() == Bitmap.Config.RGB_565) {
+            diskCache.put(diskKey, thumbnail);
+        }
+        return scaleToCover(thumbnail, targetWidth, targetHeight);
+    }
+    
+    /**
+     * Bucket nhỏ nhất không nhỏ hơn size, 0 nếu lớn hơn mọi bucket
+     */
+    private static int thumbnailBucket(int size) {
+        for (int bucket : THUMBNAIL_BUCKETS_PX) {
+            if (size <= bucket) {
+                return bucket;
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * Mở stream tới ảnh theo path trong assets. APK chỉ chứa ImagePack (ảnh lẻ bị loại khi đóng gói),
+     * đọc file asset lẻ chỉ là fallback khi không có pack (ví dụ chạy test không qua Gradle)
+     */
+    static InputStream openImage(Context context, String assetPath) throws IOException {
+        ByteBuffer packed = ImagePack.getInstance(context).get(assetPath);
+        return packed != null ? ImagePack.newInputStream(packed) : context.getAssets().open(assetPath);
+    }
+    
+    /**
+     * Decode ảnh trong assets, ưu tiên đọc từ ImagePack (vùng mmap dùng chung) thay vì mở từng file
+     */
+    static Bitmap decodeSampledAsset(Context context, String assetPath, int targetWidth, int targetHeight) {
+        String mimeType = isJpeg(assetPath) ? "image/jpeg" : null;
+        ByteBuffer packed = ImagePack.getInstance(context).get(assetPath);
+        if (packed != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            // ImageDecoder đọc thẳng từ vùng map, không qua stream
+            return decodeBuffer(packed, targetWidth, targetHeight,
+                    preferredConfig(mimeType, targetWidth, targetHeight));
+        }
+        
+        ImageSource source = packed != null
+                ? () -> ImagePack.newInputStream(packed)
+                : () -> context.getAssets().open(assetPath);
+        ImageManifest manifest = ImageManifest.getInstance(context);
+        if (!manifest.isAvailable()) {
+            return decodeSampled(source, targetWidth, targetHeight, null);
+        }
+        
+        ImageManifest.Entry entry = manifest.getEntry(assetPath);
+        if (entry == null) {
+            // Không có trong manifest = không có trong assets
+            return null;
+        }
+        if (entry.width <= 0 || entry.height <= 0) {
+            return decodeSampled(source, targetWidth, targetHeight, null);
+        }
+        // Kích thước đã có trong manifest: bỏ lượt inJustDecodeBounds, asset chỉ mở một lần
+        return decodeAtSize(source, entry.width, entry.height, targetWidth, targetHeight,
+                preferredConfig(mimeType, targetWidth, targetHeight));
+    }
+    
+    /**
+     * Decode ảnh vừa đủ phủ targetWidth x targetHeight (centerCrop)
+     * 
+     * - Đọc kích thước trước (inJustDecodeBounds), decoder bỏ bớt pixel theo inSampleSize
+     * - Thu nhỏ tiếp về đúng kích thước đích
+     * - JPEG (không có alpha) ở kích thước thumbnail dùng RGB_565: 2 byte/pixel thay vì 4
+     * 
+     * @param config Bitmap.Config muốn dùng, null = chọn theo định dạng và kích thước
+     */
+    static Bitmap decodeSampled(ImageSource source, int targetWidth, int targetHeight, Bitmap.Config config) {
+        try {
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inJustDecodeBounds = true;
+            try (InputStream is = source.open()) {
+                BitmapFactory.decodeStream(is, null, options);
+            }
+            if (options.outWidth <= 0 || options.outHeight <= 0) {
+                return null;
             }
             
-            // Post result back to UI thread
-            final Bitmap finalBitmap = bitmap;
-            new Handler(Looper.getMainLooper()).post(() -> {
-                if (finalBitmap != null) {
-                    targetImageView.setImageBitmap(finalBitmap);
-                } else {
-                    // Fallback: try to find placeholder drawable
-                    int placeholderId = context.getResources().getIdentifier(
-                            "ic_image_placeholder", "drawable", context.getPackageName());
-                    if (placeholderId != 0) {
-                        targetImageView.setImageResource(placeholderId);
-                    } else {
-                        // No placeholder found, set to null (will show nothing)
-                        targetImageView.setImageDrawable(null);
-                    }
+            return decodeAtSize(source, options.outWidth, options.outHeight, targetWidth, targetHeight,
+                    config != null ? config : preferredConfig(options.outMimeType, targetWidth, targetHeight));
+        } catch (IOException e) {
+            // Image not found or error reading - will use fallback
+            return null;
+        } catch (Exception e) {
+            // Other exceptions - will use fallback
+            return null;
+        }
+    }
+    
+    /**
+     * Decode ảnh đã biết kích thước gốc sourceWidth x sourceHeight (một lần mở source)
+     */
+    private static Bitmap decodeAtSize(ImageSource source, int sourceWidth, int sourceHeight,
+                                       int targetWidth, int targetHeight, Bitmap.Config config) {
+        try {
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inSampleSize = calculateInSampleSize(sourceWidth, sourceHeight, targetWidth, targetHeight);
+            options.inPreferredConfig = config;
+            
+            Bitmap bitmap;
+            try (InputStream is = source.open()) {
+                bitmap = BitmapFactory.decodeStream(is, null, options);
+            }
+            if (bitmap == null) {
+                return null;
+            }
+            return scaleToCover(bitmap, targetWidth, targetHeight);
+        } catch (IOException e) {
+            // Image not found or error reading - will use fallback
+            return null;
+        } catch (Exception e) {
+            // Other exceptions - will use fallback
+            return null;
+        }
+    }
+    
+    /**
+     * Decode ảnh nằm trong buffer (không copy) bằng ImageDecoder, cùng cách chọn kích thước
+     * và Bitmap.Config như decodeSampled
+     */
+    @RequiresApi(Build.VERSION_CODES.P)
+    private static Bitmap decodeBuffer(ByteBuffer buffer, int targetWidth, int targetHeight, Bitmap.Config config) {
+        try {
+            Bitmap bitmap = ImageDecoder.decodeBitmap(ImageDecoder.createSource(buffer), (decoder, info, source) -> {
+                // Bitmap phần mềm: còn được scale lại và nén vào ThumbnailDiskCache
+                decoder.setAllocator(ImageDecoder.ALLOCATOR_SOFTWARE);
+                decoder.setTargetSampleSize(calculateInSampleSize(
+                        info.getSize().getWidth(), info.getSize().getHeight(), targetWidth, targetHeight));
+                if (config == Bitmap.Config.RGB_565) {
+                    // Ảnh không có alpha được decode thành RGB_565
+                    decoder.setMemorySizePolicy(ImageDecoder.MEMORY_POLICY_LOW_RAM);
                 }
             });
-        });
+            return scaleToCover(bitmap, targetWidth, targetHeight);
+        } catch (IOException e) {
+            // Corrupt image data - will use fallback
+            return null;
+        } catch (Exception e) {
+            // Other exceptions - will use fallback
+            return null;
+        }
+    }
+    
+    /**
+     * Thu nhỏ bitmap vừa đủ phủ kín cả hai chiều, không phóng to
+     */
+    private static Bitmap scaleToCover(Bitmap bitmap, int targetWidth, int targetHeight) {
+        float scale = Math.max(targetWidth / (float) bitmap.getWidth(),
+                targetHeight / (float) bitmap.getHeight());
+        if (scale >= 1f) {
+            return bitmap;
+        }
+        int width = Math.max(1, Math.round(bitmap.getWidth() * scale));
+        int height = Math.max(1, Math.round(bitmap.getHeight() * scale));
+        Bitmap scaled = Bitmap.createScaledBitmap(bitmap, width, height, true);
+        if (scaled != bitmap) {
+            bitmap.recycle();
+        }
+        return scaled;
+    }
+    
+    /**
+     * inSampleSize lớn nhất (lũy thừa của 2) mà ảnh decode ra vẫn không nhỏ hơn kích thước đích
+     */
+    static int calculateInSampleSize(int sourceWidth, int sourceHeight, int targetWidth, int targetHeight) {
+        int inSampleSize = 1;
+        while (sourceWidth / (inSampleSize * 2) >= targetWidth
+                && sourceHeight / (inSampleSize * 2) >= targetHeight) {
+            inSampleSize *= 2;
+        }
+        return inSampleSize;
+    }
+    
+    private static Bitmap.Config preferredConfig(String mimeType, int targetWidth, int targetHeight) {
+        boolean opaque = "image/jpeg".equals(mimeType);
+        boolean thumbnail = Math.max(targetWidth, targetHeight) <= THUMBNAIL_MAX_SIZE_PX;
+        return opaque && thumbnail ? Bitmap.Config.RGB_565 : Bitmap.Config.ARGB_8888;
+    }
+    
+    private static boolean isJpeg(String path) {
+        String lower = path.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".jpg") || lower.endsWith(".jpeg");
+    }
+    
+    private static void showPlaceholder(Context context, ImageView targetImageView) {
+        // Fallback: try to find placeholder drawable
+        int placeholderId = context.getResources().getIdentifier(
+                "ic_image_placeholder", "drawable", context.getPackageName());
+        if (placeholderId != 0) {
+            targetImageView.setImageResource(placeholderId);
+        } else {
+            // No placeholder found, set to null (will show nothing)
+            targetImageView.setImageDrawable(null);
+        }
     }
     
     /**
@@ -143,8 +668,7 @@ public class ImageHelper {
             return null;
         }
         
-        try {
-            InputStream inputStream = context.getAssets().open(CATEGORIES_PATH + filename);
+        try (InputStream inputStream = openImage(context, CATEGORIES_PATH + filename)) {
             return BitmapFactory.decodeStream(inputStream);
         } catch (IOException e) {
             e.printStackTrace();
@@ -241,15 +765,19 @@ public class ImageHelper {
     }
     
     /**
-     * Kiểm tra ảnh có tồn tại trong assets không
+     * Kiểm tra ảnh có tồn tại trong assets không (tra ImageManifest, không mở asset)
      * 
      * @param context Application context
      * @param fullPath Path đầy đủ trong assets
      * @return true nếu tồn tại
      */
     public static boolean imageExists(Context context, String fullPath) {
+        ImageManifest manifest = ImageManifest.getInstance(context);
+        if (manifest.isAvailable()) {
+            return manifest.contains(fullPath);
+        }
         try {
-            InputStream inputStream = context.getAssets().open(fullPath);
+            InputStream inputStream = openImage(context, fullPath);
             inputStream.close();
             return true;
         } catch (IOException e) {
@@ -258,13 +786,17 @@ public class ImageHelper {
     }
     
     /**
-     * Lấy danh sách tất cả ảnh của một product
+     * Lấy danh sách tất cả ảnh của một product (tra ImageManifest, không list assets)
      * 
      * @param context Application context
      * @param productId ID của sản phẩm
      * @return Mảng tên file ảnh trong folder product
      */
     public static String[] getProductImageList(Context context, long productId) {
+        ImageManifest manifest = ImageManifest.getInstance(context);
+        if (manifest.isAvailable()) {
+            return manifest.getProductImageNames(productId);
+        }
         try {
             String productFolder = PRODUCTS_PATH + "product_" + productId;
             return context.getAssets().list(productFolder);
@@ -274,6 +806,17 @@ public class ImageHelper {
         }
     }
     
+    /**
+     * Tỉ lệ khung (width / height) của ảnh theo ImageManifest, không decode ảnh
+     * 
+     * @param context Application context
+     * @param fullPath Path đầy đủ trong assets
+     * @return width / height, 0 nếu không biết
+     */
+    public static float getImageAspectRatio(Context context, String fullPath) {
+        return ImageManifest.getInstance(context).getAspectRatio(fullPath);
+    }
+    
     /**
      * Tạo danh sách tên file cho gallery của product
      * Format mới: main.jpg, image_1.jpg, image_2.jpg, ...
@@ -294,56 +837,4 @@ public class ImageHelper {
         
         return filenames;
     }
-    
-    /**
-     * Lấy URI để dùng với Glide/Picasso
-     * Format: file:///android_asset/images/products/product_1/main.jpg
-     * 
-     * @param assetPath Path trong assets
-     * @return URI string
-     */
-    public static String getAssetUri(String assetPath) {
-        return "file:///android_asset/" + assetPath;
-    }
-    
-    /**
-     * Lấy URI của ảnh chính product để dùng với Glide
-     * 
-     * @param productId ID của sản phẩm
-     * @return URI string
-     */
-    public static String getProductMainImageUri(long productId) {
-        return getAssetUri(getProductMainImagePath(productId));
-    }
-    
-    /**
-     * Lấy URI của ảnh product để dùng với Glide
-     * 
-     * @param productId ID của sản phẩm
-     * @param imageName Tên file ảnh
-     * @return URI string
-     */
-    public static String getProductImageUri(long productId, String imageName) {
-        return getAssetUri(getProductImagePath(productId, imageName));
-    }
-    
-    /**
-     * Lấy URI của category image để dùng với Glide
-     * 
-     * @param imageName Tên file ảnh
-     * @return URI string
-     */
-    public static String getCategoryImageUri(String imageName) {
-        return getAssetUri(getCategoryImagePath(imageName));
-    }
-    
-    /**
-     * Lấy URI của banner image để dùng với Glide
-     * 
-     * @param imageName Tên file ảnh
-     * @return URI string
-     */
-    public static String getBannerImageUri(String imageName) {
-        return getAssetUri(getBannerImagePath(imageName));
-    }
 }
@@ -0,0 +1,190 @@
+package com.example.ecommerce_app.utils;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ImageManifest - Chỉ mục các ảnh trong assets/images, sinh lúc build (task generateImageManifest)
+ *
+ * File assets/images/manifest.tsv, mỗi dòng: path \t width \t height \t bytes
+ * (dòng bắt đầu bằng # là chú thích). Đọc một lần vào bộ nhớ, sau đó kiểm tra tồn tại,
+ * danh sách ảnh gallery và tỉ lệ khung ảnh chỉ là tra map, không mở/list asset nào.
+ *
+ * Khi không có manifest (ví dụ chạy test không qua Gradle), isAvailable() = false
+ * và ImageHelper quay về đọc AssetManager như trước.
+ */
+public final class ImageManifest {
+
+    private static final String TAG = "ImageManifest";
+
+    public static final String ASSET_PATH = "images/manifest.tsv";
+
+    private static final String PRODUCTS_PREFIX = "images/products/product_";
+
+    private static volatile ImageManifest INSTANCE;
+
+    /**
+     * Thông tin một ảnh trong manifest; width/height = 0 nếu lúc build không đọc được kích thước
+     */
+    public static final class Entry {
+        public final int width;
+        public final int height;
+        public final long bytes;
+
+        Entry(int width, int height, long bytes) {
+            this.width = width;
+            this.height = height;
+            this.bytes = bytes;
+        }
+    }
+
+    private final boolean available;
+    private final Map<String, Entry> entries;
+    // productId -> tên file trong folder product, main.jpg đứng đầu
+    private final Map<Long, String[]> productImages;
+
+    private ImageManifest(boolean available, Map<String, Entry> entries, Map<Long, String[]> productImages) {
+        this.available = available;
+        this.entries = entries;
+        this.productImages = productImages;
+    }
+
+    /**
+     * Lần gọi đầu đọc manifest từ assets (nên gọi qua preload() ngoài main thread lúc khởi động)
+     */
+    public static ImageManifest getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (ImageManifest.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = load(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Đọc manifest trên background thread để lần tra cứu đầu tiên trên main thread không phải chờ I/O
+     */
+    public static void preload(Context context) {
+        if (INSTANCE != null) {
+            return;
+        }
+        Context appContext = context.getApplicationContext();
+        new Thread(() -> getInstance(appContext), "image-manifest").start();
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * @param path Path đầy đủ trong assets (ví dụ: "images/products/product_1/main.jpg")
+     * @return Entry hoặc null nếu ảnh không có trong manifest
+     */
+    public Entry getEntry(String path) {
+        return path != null ? entries.get(path) : null;
+    }
+
+    public boolean contains(String path) {
+        return getEntry(path) != null;
+    }
+
+    /**
+     * @return Tên file ảnh của product (main.jpg trước, còn lại theo thứ tự chữ cái), mảng rỗng nếu không có
+     */
+    public String[] getProductImageNames(long productId) {
+        String[] names = productImages.get(productId);
+        return names != null ? names.clone() : new String[0];
+    }
+
+    /**
+     * @return width / height của ảnh, 0 nếu không biết
+     */
+    public float getAspectRatio(String path) {
+        Entry entry = getEntry(path);
+        if (entry == null || entry.width <= 0 || entry.height <= 0) {
+            return 0f;
+        }
+        return entry.width / (float) entry.height;
+    }
+
+    // ==================== LOAD ====================
+
+    private static ImageManifest load(Context context) {
+        Map<String, Entry> entries = new HashMap<>();
+        Map<Long, List<String>> products = new HashMap<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                context.getAssets().open(ASSET_PATH), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\t");
+                if (parts.length != 4) {
+                    continue;
+                }
+                String path = parts[0];
+                entries.put(path, new Entry(
+                        Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), Long.parseLong(parts[3])));
+                addProductImage(products, path);
+            }
+        } catch (FileNotFoundException e) {
+            Log.w(TAG, ASSET_PATH + " not found, falling back to AssetManager lookups");
+            return new ImageManifest(false, Collections.emptyMap(), Collections.emptyMap());
+        } catch (IOException | NumberFormatException e) {
+            Log.w(TAG, "Cannot read " + ASSET_PATH + ", falling back to AssetManager lookups", e);
+            return new ImageManifest(false, Collections.emptyMap(), Collections.emptyMap());
+        }
+
+        Map<Long, String[]> productImages = new HashMap<>(products.size() * 2);
+        for (Map.Entry<Long, List<String>> product : products.entrySet()) {
+            List<String> names = product.getValue();
+            Collections.sort(names, (a, b) -> {
+                if (a.equals(ImageHelper.MAIN_IMAGE)) return b.equals(a) ? 0 : -1;
+                if (b.equals(ImageHelper.MAIN_IMAGE)) return 1;
+                return a.compareTo(b);
+            });
+            productImages.put(product.getKey(), names.toArray(new String[0]));
+        }
+        return new ImageManifest(true, entries, productImages);
+    }
+
+    /**
+     * images/products/product_<id>/<name> -> thêm name vào danh sách của product id
+     */
+    private static void addProductImage(Map<Long, List<String>> products, String path) {
+        if (!path.startsWith(PRODUCTS_PREFIX)) {
+            return;
+        }
+        int slash = path.indexOf('/', PRODUCTS_PREFIX.length());
+        if (slash < 0 || path.indexOf('/', slash + 1) >= 0) {
+            return;
+        }
+        long productId;
+        try {
+            productId = Long.parseLong(path.substring(PRODUCTS_PREFIX.length(), slash));
+        } catch (NumberFormatException e) {
+            return;
+        }
+        List<String> names = products.get(productId);
+        if (names == null) {
+            names = new ArrayList<>();
+            products.put(productId, names);
+        }
+        names.add(path.substring(slash + 1));
+    }
+}
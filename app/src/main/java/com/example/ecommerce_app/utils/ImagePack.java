@@ -0,0 +1,172 @@
+package com.example.ecommerce_app.utils;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.util.Log;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ImagePack - Toàn bộ ảnh trong assets/images gói trong một file, đọc qua memory map
+ *
+ * File assets/images/images.pack do task Gradle packImages sinh lúc build và được lưu
+ * không nén trong APK (noCompress), nên có thể mmap thẳng vùng của nó trong APK.
+ * Định dạng (big-endian):
+ * - int magic ("IMPK"), int version, int count
+ * - count entry: short độ dài path, path UTF-8, long offset (tính từ đầu file), int length
+ * - dữ liệu ảnh nối tiếp nhau
+ *
+ * get() trả về ByteBuffer trỏ vào vùng map dùng chung, không copy byte ảnh nào.
+ * Trong APK pack là bản duy nhất của ảnh: các file ảnh lẻ bị loại khi đóng gói
+ * (ignoreAssetsPattern trong app/build.gradle.kts). Khi không có pack (test không qua Gradle),
+ * isAvailable() = false và ImageHelper đọc từng file asset trong src/main/assets.
+ */
+public final class ImagePack {
+
+    private static final String TAG = "ImagePack";
+
+    public static final String ASSET_PATH = "images/images.pack";
+
+    private static final int MAGIC = 0x494D504B; // "IMPK"
+    private static final int VERSION = 1;
+
+    private static volatile ImagePack INSTANCE;
+
+    private final ByteBuffer mapping;
+    // Path đầy đủ trong assets -> {offset, length} trong mapping
+    private final Map<String, int[]> index;
+
+    private ImagePack(ByteBuffer mapping, Map<String, int[]> index) {
+        this.mapping = mapping;
+        this.index = index;
+    }
+
+    /**
+     * Lần gọi đầu map file pack và đọc index, chỉ gọi ngoài main thread
+     */
+    public static ImagePack getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (ImagePack.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = open(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    public boolean isAvailable() {
+        return mapping != null;
+    }
+
+    /**
+     * @param path Path đầy đủ trong assets (ví dụ: "images/products/product_1/main.jpg")
+     * @return Buffer chỉ đọc chứa đúng byte của ảnh (position 0), null nếu không có trong pack.
+     *         Mỗi lần gọi trả về buffer riêng nên dùng được đồng thời từ nhiều thread.
+     */
+    public ByteBuffer get(String path) {
+        int[] location = path != null ? index.get(path) : null;
+        if (location == null) {
+            return null;
+        }
+        ByteBuffer buffer = mapping.duplicate();
+        buffer.limit(location[0] + location[1]);
+        buffer.position(location[0]);
+        return buffer.slice();
+    }
+
+    /**
+     * InputStream đọc từ buffer (không đổi position của buffer gốc), cho decoder chỉ nhận stream
+     */
+    public static InputStream newInputStream(ByteBuffer buffer) {
+        return new ByteBufferInputStream(buffer.duplicate());
+    }
+
+    // ==================== OPEN ====================
+
+    private static ImagePack open(Context context) {
+        ByteBuffer mapping;
+        try (AssetFileDescriptor afd = context.getAssets().openFd(ASSET_PATH);
+             FileInputStream in = new FileInputStream(afd.getFileDescriptor());
+             FileChannel channel = in.getChannel()) {
+            // Vùng map vẫn hợp lệ sau khi đóng channel
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, afd.getStartOffset(), afd.getLength());
+        } catch (IOException e) {
+            // openFd ném FileNotFoundException cả khi asset bị nén trong APK
+            Log.w(TAG, "Cannot map " + ASSET_PATH + ", falling back to individual assets", e);
+            return new ImagePack(null, Collections.emptyMap());
+        }
+
+        try {
+            return new ImagePack(mapping, readIndex(mapping.duplicate()));
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Corrupt " + ASSET_PATH + ", falling back to individual assets", e);
+            return new ImagePack(null, Collections.emptyMap());
+        }
+    }
+
+    private static Map<String, int[]> readIndex(ByteBuffer header) {
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IllegalStateException("Unsupported pack header");
+        }
+        int count = header.getInt();
+        Map<String, int[]> index = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            byte[] path = new byte[header.getShort() & 0xFFFF];
+            header.get(path);
+            long offset = header.getLong();
+            int length = header.getInt();
+            if (offset < 0 || length < 0 || offset + length > header.capacity()) {
+                throw new IllegalStateException("Entry out of bounds");
+            }
+            index.put(new String(path, StandardCharsets.UTF_8), new int[]{(int) offset, length});
+        }
+        return index;
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
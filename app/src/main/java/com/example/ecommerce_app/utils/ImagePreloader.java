@@ -0,0 +1,126 @@
+package com.example.ecommerce_app.utils;
+
+import android.content.Context;
+import android.view.View;
+import android.widget.ImageView;
+
+import androidx.annotation.IdRes;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ImagePreloader - Decode trước ảnh của các hàng sắp cuộn tới vào memory cache
+ *
+ * - Cuộn chậm: preload BASE_ROWS hàng phía trước; cuộn nhanh (fling): MAX_ROWS hàng
+ * - Đổi hướng cuộn: bỏ các preload chưa chạy của hướng cũ
+ * - Kích thước decode lấy từ ImageView của item đang hiển thị, nên trùng cache key
+ *   với lúc onBindViewHolder và card mới cuộn vào có ảnh ngay frame đầu
+ * - Số ảnh bị giới hạn theo ngân sách preload của ImageHelper
+ */
+public class ImagePreloader extends RecyclerView.OnScrollListener {
+
+    public interface ImagePathProvider {
+        /**
+         * Asset path của ảnh item tại position, null nếu item không có ảnh
+         */
+        String getImagePath(int position);
+    }
+
+    private static final int BASE_ROWS = 2;
+    private static final int MAX_ROWS = 6;
+    // Cuộn hơn 1/FLING_ROW_FRACTION hàng mỗi frame (~15 hàng/giây ở 60fps) thì coi là fling
+    private static final int FLING_ROW_FRACTION = 4;
+
+    private final Context context;
+    private final LinearLayoutManager layoutManager;
+    private final int imageViewId;
+    private final ImagePathProvider provider;
+
+    // Hướng cuộn gần nhất (1 = xuống, -1 = lên) và vị trí xa nhất đã preload theo hướng đó
+    private int direction;
+    private int preloadedUntil = RecyclerView.NO_POSITION;
+
+    public ImagePreloader(@NonNull Context context,
+                          @NonNull LinearLayoutManager layoutManager,
+                          @IdRes int imageViewId,
+                          @NonNull ImagePathProvider provider) {
+        this.context = context.getApplicationContext();
+        this.layoutManager = layoutManager;
+        this.imageViewId = imageViewId;
+        this.provider = provider;
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        int delta = layoutManager.getOrientation() == RecyclerView.VERTICAL ? dy : dx;
+        if (delta == 0) {
+            return;
+        }
+
+        int newDirection = delta > 0 ? 1 : -1;
+        if (newDirection != direction) {
+            ImageHelper.cancelPreloads();
+            direction = newDirection;
+            preloadedUntil = RecyclerView.NO_POSITION;
+        }
+
+        int firstVisible = layoutManager.findFirstVisibleItemPosition();
+        int lastVisible = layoutManager.findLastVisibleItemPosition();
+        if (firstVisible == RecyclerView.NO_POSITION || lastVisible == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        // Item ở mép đang cuộn tới: cho biết kích thước ảnh và chiều cao một hàng
+        View edgeItem = layoutManager.findViewByPosition(direction > 0 ? lastVisible : firstVisible);
+        ImageView imageView = edgeItem != null ? edgeItem.findViewById(imageViewId) : null;
+        if (imageView == null || imageView.getWidth() <= 0 || imageView.getHeight() <= 0) {
+            return;
+        }
+
+        int rowSize = layoutManager.getOrientation() == RecyclerView.VERTICAL
+                ? edgeItem.getHeight() : edgeItem.getWidth();
+        int rows = Math.abs(delta) * FLING_ROW_FRACTION >= rowSize ? MAX_ROWS : BASE_ROWS;
+        int count = rows * spanCount();
+
+        List<String> assetPaths = new ArrayList<>(count);
+        if (direction > 0) {
+            int end = Math.min(layoutManager.getItemCount() - 1, lastVisible + count);
+            // preloadedUntil quá xa (danh sách vừa đổi, vừa scrollToPosition): tính lại
+            int start = preloadedUntil == RecyclerView.NO_POSITION || preloadedUntil > end
+                    ? lastVisible + 1
+                    : Math.max(lastVisible + 1, preloadedUntil + 1);
+            for (int position = start; position <= end; position++) {
+                assetPaths.add(provider.getImagePath(position));
+            }
+            if (start <= end) {
+                preloadedUntil = end;
+            }
+        } else {
+            int end = Math.max(0, firstVisible - count);
+            int start = preloadedUntil == RecyclerView.NO_POSITION || preloadedUntil < end
+                    ? firstVisible - 1
+                    : Math.min(firstVisible - 1, preloadedUntil - 1);
+            for (int position = start; position >= end; position--) {
+                assetPaths.add(provider.getImagePath(position));
+            }
+            if (start >= end) {
+                preloadedUntil = end;
+            }
+        }
+
+        if (!assetPaths.isEmpty()) {
+            ImageHelper.preloadImages(context, assetPaths, imageView.getWidth(), imageView.getHeight());
+        }
+    }
+
+    private int spanCount() {
+        return layoutManager instanceof GridLayoutManager
+                ? ((GridLayoutManager) layoutManager).getSpanCount()
+                : 1;
+    }
+}
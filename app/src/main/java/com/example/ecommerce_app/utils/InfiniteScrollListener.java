@@ -0,0 +1,51 @@
+package com.example.ecommerce_app.utils;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * InfiniteScrollListener - Gọi load trang tiếp theo khi cuộn gần cuối danh sách
+ *
+ * prefetchDistance: số item còn lại phía dưới item cuối đang hiển thị
+ * thì bắt đầu load trang sau (dùng được cho cả GridLayoutManager).
+ */
+public class InfiniteScrollListener extends RecyclerView.OnScrollListener {
+
+    public interface OnLoadMoreListener {
+        void onLoadMore();
+    }
+
+    private final LinearLayoutManager layoutManager;
+    private final int prefetchDistance;
+    private final OnLoadMoreListener listener;
+
+    public InfiniteScrollListener(@NonNull LinearLayoutManager layoutManager,
+                                  int prefetchDistance,
+                                  @NonNull OnLoadMoreListener listener) {
+        this.layoutManager = layoutManager;
+        this.prefetchDistance = Math.max(0, prefetchDistance);
+        this.listener = listener;
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        // Chỉ kiểm tra khi cuộn xuống
+        if (dy <= 0) {
+            return;
+        }
+        checkLoadMore();
+    }
+
+    /**
+     * Kiểm tra ngay (ví dụ sau khi trang đầu quá ngắn không lấp đầy màn hình)
+     */
+    public void checkLoadMore() {
+        int totalItemCount = layoutManager.getItemCount();
+        int lastVisibleItem = layoutManager.findLastVisibleItemPosition();
+
+        if (totalItemCount > 0 && lastVisibleItem + prefetchDistance >= totalItemCount - 1) {
+            listener.onLoadMore();
+        }
+    }
+}
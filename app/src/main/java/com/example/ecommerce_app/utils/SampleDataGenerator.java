@@ -1,9 +1,6 @@
 package com.example.ecommerce_app.utils;
 
-import com.example.ecommerce_app.data.dao.CategoryDao;
-import com.example.ecommerce_app.data.dao.ProductDao;
-import com.example.ecommerce_app.data.dao.ReviewDao;
-import com.example.ecommerce_app.data.dao.UserDao;
+import com.example.ecommerce_app.data.database.AppDatabase;
 import com.example.ecommerce_app.data.entities.Category;
 import com.example.ecommerce_app.data.entities.Product;
 import com.example.ecommerce_app.data.entities.Review;
@@ -12,58 +9,75 @@ import com.example.ecommerce_app.data.entities.User;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * SampleDataGenerator - Tạo dữ liệu mẫu cho database
  * 
- * Được gọi khi database được tạo lần đầu tiên
- * Tạo users, categories, products, reviews mẫu
+ * Tạo users, categories, products, reviews mẫu. Dùng cho:
+ * - SeedDatabaseGenerator (androidTest): build file database đóng gói sẵn trong assets
+ * - AppDatabase: seed lúc runtime nếu bản build không có file đó
  */
 public class SampleDataGenerator {
     
     /**
-     * Populate database với dữ liệu mẫu
+     * Toàn bộ dữ liệu mẫu, tạo trước khi ghi để BCrypt không chạy trong transaction
      */
-    public static void populateDatabase(UserDao userDao, CategoryDao categoryDao, 
-                                       ProductDao productDao, ReviewDao reviewDao) {
-        
-        // 1. Tạo users mẫu
-        List<User> users = createSampleUsers();
-        for (User user : users) {
-            userDao.insert(user);
-        }
-        
-        // 2. Tạo categories
-        List<Category> categories = createSampleCategories();
-        for (Category category : categories) {
-            categoryDao.insert(category);
-        }
-        
-        // 3. Tạo products
-        List<Product> products = createSampleProducts();
-        for (Product product : products) {
-            productDao.insert(product);
-        }
-        
-        // 4. Tạo reviews
-        List<Review> reviews = createSampleReviews();
-        for (Review review : reviews) {
-            reviewDao.insert(review);
+    public static class SampleData {
+        public final List<User> users;
+        public final List<Category> categories;
+        public final List<Product> products;
+        public final List<Review> reviews;
+        
+        SampleData(List<User> users, List<Category> categories,
+                   List<Product> products, List<Review> reviews) {
+            this.users = users;
+            this.categories = categories;
+            this.products = products;
+            this.reviews = reviews;
         }
     }
     
+    /**
+     * Tạo dữ liệu mẫu (tốn CPU vì hash mật khẩu, không đụng tới database)
+     */
+    public static SampleData createSampleData() {
+        return new SampleData(
+            createSampleUsers(),
+            createSampleCategories(),
+            createSampleProducts(),
+            createSampleReviews()
+        );
+    }
+    
+    /**
+     * Ghi dữ liệu mẫu vào database trống trong một transaction
+     * ID được sinh theo thứ tự insert (users 1-5, categories 1-5, products 1-10)
+     */
+    public static void populateDatabase(AppDatabase database, SampleData data) {
+        database.runInTransaction(() -> {
+            database.userDao().insertAll(data.users);
+            database.categoryDao().insertAll(data.categories);
+            database.productDao().insertAll(data.products);
+            database.reviewDao().insertAll(data.reviews);
+        });
+    }
+    
     /**
      * Tạo users mẫu
      */
     private static List<User> createSampleUsers() {
         List<User> users = new ArrayList<>();
+        // Hash mỗi mật khẩu một lần (BCrypt cost 12 tốn vài trăm ms mỗi lần)
+        Map<String, String> passwordHashes = new HashMap<>();
         
         // Admin user
         User admin = new User();
         admin.setUsername("admin");
         admin.setEmail("admin@ecommerce.com");
-        admin.setPasswordHash(PasswordHasher.hashPassword("Admin@123"));
+        admin.setPasswordHash(hashPassword(passwordHashes, "Admin@123"));
         admin.setFullName("Quản Trị Viên");
         admin.setPhone("0123456789");
         admin.setAddress("123 Nguyễn Huệ, Q1, TP.HCM");
@@ -74,7 +88,7 @@ public class SampleDataGenerator {
         User user1 = new User();
         user1.setUsername("user1");
         user1.setEmail("user1@example.com");
-        user1.setPasswordHash(PasswordHasher.hashPassword("User@123"));
+        user1.setPasswordHash(hashPassword(passwordHashes, "User@123"));
         user1.setFullName("Nguyễn Văn A");
         user1.setPhone("0987654321");
         user1.setAddress("456 Lê Lợi, Q1, TP.HCM");
@@ -85,16 +99,45 @@ public class SampleDataGenerator {
         User user2 = new User();
         user2.setUsername("user2");
         user2.setEmail("user2@example.com");
-        user2.setPasswordHash(PasswordHasher.hashPassword("User@123"));
+        user2.setPasswordHash(hashPassword(passwordHashes, "User@123"));
         user2.setFullName("Trần Thị B");
         user2.setPhone("0912345678");
         user2.setAddress("789 Hai Bà Trưng, Q3, TP.HCM");
         user2.setRole("USER");
         users.add(user2);
         
+        User user3 = new User();
+        user3.setUsername("user3");
+        user3.setEmail("user3@example.com");
+        user3.setPasswordHash(hashPassword(passwordHashes, "User@123"));
+        user3.setFullName("Lê Văn C");
+        user3.setPhone("0934567890");
+        user3.setAddress("12 Võ Văn Tần, Q3, TP.HCM");
+        user3.setRole("USER");
+        users.add(user3);
+        
+        User user4 = new User();
+        user4.setUsername("user4");
+        user4.setEmail("user4@example.com");
+        user4.setPasswordHash(hashPassword(passwordHashes, "User@123"));
+        user4.setFullName("Phạm Thị D");
+        user4.setPhone("0945678901");
+        user4.setAddress("34 Cách Mạng Tháng 8, Q10, TP.HCM");
+        user4.setRole("USER");
+        users.add(user4);
+        
         return users;
     }
     
+    private static String hashPassword(Map<String, String> passwordHashes, String password) {
+        String hash = passwordHashes.get(password);
+        if (hash == null) {
+            hash = PasswordHasher.hashPassword(password);
+            passwordHashes.put(password, hash);
+        }
+        return hash;
+    }
+    
     /**
      * Tạo categories mẫu
      */
@@ -309,7 +352,7 @@ public class SampleDataGenerator {
         reviews.add(r1a);
         
         Review r1b = new Review();
-        r1b.setUserId(2); // user1
+        r1b.setUserId(4); // user3
         r1b.setProductId(1);
         r1b.setRating(5);
         r1b.setComment("Tuyệt vời cho dự án IoT\n\nĐã dùng để làm hệ thống tưới cây tự động, hoạt động rất tốt. Pin nguồn ổn định, không bị reset bất thường.");
@@ -318,7 +361,7 @@ public class SampleDataGenerator {
         reviews.add(r1b);
         
         Review r1c = new Review();
-        r1c.setUserId(3); // user2
+        r1c.setUserId(5); // user4
         r1c.setProductId(1);
         r1c.setRating(4);
         r1c.setComment("Good value for money\n\nThe board works great, good build quality. Only minor issue is the USB cable is a bit short, but that's not a big deal.");
@@ -355,7 +398,7 @@ public class SampleDataGenerator {
         reviews.add(r3b);
         
         Review r3c = new Review();
-        r3c.setUserId(2); // user1
+        r3c.setUserId(4); // user3
         r3c.setProductId(2);
         r3c.setRating(5);
         r3c.setComment("Best MCU for wireless projects!\n\nBuilt-in WiFi and Bluetooth make it super convenient. No need for additional modules. Great documentation and community support.");
@@ -0,0 +1,94 @@
+package com.example.ecommerce_app.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SearchTextNormalizer - Chuẩn hóa text cho full-text search
+ *
+ * Bỏ dấu tiếng Việt (kể cả "đ" -> "d"), chuyển về chữ thường
+ * để "cam bien" khớp với "Cảm Biến".
+ * Dùng cho cả dữ liệu được index (products_fts) và keyword người dùng nhập.
+ */
+public class SearchTextNormalizer {
+
+    /**
+     * Bỏ dấu và chuyển về chữ thường
+     *
+     * @param text Text gốc (có thể null)
+     * @return Text đã chuẩn hóa, "" nếu null
+     */
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+
+        // NFD tách ký tự có dấu thành ký tự gốc + các dấu (combining marks)
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder builder = new StringBuilder(decomposed.length());
+
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            // "đ"/"Đ" không tách được bằng NFD
+            if (c == 'đ' || c == 'Đ') {
+                c = 'd';
+            }
+            builder.append(Character.toLowerCase(c));
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Tách keyword thành các token [a-z0-9] đã chuẩn hóa
+     */
+    public static List<String> tokenize(String keyword) {
+        List<String> tokens = new ArrayList<>();
+        String folded = fold(keyword);
+
+        for (String token : folded.split("[^a-z0-9]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Tạo biểu thức MATCH cho FTS4 từ keyword người dùng
+     * Mỗi token là một prefix query (token*), các token nối với nhau bằng AND ngầm định
+     *
+     * Ví dụ: "Cảm biến" -> "cam* bien*"
+     *
+     * @return Biểu thức MATCH, "" nếu keyword không có token hợp lệ
+     */
+    public static String toMatchQuery(String keyword) {
+        return toMatchQuery(keyword, null);
+    }
+
+    /**
+     * Tạo biểu thức MATCH chỉ tìm trên một cột của FTS table
+     *
+     * Ví dụ: ("Cảm biến", "name") -> "name:cam* name:bien*"
+     */
+    public static String toMatchQuery(String keyword, String column) {
+        StringBuilder query = new StringBuilder();
+
+        for (String token : tokenize(keyword)) {
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            if (column != null) {
+                query.append(column).append(':');
+            }
+            query.append(token).append('*');
+        }
+
+        return query.toString();
+    }
+}
@@ -0,0 +1,552 @@
+package com.example.ecommerce_app.utils;
+
+import com.example.ecommerce_app.data.database.AppDatabase;
+import com.example.ecommerce_app.data.entities.CartItem;
+import com.example.ecommerce_app.data.entities.Category;
+import com.example.ecommerce_app.data.entities.Favorite;
+import com.example.ecommerce_app.data.entities.Order;
+import com.example.ecommerce_app.data.entities.OrderItem;
+import com.example.ecommerce_app.data.entities.Product;
+import com.example.ecommerce_app.data.entities.Review;
+import com.example.ecommerce_app.data.entities.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * SyntheticDataGenerator - Sinh dữ liệu lớn cho benchmark / load test
+ *
+ * Kích thước theo scaleFactor (1.0 = 10k products, 2k users, 6k orders):
+ * 1 / 10 / 100 cho bộ dữ liệu 10k / 100k / 1M products.
+ *
+ * - Mức độ phổ biến của sản phẩm theo phân phối Zipf (quyết định order items,
+ *   số reviews, favorites, giỏ hàng), số đơn hàng của user cũng lệch theo Zipf
+ * - Tên người, địa chỉ, tên sản phẩm, bình luận tiếng Việt
+ * - Cùng seed + endTime => cùng dữ liệu (mỗi bảng dùng Random riêng sinh từ seed)
+ * - Ghi theo lô BATCH_SIZE dòng, mỗi lô một transaction
+ *
+ * Database phải trống: ID được gán sẵn từ 1 để các khóa ngoại khớp mà không cần đọc lại.
+ */
+public class SyntheticDataGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final double PRODUCT_POPULARITY_EXPONENT = 1.0;
+    private static final double USER_ACTIVITY_EXPONENT = 0.8;
+
+    private static final long DAY_MS = TimeUnit.DAYS.toMillis(1);
+
+    // Mọi user sinh ra dùng chung mật khẩu, chỉ hash một lần
+    public static final String SYNTHETIC_PASSWORD = "User@123";
+
+    /**
+     * Cấu hình sinh dữ liệu
+     */
+    public static class Config {
+        public final double scaleFactor;
+        public final long seed;
+        // Mốc thời gian mới nhất của dữ liệu (epoch ms)
+        public final long endTime;
+
+        public Config(double scaleFactor, long seed, long endTime) {
+            if (scaleFactor <= 0) {
+                throw new IllegalArgumentException("scaleFactor must be positive: " + scaleFactor);
+            }
+            this.scaleFactor = scaleFactor;
+            this.seed = seed;
+            this.endTime = endTime;
+        }
+
+        /**
+         * endTime = đầu ngày hôm nay (UTC): chạy trong cùng ngày cho cùng dữ liệu
+         */
+        public Config(double scaleFactor, long seed) {
+            this(scaleFactor, seed, startOfTodayUtc());
+        }
+
+        public int productCount() {
+            return Math.max(10, (int) Math.round(10_000 * scaleFactor));
+        }
+
+        public int userCount() {
+            return Math.max(10, (int) Math.round(2_000 * scaleFactor));
+        }
+
+        public int categoryCount() {
+            return 50;
+        }
+
+        public int orderCount() {
+            return userCount() * 3;
+        }
+
+        // Trung bình 2 reviews / sản phẩm, phân bố lệch theo độ phổ biến
+        public int targetReviewCount() {
+            return productCount() * 2;
+        }
+    }
+
+    /**
+     * Số dòng đã ghi vào từng bảng
+     */
+    public static class Result {
+        public int users;
+        public int categories;
+        public int products;
+        public int orders;
+        public int orderItems;
+        public int reviews;
+        public int favorites;
+        public int cartItems;
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US,
+                    "users=%d categories=%d products=%d orders=%d orderItems=%d reviews=%d favorites=%d cartItems=%d",
+                    users, categories, products, orders, orderItems, reviews, favorites, cartItems);
+        }
+    }
+
+    // ==================== WORD LISTS ====================
+
+    private static final String[] FAMILY_NAMES = {
+        "Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan", "Vũ", "Võ", "Đặng",
+        "Bùi", "Đỗ", "Hồ", "Ngô", "Dương", "Lý"
+    };
+    private static final String[] MIDDLE_NAMES = {
+        "Văn", "Thị", "Hữu", "Đức", "Minh", "Ngọc", "Thanh", "Quốc", "Gia", "Thu"
+    };
+    private static final String[] GIVEN_NAMES = {
+        "An", "Bình", "Chi", "Dũng", "Hà", "Hải", "Hạnh", "Hòa", "Hùng", "Hương",
+        "Khánh", "Lan", "Linh", "Long", "Mai", "Nam", "Nga", "Phong", "Phúc", "Quân",
+        "Quỳnh", "Sơn", "Tâm", "Thảo", "Trang", "Trung", "Tuấn", "Vy", "Yến", "Đạt"
+    };
+    private static final String[] STREETS = {
+        "Nguyễn Huệ", "Lê Lợi", "Hai Bà Trưng", "Trần Hưng Đạo", "Võ Văn Tần", "Cách Mạng Tháng 8",
+        "Điện Biên Phủ", "Nguyễn Thị Minh Khai", "Lý Thường Kiệt", "Phan Đình Phùng"
+    };
+    private static final String[] DISTRICTS = {
+        "Q1, TP.HCM", "Q3, TP.HCM", "Q10, TP.HCM", "Bình Thạnh, TP.HCM", "Thủ Đức, TP.HCM",
+        "Hoàn Kiếm, Hà Nội", "Cầu Giấy, Hà Nội", "Đống Đa, Hà Nội", "Hải Châu, Đà Nẵng", "Ninh Kiều, Cần Thơ"
+    };
+    private static final String[] CATEGORY_TYPES = {
+        "Vi Điều Khiển", "Cảm Biến", "Module Truyền Thông", "Linh Kiện Điện Tử", "Module Hiển Thị",
+        "Động Cơ", "Nguồn & Pin", "Dụng Cụ", "Robot & Kit", "Phụ Kiện"
+    };
+    private static final String[] PRODUCT_TYPES = {
+        "Cảm biến nhiệt độ", "Cảm biến độ ẩm", "Cảm biến khoảng cách", "Cảm biến ánh sáng",
+        "Module WiFi", "Module Bluetooth", "Module RF", "Board phát triển", "Màn hình OLED",
+        "Màn hình LCD", "Động cơ servo", "Động cơ bước", "Relay", "Mạch nguồn", "Mạch sạc pin"
+    };
+    private static final String[] PRODUCT_VARIANTS = {
+        "", " chính hãng", " bản nâng cấp", " mini", " Pro", " V2"
+    };
+    private static final String[] BRANDS = {
+        "Generic", "Arduino", "Espressif", "Adafruit", "SparkFun", "Waveshare",
+        "DFRobot", "Seeed", "Nordic", "STMicro", "TowerPro", "Texas Instruments"
+    };
+    private static final String[] ORDER_STATUSES = {
+        "DELIVERED", "SHIPPED", "PROCESSING", "PENDING", "CANCELLED"
+    };
+    // Tỉ lệ tích lũy tương ứng ORDER_STATUSES
+    private static final double[] ORDER_STATUS_CDF = {0.60, 0.70, 0.78, 0.90, 1.0};
+    // Rating lệch về 4-5 sao, tỉ lệ tích lũy cho 1..5 sao
+    private static final double[] RATING_CDF = {0.09, 0.15, 0.27, 0.55, 1.0};
+    private static final String[][] COMMENTS = {
+        {"Hàng lỗi, không dùng được", "Rất thất vọng, giao sai hàng"},
+        {"Chất lượng kém so với giá", "Dùng được vài ngày thì hỏng"},
+        {"Tạm ổn, đóng gói bình thường", "Đúng mô tả nhưng giao hơi chậm"},
+        {"Sản phẩm tốt, giao nhanh", "Chạy ổn định, giá hợp lý"},
+        {"Tuyệt vời, sẽ ủng hộ tiếp!", "Hàng chính hãng, chất lượng rất tốt"}
+    };
+
+    // ==================== ENTRY POINT ====================
+
+    /**
+     * Sinh và ghi toàn bộ dữ liệu vào database trống
+     */
+    public static Result populate(AppDatabase database, Config config) {
+        Result result = new Result();
+
+        int productCount = config.productCount();
+        int userCount = config.userCount();
+
+        // Hạng phổ biến -> product id / user id (hoán vị ngẫu nhiên để phổ biến không trùng thứ tự id)
+        int[] productByRank = shuffledIds(productCount, random(config, 1));
+        int[] userByRank = shuffledIds(userCount, random(config, 2));
+        ZipfDistribution productPopularity = new ZipfDistribution(productCount, PRODUCT_POPULARITY_EXPONENT);
+        ZipfDistribution userActivity = new ZipfDistribution(userCount, USER_ACTIVITY_EXPONENT);
+
+        result.users = insertUsers(database, config);
+        result.categories = insertCategories(database, config);
+        double[] prices = new double[productCount + 1];
+        result.products = insertProducts(database, config, prices);
+        insertOrders(database, config, result, prices, productPopularity, productByRank,
+                userActivity, userByRank);
+        result.reviews = insertReviews(database, config, productPopularity, productByRank);
+        result.favorites = insertFavorites(database, config, productPopularity, productByRank);
+        result.cartItems = insertCartItems(database, config, productPopularity, productByRank);
+        return result;
+    }
+
+    // ==================== TABLES ====================
+
+    private static int insertUsers(AppDatabase database, Config config) {
+        Random random = random(config, 10);
+        String passwordHash = PasswordHasher.hashPassword(SYNTHETIC_PASSWORD);
+        BatchWriter<User> writer = new BatchWriter<>(database, batch -> database.userDao().insertAll(batch));
+
+        for (int id = 1; id <= config.userCount(); id++) {
+            User user = new User();
+            user.setId(id);
+            user.setUsername(String.format(Locale.US, "khachhang%07d", id));
+            user.setEmail(String.format(Locale.US, "khachhang%07d@example.com", id));
+            user.setPasswordHash(passwordHash);
+            user.setFullName(pick(FAMILY_NAMES, random) + " " + pick(MIDDLE_NAMES, random)
+                    + " " + pick(GIVEN_NAMES, random));
+            user.setPhone(String.format(Locale.US, "09%08d", random.nextInt(100_000_000)));
+            user.setAddress((1 + random.nextInt(300)) + " " + pick(STREETS, random)
+                    + ", " + pick(DISTRICTS, random));
+            user.setRole("USER");
+            Date createdAt = timeBefore(config.endTime, 730, random);
+            user.setCreatedAt(createdAt);
+            user.setUpdatedAt(createdAt);
+            writer.add(user);
+        }
+        return writer.finish();
+    }
+
+    private static int insertCategories(AppDatabase database, Config config) {
+        BatchWriter<Category> writer = new BatchWriter<>(database,
+                batch -> database.categoryDao().insertAll(batch));
+
+        for (int id = 1; id <= config.categoryCount(); id++) {
+            String type = CATEGORY_TYPES[(id - 1) % CATEGORY_TYPES.length];
+            int series = (id - 1) / CATEGORY_TYPES.length + 1;
+
+            Category category = new Category();
+            category.setId(id);
+            category.setName(series == 1 ? type : type + " " + series);
+            category.setDescription("Danh mục " + type.toLowerCase(Locale.ROOT));
+            category.setImageFilename("category_" + id + ".jpg");
+            category.setCreatedAt(new Date(config.endTime - 730 * DAY_MS));
+            writer.add(category);
+        }
+        return writer.finish();
+    }
+
+    private static int insertProducts(AppDatabase database, Config config, double[] prices) {
+        Random random = random(config, 11);
+        ZipfDistribution brandPopularity = new ZipfDistribution(BRANDS.length, 1.0);
+        BatchWriter<Product> writer = new BatchWriter<>(database,
+                batch -> database.productDao().insertAll(batch));
+
+        for (int id = 1; id <= config.productCount(); id++) {
+            String brand = BRANDS[brandPopularity.sample(random)];
+            // Giá log-normal quanh ~36.000đ, làm tròn nghìn đồng
+            double price = Math.max(1000, Math.round(Math.exp(10.5 + random.nextGaussian() * 0.9) / 1000) * 1000.0);
+            prices[id] = price;
+
+            Product product = new Product();
+            product.setId(id);
+            product.setName(pick(PRODUCT_TYPES, random) + " " + brand.substring(0, 2).toUpperCase(Locale.ROOT)
+                    + "-" + (100 + random.nextInt(900)) + pick(PRODUCT_VARIANTS, random));
+            product.setDescription("Linh kiện " + brand + ", bảo hành 6 tháng, hỗ trợ kỹ thuật miễn phí");
+            product.setPrice(price);
+            product.setStock(random.nextInt(10) == 0 ? 0 : random.nextInt(500));
+            product.setCategoryId(1 + random.nextInt(config.categoryCount()));
+            product.setSku(String.format(Locale.US, "SYN-%08d", id));
+            product.setBrand(brand);
+            product.setImageFilenames(Collections.singletonList("main.jpg"));
+            product.setSpecifications("{\"voltage\":\"" + (random.nextBoolean() ? "3.3V" : "5V") + "\"}");
+            product.setActive(random.nextInt(20) != 0);
+            Date createdAt = timeBefore(config.endTime, 730, random);
+            product.setCreatedAt(createdAt);
+            product.setUpdatedAt(createdAt);
+            writer.add(product);
+        }
+        return writer.finish();
+    }
+
+    /**
+     * Orders và order items của cùng lô được ghi trong cùng transaction (khóa ngoại)
+     */
+    private static void insertOrders(AppDatabase database, Config config, Result result, double[] prices,
+                                     ZipfDistribution productPopularity, int[] productByRank,
+                                     ZipfDistribution userActivity, int[] userByRank) {
+        Random random = random(config, 12);
+        List<Order> orders = new ArrayList<>(BATCH_SIZE);
+        List<OrderItem> items = new ArrayList<>(BATCH_SIZE * 3);
+        long orderItemId = 1;
+
+        for (int id = 1; id <= config.orderCount(); id++) {
+            Order order = new Order();
+            order.setId(id);
+            order.setUserId(userByRank[userActivity.sample(random)]);
+            order.setOrderNumber(String.format(Locale.US, "SYN-ORD-%09d", id));
+            order.setStatus(ORDER_STATUSES[pickCumulative(ORDER_STATUS_CDF, random)]);
+            order.setShippingAddress((1 + random.nextInt(300)) + " " + pick(STREETS, random)
+                    + ", " + pick(DISTRICTS, random));
+            order.setShippingPhone(String.format(Locale.US, "09%08d", random.nextInt(100_000_000)));
+            Date createdAt = timeBefore(config.endTime, 365, random);
+            order.setCreatedAt(createdAt);
+            order.setUpdatedAt(createdAt);
+
+            // 1 + hình học: phần lớn đơn có 1-3 sản phẩm
+            int lineCount = 1 + Math.min(7, (int) (-Math.log(1 - random.nextDouble()) * 1.5));
+            Set<Integer> productsInOrder = new HashSet<>();
+            double total = 0;
+            for (int line = 0; line < lineCount; line++) {
+                int productId = productByRank[productPopularity.sample(random)];
+                if (!productsInOrder.add(productId)) {
+                    continue;
+                }
+                int quantity = 1 + (random.nextInt(4) == 0 ? random.nextInt(5) : 0);
+
+                OrderItem item = new OrderItem();
+                item.setId(orderItemId++);
+                item.setOrderId(id);
+                item.setProductId(productId);
+                item.setQuantity(quantity);
+                item.setPrice(prices[productId]);
+                item.setSubtotal(prices[productId] * quantity);
+                items.add(item);
+                total += item.getSubtotal();
+            }
+            order.setTotalAmount(total);
+            orders.add(order);
+
+            if (orders.size() >= BATCH_SIZE) {
+                result.orderItems += writeOrders(database, orders, items);
+                result.orders += orders.size();
+                orders.clear();
+                items.clear();
+            }
+        }
+        if (!orders.isEmpty()) {
+            result.orderItems += writeOrders(database, orders, items);
+            result.orders += orders.size();
+        }
+    }
+
+    private static int writeOrders(AppDatabase database, List<Order> orders, List<OrderItem> items) {
+        database.runInTransaction(() -> {
+            database.orderDao().insertAll(orders);
+            database.orderItemDao().insertAll(items);
+        });
+        return items.size();
+    }
+
+    /**
+     * Số reviews của sản phẩm tỉ lệ với độ phổ biến (Zipf), mỗi user review một sản phẩm tối đa một lần
+     */
+    private static int insertReviews(AppDatabase database, Config config,
+                                     ZipfDistribution productPopularity, int[] productByRank) {
+        Random random = random(config, 13);
+        int userCount = config.userCount();
+        int userStep = coprimeStep(userCount);
+        BatchWriter<Review> writer = new BatchWriter<>(database,
+                batch -> database.reviewDao().insertAll(batch));
+
+        long reviewId = 1;
+        for (int rank = 0; rank < productByRank.length; rank++) {
+            double expected = config.targetReviewCount() * productPopularity.probability(rank);
+            int count = (int) expected + (random.nextDouble() < expected - (int) expected ? 1 : 0);
+            count = Math.min(count, userCount);
+
+            // (firstUser + j * userStep) mod userCount khác nhau với mọi j < userCount
+            int firstUser = random.nextInt(userCount);
+            for (int j = 0; j < count; j++) {
+                int rating = 1 + pickCumulative(RATING_CDF, random);
+
+                Review review = new Review();
+                review.setId(reviewId++);
+                review.setUserId(1 + (int) ((firstUser + (long) j * userStep) % userCount));
+                review.setProductId(productByRank[rank]);
+                review.setRating(rating);
+                review.setComment(pick(COMMENTS[rating - 1], random));
+                Date createdAt = timeBefore(config.endTime, 365, random);
+                review.setCreatedAt(createdAt);
+                review.setUpdatedAt(createdAt);
+                writer.add(review);
+            }
+        }
+        return writer.finish();
+    }
+
+    private static int insertFavorites(AppDatabase database, Config config,
+                                       ZipfDistribution productPopularity, int[] productByRank) {
+        Random random = random(config, 14);
+        BatchWriter<Favorite> writer = new BatchWriter<>(database,
+                batch -> database.favoriteDao().insertAll(batch));
+
+        long favoriteId = 1;
+        for (int userId = 1; userId <= config.userCount(); userId++) {
+            // Trung bình 4, vài user lưu rất nhiều
+            int count = Math.min(50, (int) (-Math.log(1 - random.nextDouble()) * 4));
+            Set<Integer> favoriteProducts = new HashSet<>();
+            for (int i = 0; i < count; i++) {
+                int productId = productByRank[productPopularity.sample(random)];
+                if (!favoriteProducts.add(productId)) {
+                    continue;
+                }
+
+                Favorite favorite = new Favorite();
+                favorite.setId(favoriteId++);
+                favorite.setUserId(userId);
+                favorite.setProductId(productId);
+                favorite.setAddedAt(timeBefore(config.endTime, 180, random));
+                writer.add(favorite);
+            }
+        }
+        return writer.finish();
+    }
+
+    private static int insertCartItems(AppDatabase database, Config config,
+                                       ZipfDistribution productPopularity, int[] productByRank) {
+        Random random = random(config, 15);
+        BatchWriter<CartItem> writer = new BatchWriter<>(database,
+                batch -> database.cartItemDao().insertAll(batch));
+
+        long cartItemId = 1;
+        for (int userId = 1; userId <= config.userCount(); userId++) {
+            // 30% user đang có giỏ hàng 1-4 sản phẩm
+            if (random.nextDouble() >= 0.3) {
+                continue;
+            }
+            int count = 1 + random.nextInt(4);
+            Set<Integer> cartProducts = new HashSet<>();
+            for (int i = 0; i < count; i++) {
+                int productId = productByRank[productPopularity.sample(random)];
+                if (!cartProducts.add(productId)) {
+                    continue;
+                }
+
+                CartItem item = new CartItem();
+                item.setId(cartItemId++);
+                item.setUserId(userId);
+                item.setProductId(productId);
+                item.setQuantity(1 + (random.nextInt(3) == 0 ? random.nextInt(3) : 0));
+                item.setAddedAt(timeBefore(config.endTime, 14, random));
+                writer.add(item);
+            }
+        }
+        return writer.finish();
+    }
+
+    // ==================== HELPERS ====================
+
+    /**
+     * Gom entity thành lô BATCH_SIZE dòng, mỗi lô ghi trong một transaction
+     */
+    private static class BatchWriter<T> {
+        private final AppDatabase database;
+        private final Consumer<List<T>> insertBatch;
+        private final List<T> batch = new ArrayList<>(BATCH_SIZE);
+        private int written;
+
+        BatchWriter(AppDatabase database, Consumer<List<T>> insertBatch) {
+            this.database = database;
+            this.insertBatch = insertBatch;
+        }
+
+        void add(T row) {
+            batch.add(row);
+            if (batch.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        int finish() {
+            flush();
+            return written;
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            database.runInTransaction(() -> insertBatch.accept(batch));
+            written += batch.size();
+            batch.clear();
+        }
+    }
+
+    /**
+     * Random riêng cho từng bảng: đổi số dòng của một bảng không làm đổi dữ liệu các bảng khác
+     */
+    private static Random random(Config config, int stream) {
+        return new Random(config.seed * 1_000_003L + stream);
+    }
+
+    /**
+     * Hoán vị ngẫu nhiên của 1..count
+     */
+    private static int[] shuffledIds(int count, Random random) {
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i + 1;
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = tmp;
+        }
+        return ids;
+    }
+
+    /**
+     * Bước nhảy nguyên tố cùng nhau với n, gần n / φ để các user được chọn trải đều
+     */
+    private static int coprimeStep(int n) {
+        for (int step = Math.max(1, (int) (n * 0.618)); step > 1; step--) {
+            if (gcd(step, n) == 1) {
+                return step;
+            }
+        }
+        return 1;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    private static int pickCumulative(double[] cdf, Random random) {
+        double u = random.nextDouble();
+        for (int i = 0; i < cdf.length - 1; i++) {
+            if (u < cdf[i]) {
+                return i;
+            }
+        }
+        return cdf.length - 1;
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static Date timeBefore(long endTime, int maxDays, Random random) {
+        return new Date(endTime - (long) (random.nextDouble() * maxDays * DAY_MS));
+    }
+
+    private static long startOfTodayUtc() {
+        long now = System.currentTimeMillis();
+        long offset = TimeZone.getTimeZone("UTC").getOffset(now);
+        return (now + offset) / DAY_MS * DAY_MS - offset;
+    }
+}
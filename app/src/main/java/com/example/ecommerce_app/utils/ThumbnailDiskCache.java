@@ -0,0 +1,328 @@
+package com.example.ecommerce_app.utils;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.os.Build;
+import android.util.Log;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ThumbnailDiskCache - Cache thumbnail WebP đã thu nhỏ trong cacheDir/thumbnails
+ *
+ * - Mỗi entry là một file <sha1(key)>.webp, key = asset path + kích thước bucket + phiên bản
+ *   nội dung (số byte, kích thước gốc trong ImageManifest)
+ * - Ghi atomic: encode ra file .tmp rồi rename, file đang đọc không bao giờ ghi dở
+ * - LRU theo journal append-only (PUT/READ/DELETE), đọc lại khi mở, tự nén khi quá dài
+ * - Vượt MAX_SIZE_BYTES thì xóa entry ít dùng nhất
+ *
+ * Thread-safe: được gọi từ các thread decode của ImageHelper, không gọi trên main thread.
+ */
+public class ThumbnailDiskCache {
+
+    private static final String TAG = "ThumbnailDiskCache";
+
+    private static final String DIRECTORY = "thumbnails";
+    private static final String JOURNAL_FILE = "journal";
+    private static final String JOURNAL_TMP_FILE = "journal.tmp";
+    private static final String ENTRY_SUFFIX = ".webp";
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private static final String PUT = "PUT";
+    private static final String READ = "READ";
+    private static final String DELETE = "DELETE";
+
+    private static final long MAX_SIZE_BYTES = 32L * 1024 * 1024;
+    private static final int WEBP_QUALITY = 80;
+    // Journal được viết lại khi số dòng vượt quá số entry này nhiều lần
+    private static final int JOURNAL_COMPACT_THRESHOLD = 2000;
+
+    private static volatile ThumbnailDiskCache INSTANCE;
+
+    private final File directory;
+    // Tên file -> kích thước (byte), accessOrder = true: entry đầu là ít dùng nhất
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(0, 0.75f, true);
+    private final AtomicLong tmpCounter = new AtomicLong();
+    private long totalSize;
+    private int journalLines;
+    private BufferedWriter journalWriter;
+
+    private ThumbnailDiskCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Mở cache (đọc journal), chỉ gọi ngoài main thread
+     */
+    public static ThumbnailDiskCache getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (ThumbnailDiskCache.class) {
+                if (INSTANCE == null) {
+                    ThumbnailDiskCache cache = new ThumbnailDiskCache(
+                            new File(context.getApplicationContext().getCacheDir(), DIRECTORY));
+                    cache.open();
+                    INSTANCE = cache;
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @return File thumbnail của key, null nếu chưa có
+     */
+    public synchronized File get(String key) {
+        String name = fileName(key);
+        if (entries.get(name) == null) {
+            return null;
+        }
+        File file = new File(directory, name);
+        if (!file.exists()) {
+            // File bị xóa từ bên ngoài (hệ thống dọn cacheDir)
+            totalSize -= entries.remove(name);
+            appendJournal(DELETE, name, false);
+            return null;
+        }
+        appendJournal(READ, name, false);
+        return file;
+    }
+
+    /**
+     * Encode bitmap thành WebP và lưu cho key (ghi đè entry cũ nếu có)
+     */
+    public void put(String key, Bitmap bitmap) {
+        String name = fileName(key);
+        // Encode ngoài lock: các thread khác vẫn get() được trong lúc nén
+        File tmp = new File(directory, name + "." + tmpCounter.incrementAndGet() + TMP_SUFFIX);
+        try (OutputStream out = new FileOutputStream(tmp)) {
+            if (!bitmap.compress(webpFormat(), WEBP_QUALITY, out)) {
+                throw new IOException("WebP encode failed");
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Cannot write thumbnail " + key, e);
+            tmp.delete();
+            return;
+        }
+        commit(name, tmp);
+    }
+
+    private synchronized void commit(String name, File tmp) {
+        File file = new File(directory, name);
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            return;
+        }
+        Long previous = entries.put(name, file.length());
+        if (previous != null) {
+            totalSize -= previous;
+        }
+        totalSize += file.length();
+        appendJournal(PUT, name + " " + file.length(), true);
+        trimToSize();
+    }
+
+    private void trimToSize() {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (totalSize > MAX_SIZE_BYTES && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            new File(directory, eldest.getKey()).delete();
+            totalSize -= eldest.getValue();
+            iterator.remove();
+            appendJournal(DELETE, eldest.getKey(), false);
+        }
+        flushJournal();
+    }
+
+    // ==================== JOURNAL ====================
+
+    /**
+     * Dựng lại thứ tự LRU từ journal, dọn file .tmp và file không có trong journal
+     */
+    private synchronized void open() {
+        if (!directory.exists() && !directory.mkdirs()) {
+            Log.w(TAG, "Cannot create " + directory);
+            return;
+        }
+
+        File journal = new File(directory, JOURNAL_FILE);
+        if (journal.exists()) {
+            try (BufferedReader reader = new BufferedReader(new FileReader(journal))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    replay(line);
+                    journalLines++;
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "Corrupt journal, starting empty", e);
+                entries.clear();
+            }
+        }
+
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.equals(JOURNAL_FILE)) {
+                    continue;
+                }
+                if (!entries.containsKey(name)) {
+                    file.delete();
+                }
+            }
+        }
+        totalSize = 0;
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (new File(directory, entry.getKey()).exists()) {
+                totalSize += entry.getValue();
+            } else {
+                iterator.remove();
+            }
+        }
+
+        if (journalLines > entries.size() + JOURNAL_COMPACT_THRESHOLD || !journal.exists()) {
+            rewriteJournal();
+        }
+        openJournalWriter();
+        trimToSize();
+    }
+
+    private void replay(String line) {
+        String[] parts = line.split(" ");
+        if (parts.length < 2) {
+            return;
+        }
+        switch (parts[0]) {
+            case PUT:
+                if (parts.length == 3) {
+                    entries.put(parts[1], Long.parseLong(parts[2]));
+                }
+                break;
+            case READ:
+                // get() đưa entry lên cuối (mới dùng nhất)
+                entries.get(parts[1]);
+                break;
+            case DELETE:
+                entries.remove(parts[1]);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Viết journal chỉ gồm các entry hiện tại theo thứ tự LRU, thay file cũ bằng rename
+     */
+    private void rewriteJournal() {
+        closeJournalWriter();
+        File tmp = new File(directory, JOURNAL_TMP_FILE);
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(tmp))) {
+            for (Map.Entry<String, Long> entry : entries.entrySet()) {
+                writer.write(PUT + " " + entry.getKey() + " " + entry.getValue());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Cannot rewrite journal", e);
+            tmp.delete();
+            return;
+        }
+        if (tmp.renameTo(new File(directory, JOURNAL_FILE))) {
+            journalLines = entries.size();
+        }
+    }
+
+    private void openJournalWriter() {
+        try {
+            journalWriter = new BufferedWriter(new FileWriter(new File(directory, JOURNAL_FILE), true));
+        } catch (IOException e) {
+            Log.w(TAG, "Cannot open journal, LRU order will not persist", e);
+            journalWriter = null;
+        }
+    }
+
+    private void closeJournalWriter() {
+        if (journalWriter == null) {
+            return;
+        }
+        try {
+            journalWriter.close();
+        } catch (IOException ignored) {
+        }
+        journalWriter = null;
+    }
+
+    /**
+     * READ chỉ ảnh hưởng thứ tự LRU nên không cần flush ngay; PUT được flush để
+     * entry đã rename không bị coi là file rác ở lần mở sau
+     */
+    private void appendJournal(String op, String args, boolean flush) {
+        if (journalWriter == null) {
+            return;
+        }
+        try {
+            journalWriter.write(op + " " + args);
+            journalWriter.newLine();
+            journalLines++;
+            if (flush) {
+                journalWriter.flush();
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Cannot append to journal", e);
+            closeJournalWriter();
+            return;
+        }
+        if (journalLines > entries.size() + JOURNAL_COMPACT_THRESHOLD) {
+            rewriteJournal();
+            openJournalWriter();
+        }
+    }
+
+    private void flushJournal() {
+        if (journalWriter == null) {
+            return;
+        }
+        try {
+            journalWriter.flush();
+        } catch (IOException e) {
+            Log.w(TAG, "Cannot flush journal", e);
+        }
+    }
+
+    // ==================== HELPERS ====================
+
+    @SuppressWarnings("deprecation")
+    private static Bitmap.CompressFormat webpFormat() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+                ? Bitmap.CompressFormat.WEBP_LOSSY
+                : Bitmap.CompressFormat.WEBP;
+    }
+
+    private static String fileName(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder(digest.length * 2 + ENTRY_SUFFIX.length());
+            for (byte b : digest) {
+                name.append(Character.forDigit((b >> 4) & 0xF, 16));
+                name.append(Character.forDigit(b & 0xF, 16));
+            }
+            return name.append(ENTRY_SUFFIX).toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.ecommerce_app.utils;
+
+import java.util.Random;
+
+/**
+ * ZipfDistribution - Phân phối Zipf trên các hạng 0..n-1
+ *
+ * P(hạng k) tỉ lệ với 1 / (k + 1)^exponent: vài hạng đầu chiếm phần lớn lượt chọn,
+ * giống mức độ phổ biến của sản phẩm trong thực tế.
+ * CDF được tính sẵn một lần (n double), mỗi lần lấy mẫu là một binary search.
+ */
+public class ZipfDistribution {
+
+    private final double[] cdf;
+
+    public ZipfDistribution(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be positive: " + n);
+        }
+
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+    }
+
+    public int size() {
+        return cdf.length;
+    }
+
+    /**
+     * Xác suất của hạng (0-based)
+     */
+    public double probability(int rank) {
+        return rank == 0 ? cdf[0] : cdf[rank] - cdf[rank - 1];
+    }
+
+    /**
+     * Lấy ngẫu nhiên một hạng (0-based)
+     */
+    public int sample(Random random) {
+        double u = random.nextDouble();
+        int low = 0;
+        int high = cdf.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cdf[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
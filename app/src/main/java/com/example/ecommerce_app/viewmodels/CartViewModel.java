@@ -1,46 +1,76 @@
 package com.example.ecommerce_app.viewmodels;
 
 import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
 
-import com.example.ecommerce_app.data.entities.CartItem;
-import com.example.ecommerce_app.data.entities.Product;
+import com.example.ecommerce_app.data.models.CartLineWithProduct;
+import com.example.ecommerce_app.data.models.CartSummary;
 import com.example.ecommerce_app.data.repository.CartRepository;
-import com.example.ecommerce_app.data.repository.ProductRepository;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * CartViewModel - ViewModel cho giỏ hàng
  * 
  * Quản lý cart items, tính tổng tiền, update quantity
+ * 
+ * Thay đổi số lượng được hiển thị ngay (overlay trên dữ liệu từ database) và được gộp lại:
+ * nhiều lần bấm +/- trong QUANTITY_FLUSH_DELAY_MS chỉ tạo một transaction ghi.
+ * Tổng hợp giỏ hàng được tính từ chính danh sách đang hiển thị, nên tổng tiền luôn khớp
+ * với số lượng trên màn hình (không phụ thuộc thứ tự emit của các query).
  */
 public class CartViewModel extends AndroidViewModel {
     
+    // Chờ người dùng ngừng bấm rồi mới ghi
+    private static final long QUANTITY_FLUSH_DELAY_MS = 500;
+    
     private CartRepository cartRepository;
-    private ProductRepository productRepository;
     
     private MutableLiveData<Long> currentUserId = new MutableLiveData<>();
-    private LiveData<List<CartItem>> cartItems;
+    private MediatorLiveData<List<CartLineWithProduct>> cartLines;
+    private MutableLiveData<CartSummary> cartSummary;
     private LiveData<Integer> cartItemCount;
-    private MutableLiveData<Double> totalPrice = new MutableLiveData<>(0.0);
+    private LiveData<Double> totalPrice;
     private MutableLiveData<String> errorMessage = new MutableLiveData<>();
     
+    // Dữ liệu mới nhất từ database (null = chưa load xong)
+    private List<CartLineWithProduct> storedLines;
+    
+    // Số lượng đang hiển thị khác database: cartItemId -> số lượng
+    // (gồm cả thay đổi đã ghi nhưng database chưa emit lại)
+    private final Map<Long, Integer> quantityOverrides = new HashMap<>();
+    // Thay đổi chưa ghi
+    private final Map<Long, Integer> pendingQuantities = new LinkedHashMap<>();
+    private final Handler flushHandler = new Handler(Looper.getMainLooper());
+    private final Runnable flushPendingQuantities = this::flushPendingEdits;
+    
     public CartViewModel(@NonNull Application application) {
         super(application);
         cartRepository = new CartRepository(application);
-        productRepository = new ProductRepository(application);
     }
     
     // ==================== GETTERS ====================
     
-    public LiveData<List<CartItem>> getCartItems() {
-        return cartItems;
+    public LiveData<List<CartLineWithProduct>> getCartLines() {
+        return cartLines;
+    }
+    
+    public LiveData<CartSummary> getCartSummary() {
+        return cartSummary;
     }
     
     public LiveData<Integer> getCartItemCount() {
@@ -62,8 +92,16 @@ public class CartViewModel extends AndroidViewModel {
      */
     public void setUserId(long userId) {
         currentUserId.setValue(userId);
-        cartItems = cartRepository.getCartItems(userId);
         cartItemCount = cartRepository.getCartItemCount(userId);
+        
+        cartLines = new MediatorLiveData<>();
+        cartLines.addSource(cartRepository.getCartLines(userId), this::onStoredLinesChanged);
+        
+        cartSummary = new MutableLiveData<>();
+        
+        // Tổng tiền tự cập nhật khi giỏ hàng hoặc số lượng đang chờ ghi thay đổi
+        totalPrice = Transformations.map(cartSummary,
+                summary -> summary != null ? summary.getSubtotal() : 0.0);
     }
     
     // ==================== CART OPERATIONS ====================
@@ -82,7 +120,6 @@ public class CartViewModel extends AndroidViewModel {
             boolean success = cartRepository.addToCart(userId, productId, quantity).get();
             if (success) {
                 errorMessage.setValue("Đã thêm vào giỏ hàng");
-                calculateTotalPrice();
             } else {
                 errorMessage.setValue("Không thể thêm vào giỏ hàng");
             }
@@ -92,7 +129,7 @@ public class CartViewModel extends AndroidViewModel {
     }
     
     /**
-     * Cập nhật số lượng
+     * Cập nhật số lượng: hiển thị ngay, ghi sau QUANTITY_FLUSH_DELAY_MS (gộp các lần bấm liên tiếp)
      */
     public void updateQuantity(long cartItemId, int quantity) {
         if (quantity <= 0) {
@@ -100,8 +137,48 @@ public class CartViewModel extends AndroidViewModel {
             return;
         }
         
-        cartRepository.updateQuantity(cartItemId, quantity);
-        calculateTotalPrice();
+        quantityOverrides.put(cartItemId, quantity);
+        pendingQuantities.put(cartItemId, quantity);
+        publishCart();
+        
+        flushHandler.removeCallbacks(flushPendingQuantities);
+        flushHandler.postDelayed(flushPendingQuantities, QUANTITY_FLUSH_DELAY_MS);
+    }
+    
+    /**
+     * Ghi ngay các thay đổi số lượng đang chờ (gọi khi rời màn hình)
+     */
+    public void flushPendingEdits() {
+        flushPendingEdits(null);
+    }
+    
+    /**
+     * Ghi ngay các thay đổi số lượng đang chờ
+     * @param onFlushed Chạy trên main thread sau khi đã ghi xong (ví dụ trước khi mở màn hình
+     *                  đọc lại giỏ hàng từ database), có thể null
+     */
+    public void flushPendingEdits(Runnable onFlushed) {
+        flushHandler.removeCallbacks(flushPendingQuantities);
+        if (pendingQuantities.isEmpty()) {
+            if (onFlushed != null) {
+                onFlushed.run();
+            }
+            return;
+        }
+        
+        Future<?> future = cartRepository.updateQuantities(pendingQuantities);
+        pendingQuantities.clear();
+        
+        if (onFlushed != null) {
+            new Thread(() -> {
+                try {
+                    future.get();
+                } catch (ExecutionException | InterruptedException e) {
+                    e.printStackTrace();
+                }
+                new Handler(Looper.getMainLooper()).post(onFlushed);
+            }).start();
+        }
     }
     
     /**
@@ -114,7 +191,6 @@ public class CartViewModel extends AndroidViewModel {
         }
         
         cartRepository.removeFromCart(userId, productId);
-        calculateTotalPrice();
     }
     
     /**
@@ -127,38 +203,63 @@ public class CartViewModel extends AndroidViewModel {
         }
         
         cartRepository.clearCart(userId);
-        totalPrice.setValue(0.0);
     }
     
-    // ==================== HELPER METHODS ====================
+    // ==================== QUANTITY OVERLAY ====================
+    
+    private void onStoredLinesChanged(List<CartLineWithProduct> lines) {
+        storedLines = lines != null ? lines : new ArrayList<>();
+        
+        // Bỏ overlay khi database đã có giá trị đã ghi (hoặc dòng đã bị xóa)
+        Map<Long, Integer> storedQuantities = new HashMap<>();
+        for (CartLineWithProduct line : storedLines) {
+            storedQuantities.put(line.cartItem.getId(), line.cartItem.getQuantity());
+        }
+        quantityOverrides.entrySet().removeIf(entry -> {
+            long cartItemId = entry.getKey();
+            Integer stored = storedQuantities.get(cartItemId);
+            return !pendingQuantities.containsKey(cartItemId)
+                    && (stored == null || stored.equals(entry.getValue()));
+        });
+        
+        publishCart();
+    }
     
     /**
-     * Tính tổng giá trị giỏ hàng
+     * Phát lại danh sách + tổng hợp giỏ hàng với số lượng đang chờ ghi
      */
-    public void calculateTotalPrice() {
-        Long userId = currentUserId.getValue();
-        if (userId == null || userId <= 0) {
-            totalPrice.setValue(0.0);
+    private void publishCart() {
+        if (cartLines == null || storedLines == null) {
             return;
         }
         
-        try {
-            List<CartItem> items = cartRepository.getCartItemsSync(userId).get();
-            double total = 0.0;
-            
-            for (CartItem item : items) {
-                Product product = productRepository.getProductByIdSync(item.getProductId()).get();
-                if (product != null) {
-                    total += product.getPrice() * item.getQuantity();
-                }
+        List<CartLineWithProduct> lines = new ArrayList<>(storedLines.size());
+        CartSummary summary = new CartSummary();
+        for (CartLineWithProduct line : storedLines) {
+            Integer quantity = quantityOverrides.get(line.cartItem.getId());
+            if (quantity != null && quantity != line.cartItem.getQuantity()) {
+                line = line.withQuantity(quantity);
             }
+            lines.add(line);
             
-            totalPrice.setValue(total);
-        } catch (ExecutionException | InterruptedException e) {
-            errorMessage.setValue("Lỗi tính tổng tiền: " + e.getMessage());
+            // Tổng hợp từ đúng các dòng đang hiển thị (giá hiện tại + số lượng chờ ghi)
+            summary.lineCount++;
+            summary.totalQuantity += line.cartItem.getQuantity();
+            summary.subtotal += line.getLineTotal();
         }
+        cartLines.setValue(lines);
+        cartSummary.setValue(summary);
+    }
+    
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        // Không để mất thay đổi chưa ghi
+        flushPendingEdits();
     }
     
+    // ==================== HELPER METHODS ====================
+    
     /**
      * Kiểm tra sản phẩm có trong giỏ không
      */
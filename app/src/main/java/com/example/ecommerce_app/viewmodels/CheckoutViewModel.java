@@ -1,37 +1,37 @@
 package com.example.ecommerce_app.viewmodels;
 
 import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
-import com.example.ecommerce_app.data.entities.CartItem;
-import com.example.ecommerce_app.data.entities.Order;
-import com.example.ecommerce_app.data.entities.OrderItem;
-import com.example.ecommerce_app.data.entities.Product;
-import com.example.ecommerce_app.data.repository.CartRepository;
+import com.example.ecommerce_app.data.models.CheckoutResult;
 import com.example.ecommerce_app.data.repository.OrderRepository;
-import com.example.ecommerce_app.data.repository.ProductRepository;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * CheckoutViewModel - ViewModel cho checkout process
  * 
  * Xử lý tạo order từ cart, cập nhật stock
+ * (một transaction duy nhất trong CheckoutDao, chạy ngoài main thread)
  */
 public class CheckoutViewModel extends AndroidViewModel {
     
     private OrderRepository orderRepository;
-    private CartRepository cartRepository;
-    private ProductRepository productRepository;
     
     private MutableLiveData<Long> currentUserId = new MutableLiveData<>();
     private MutableLiveData<Double> totalAmount = new MutableLiveData<>(0.0);
+    private double shippingFee = 0.0;
+    // null = checkout toàn bộ giỏ hàng
+    private List<Long> selectedCartItemIds;
     private MutableLiveData<String> shippingAddress = new MutableLiveData<>();
     private MutableLiveData<String> shippingPhone = new MutableLiveData<>();
     private MutableLiveData<String> note = new MutableLiveData<>();
@@ -40,12 +40,11 @@ public class CheckoutViewModel extends AndroidViewModel {
     private MutableLiveData<String> errorMessage = new MutableLiveData<>();
     private MutableLiveData<Boolean> checkoutSuccess = new MutableLiveData<>(false);
     private MutableLiveData<Long> createdOrderId = new MutableLiveData<>();
+    private MutableLiveData<List<CheckoutResult.LineFailure>> checkoutFailures = new MutableLiveData<>();
     
     public CheckoutViewModel(@NonNull Application application) {
         super(application);
         orderRepository = new OrderRepository(application);
-        cartRepository = new CartRepository(application);
-        productRepository = new ProductRepository(application);
     }
     
     // ==================== GETTERS ====================
@@ -78,6 +77,13 @@ public class CheckoutViewModel extends AndroidViewModel {
         return createdOrderId;
     }
     
+    /**
+     * Các dòng không đặt được ở lần checkout gần nhất (hết hàng, đã bị xóa khỏi giỏ)
+     */
+    public LiveData<List<CheckoutResult.LineFailure>> getCheckoutFailures() {
+        return checkoutFailures;
+    }
+    
     // ==================== SETTERS ====================
     
     public void setUserId(long userId) {
@@ -100,14 +106,23 @@ public class CheckoutViewModel extends AndroidViewModel {
         note.setValue(noteText);
     }
     
+    public void setShippingFee(double fee) {
+        shippingFee = fee;
+    }
+    
+    /**
+     * Chỉ checkout các dòng giỏ hàng được chọn (null = toàn bộ giỏ hàng)
+     */
+    public void setSelectedCartItemIds(List<Long> cartItemIds) {
+        selectedCartItemIds = cartItemIds != null ? new ArrayList<>(cartItemIds) : null;
+    }
+    
     // ==================== CHECKOUT PROCESS ====================
     
     /**
-     * Thực hiện checkout
-     * 1. Tạo order
-     * 2. Tạo order items từ cart
-     * 3. Giảm stock của products
-     * 4. Xóa cart
+     * Thực hiện checkout trong một transaction:
+     * trừ stock (chỉ khi còn đủ), chốt giá hiện tại, tạo order + order items, xóa giỏ hàng.
+     * Nếu có dòng không đặt được thì không có gì bị thay đổi, lý do nằm trong getCheckoutFailures()
      */
     public void processCheckout() {
         Long userId = currentUserId.getValue();
@@ -136,78 +151,61 @@ public class CheckoutViewModel extends AndroidViewModel {
             return;
         }
         
+        if (Boolean.TRUE.equals(isProcessing.getValue())) {
+            return;
+        }
         isProcessing.setValue(true);
+        checkoutFailures.setValue(null);
         
-        try {
-            // 1. Lấy cart items
-            List<CartItem> cartItems = cartRepository.getCartItemsSync(userId).get();
-            
-            if (cartItems == null || cartItems.isEmpty()) {
-                errorMessage.setValue("Giỏ hàng trống");
-                isProcessing.setValue(false);
-                return;
-            }
-            
-            // 2. Kiểm tra stock
-            for (CartItem item : cartItems) {
-                Product product = productRepository.getProductByIdSync(item.getProductId()).get();
-                if (product == null || product.getStock() < item.getQuantity()) {
-                    errorMessage.setValue("Sản phẩm " + (product != null ? product.getName() : "") + " không đủ hàng");
-                    isProcessing.setValue(false);
-                    return;
-                }
-            }
-            
-            // 3. Tạo order
-            long orderId = orderRepository.createOrder(
-                userId,
-                amount,
-                address,
-                phone,
-                note.getValue()
-            ).get();
-            
-            if (orderId <= 0) {
-                errorMessage.setValue("Không thể tạo đơn hàng");
-                isProcessing.setValue(false);
-                return;
-            }
-            
-            // 4. Tạo order items
-            List<OrderItem> orderItems = new ArrayList<>();
-            for (CartItem cartItem : cartItems) {
-                Product product = productRepository.getProductByIdSync(cartItem.getProductId()).get();
-                
-                OrderItem orderItem = new OrderItem();
-                orderItem.setOrderId(orderId);
-                orderItem.setProductId(cartItem.getProductId());
-                orderItem.setQuantity(cartItem.getQuantity());
-                orderItem.setPrice(product.getPrice());
-                orderItem.setSubtotal(product.getPrice() * cartItem.getQuantity());
-                
-                orderItems.add(orderItem);
-            }
-            
-            orderRepository.addOrderItems(orderItems);
-            
-            // 5. Giảm stock
-            for (CartItem cartItem : cartItems) {
-                productRepository.decreaseStock(cartItem.getProductId(), cartItem.getQuantity());
+        Future<CheckoutResult> future = orderRepository.checkout(
+                userId, selectedCartItemIds, shippingFee, address, phone, note.getValue());
+        
+        new Thread(() -> {
+            CheckoutResult result = null;
+            String error = null;
+            try {
+                result = future.get();
+            } catch (ExecutionException | InterruptedException e) {
+                error = "Lỗi: " + e.getMessage();
             }
             
-            // 6. Xóa cart
-            cartRepository.clearCart(userId);
-            
-            // Success
-            createdOrderId.setValue(orderId);
+            final CheckoutResult checkoutResult = result;
+            final String checkoutError = error;
+            new Handler(Looper.getMainLooper()).post(() -> onCheckoutFinished(checkoutResult, checkoutError));
+        }).start();
+    }
+    
+    private void onCheckoutFinished(CheckoutResult result, String error) {
+        isProcessing.setValue(false);
+        
+        if (result == null) {
+            checkoutSuccess.setValue(false);
+            errorMessage.setValue(error);
+            return;
+        }
+        
+        if (result.isSuccess()) {
+            createdOrderId.setValue(result.getOrderId());
             checkoutSuccess.setValue(true);
             errorMessage.setValue("Đặt hàng thành công!");
-            
-        } catch (ExecutionException | InterruptedException e) {
-            errorMessage.setValue("Lỗi: " + e.getMessage());
-            checkoutSuccess.setValue(false);
-        } finally {
-            isProcessing.setValue(false);
+            return;
+        }
+        
+        checkoutSuccess.setValue(false);
+        checkoutFailures.setValue(result.getFailures());
+        errorMessage.setValue(describeFailure(result.getFailures().get(0)));
+    }
+    
+    private static String describeFailure(CheckoutResult.LineFailure failure) {
+        switch (failure.reason) {
+            case INSUFFICIENT_STOCK:
+                return "Sản phẩm " + (failure.productName != null ? failure.productName : "")
+                        + " không đủ hàng (còn " + failure.availableStock + ")";
+            case CART_ITEM_MISSING:
+                return "Giỏ hàng đã thay đổi, vui lòng kiểm tra lại";
+            case EMPTY_CART:
+            default:
+                return "Giỏ hàng trống";
         }
     }
     
@@ -218,5 +216,6 @@ public class CheckoutViewModel extends AndroidViewModel {
         checkoutSuccess.setValue(false);
         errorMessage.setValue(null);
         createdOrderId.setValue(null);
+        checkoutFailures.setValue(null);
     }
 }
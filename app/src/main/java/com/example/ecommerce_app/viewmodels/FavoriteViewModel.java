@@ -1,13 +1,18 @@
 package com.example.ecommerce_app.viewmodels;
 
 import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
 
 import com.example.ecommerce_app.data.entities.Favorite;
+import com.example.ecommerce_app.data.models.FavoriteProduct;
+import com.example.ecommerce_app.data.models.FavoriteSortOrder;
 import com.example.ecommerce_app.data.repository.FavoriteRepository;
 
 import java.util.List;
@@ -18,6 +23,9 @@ import java.util.concurrent.ExecutionException;
  */
 public class FavoriteViewModel extends AndroidViewModel {
     
+    // Chờ người dùng ngừng gõ rồi mới query
+    private static final long SEARCH_DEBOUNCE_MS = 300;
+    
     private FavoriteRepository favoriteRepository;
     
     private MutableLiveData<Long> currentUserId = new MutableLiveData<>();
@@ -25,9 +33,40 @@ public class FavoriteViewModel extends AndroidViewModel {
     private MutableLiveData<String> errorMessage = new MutableLiveData<>();
     private MutableLiveData<Boolean> actionSuccess = new MutableLiveData<>();
     
+    // Search + sort: mỗi lần filter đổi thì Room chạy lại một query trên background thread
+    private final MutableLiveData<FavoriteFilter> favoriteFilter = new MutableLiveData<>();
+    private final LiveData<List<FavoriteProduct>> favoriteProducts;
+    private final Handler debounceHandler = new Handler(Looper.getMainLooper());
+    private String searchQuery = "";
+    private FavoriteSortOrder sortOrder = FavoriteSortOrder.ALL;
+    private final Runnable applySearch = this::publishFilter;
+    
+    /**
+     * Bộ lọc hiện tại của danh sách yêu thích
+     */
+    private static class FavoriteFilter {
+        final long userId;
+        final String query;
+        final FavoriteSortOrder sortOrder;
+        
+        FavoriteFilter(long userId, String query, FavoriteSortOrder sortOrder) {
+            this.userId = userId;
+            this.query = query;
+            this.sortOrder = sortOrder;
+        }
+        
+        boolean sameAs(FavoriteFilter other) {
+            return other != null && userId == other.userId
+                    && query.equals(other.query) && sortOrder == other.sortOrder;
+        }
+    }
+    
     public FavoriteViewModel(@NonNull Application application) {
         super(application);
         favoriteRepository = new FavoriteRepository(application);
+        
+        favoriteProducts = Transformations.switchMap(favoriteFilter, filter ->
+                favoriteRepository.getFavoriteProducts(filter.userId, filter.query, filter.sortOrder));
     }
     
     // ==================== GETTERS ====================
@@ -36,6 +75,13 @@ public class FavoriteViewModel extends AndroidViewModel {
         return favorites;
     }
     
+    /**
+     * Sản phẩm yêu thích đã lọc + sắp xếp, tự cập nhật khi favorites thay đổi
+     */
+    public LiveData<List<FavoriteProduct>> getFavoriteProducts() {
+        return favoriteProducts;
+    }
+    
     public LiveData<String> getErrorMessage() {
         return errorMessage;
     }
@@ -44,6 +90,10 @@ public class FavoriteViewModel extends AndroidViewModel {
         return actionSuccess;
     }
     
+    public void clearMessages() {
+        errorMessage.setValue(null);
+    }
+    
     // ==================== SETUP ====================
     
     /**
@@ -52,6 +102,7 @@ public class FavoriteViewModel extends AndroidViewModel {
     public void setUserId(long userId) {
         currentUserId.setValue(userId);
         loadFavorites();
+        publishFilter();
     }
     
     /**
@@ -66,6 +117,45 @@ public class FavoriteViewModel extends AndroidViewModel {
         favorites = favoriteRepository.getFavoritesByUser(userId);
     }
     
+    // ==================== SEARCH / SORT ====================
+    
+    /**
+     * Đổi từ khóa tìm kiếm (debounce, query chạy sau khi ngừng gõ)
+     */
+    public void setSearchQuery(String query) {
+        searchQuery = query != null ? query.trim() : "";
+        debounceHandler.removeCallbacks(applySearch);
+        debounceHandler.postDelayed(applySearch, SEARCH_DEBOUNCE_MS);
+    }
+    
+    /**
+     * Đổi kiểu sắp xếp (áp dụng ngay)
+     */
+    public void setSortOrder(FavoriteSortOrder order) {
+        sortOrder = order;
+        debounceHandler.removeCallbacks(applySearch);
+        publishFilter();
+    }
+    
+    private void publishFilter() {
+        Long userId = currentUserId.getValue();
+        if (userId == null || userId <= 0) {
+            return;
+        }
+        
+        FavoriteFilter filter = new FavoriteFilter(userId, searchQuery, sortOrder);
+        // Bỏ qua nếu không đổi (ví dụ gõ rồi xóa lại trong thời gian debounce)
+        if (!filter.sameAs(favoriteFilter.getValue())) {
+            favoriteFilter.setValue(filter);
+        }
+    }
+    
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        debounceHandler.removeCallbacks(applySearch);
+    }
+    
     // ==================== FAVORITE ACTIONS ====================
     
     /**
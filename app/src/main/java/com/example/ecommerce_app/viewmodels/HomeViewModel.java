@@ -26,6 +26,7 @@ public class HomeViewModel extends AndroidViewModel {
     
     private LiveData<List<Product>> newArrivals;
     private LiveData<List<Product>> bestSelling;
+    private LiveData<List<Product>> saleProducts;
     private LiveData<List<Category>> categories;
     
     private MutableLiveData<String> userName = new MutableLiveData<>();
@@ -63,6 +64,9 @@ public class HomeViewModel extends AndroidViewModel {
         // Load best selling products
         bestSelling = productRepository.getBestSellingProducts(10);
         
+        // Load sale products
+        saleProducts = productRepository.getSaleProducts(10);
+        
         // Load all categories
         categories = categoryRepository.getAllCategories();
     }
@@ -81,6 +85,13 @@ public class HomeViewModel extends AndroidViewModel {
         return bestSelling;
     }
     
+    /**
+     * Get sale products
+     */
+    public LiveData<List<Product>> getSaleProducts() {
+        return saleProducts;
+    }
+    
     /**
      * Get all categories
      */
@@ -1,16 +1,21 @@
 package com.example.ecommerce_app.viewmodels;
 
 import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
 
 import com.example.ecommerce_app.data.entities.Order;
 import com.example.ecommerce_app.data.entities.OrderItem;
+import com.example.ecommerce_app.data.models.OrderSummary;
 import com.example.ecommerce_app.data.repository.OrderRepository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 
@@ -19,12 +24,33 @@ import java.util.concurrent.ExecutionException;
  */
 public class OrderViewModel extends AndroidViewModel {
     
+    private static final int ORDER_PAGE_SIZE = 20;
+    
     private OrderRepository orderRepository;
     
     private MutableLiveData<Long> currentUserId = new MutableLiveData<>();
     private LiveData<List<Order>> orders;
     private MutableLiveData<String> selectedStatus = new MutableLiveData<>("ALL");
     private MutableLiveData<String> errorMessage = new MutableLiveData<>();
+    private MutableLiveData<List<OrderSummary>> orderSummaries = new MutableLiveData<>();
+    
+    // Paging state cho lịch sử đơn hàng (chỉ truy cập trên main thread)
+    private final List<OrderSummary> loadedSummaries = new ArrayList<>();
+    private List<String> summaryStatuses = new ArrayList<>();
+    private int summaryGeneration = 0;
+    private boolean summaryLoading = false;
+    private boolean summaryEndReached = false;
+    
+    // Bảng orders đổi (xác nhận đã nhận, hủy, đặt đơn mới) thì load lại các trang đã hiển thị
+    private LiveData<Long> lastOrderUpdate;
+    private boolean orderUpdateSeen = false;
+    private final Observer<Long> orderUpdateObserver = updatedAt -> {
+        // Lần emit đầu là giá trị hiện tại, trang đầu đã do loadOrderSummaries load
+        if (orderUpdateSeen) {
+            refreshOrderSummaries();
+        }
+        orderUpdateSeen = true;
+    };
     
     public OrderViewModel(@NonNull Application application) {
         super(application);
@@ -37,6 +63,10 @@ public class OrderViewModel extends AndroidViewModel {
         return orders;
     }
     
+    public LiveData<List<OrderSummary>> getOrderSummaries() {
+        return orderSummaries;
+    }
+    
     public LiveData<String> getErrorMessage() {
         return errorMessage;
     }
@@ -53,6 +83,13 @@ public class OrderViewModel extends AndroidViewModel {
     public void setUserId(long userId) {
         currentUserId.setValue(userId);
         loadOrders();
+        
+        if (lastOrderUpdate != null) {
+            lastOrderUpdate.removeObserver(orderUpdateObserver);
+        }
+        orderUpdateSeen = false;
+        lastOrderUpdate = orderRepository.getLastOrderUpdate(userId);
+        lastOrderUpdate.observeForever(orderUpdateObserver);
     }
     
     /**
@@ -85,6 +122,90 @@ public class OrderViewModel extends AndroidViewModel {
         }
     }
     
+    // ==================== ORDER SUMMARIES ====================
+    
+    /**
+     * Load lại lịch sử đơn hàng từ trang đầu, chỉ lấy các trạng thái trong statuses
+     */
+    public void loadOrderSummaries(List<String> statuses) {
+        summaryGeneration++;
+        summaryStatuses = new ArrayList<>(statuses);
+        summaryLoading = false;
+        summaryEndReached = false;
+        loadedSummaries.clear();
+        
+        loadMoreOrderSummaries();
+    }
+    
+    /**
+     * Load trang đơn hàng tiếp theo (bỏ qua nếu đang load hoặc đã hết)
+     */
+    public void loadMoreOrderSummaries() {
+        if (summaryLoading || summaryEndReached) {
+            return;
+        }
+        
+        OrderSummary after = loadedSummaries.isEmpty()
+                ? null : loadedSummaries.get(loadedSummaries.size() - 1);
+        fetchOrderSummaries(after, ORDER_PAGE_SIZE, false);
+    }
+    
+    /**
+     * Load lại từ đầu đúng số đơn hàng đang hiển thị, giữ nguyên vị trí cuộn
+     * (trang đang load dở bị bỏ qua nhờ summaryGeneration)
+     */
+    private void refreshOrderSummaries() {
+        if (summaryStatuses.isEmpty()) {
+            return;
+        }
+        
+        summaryGeneration++;
+        fetchOrderSummaries(null, Math.max(ORDER_PAGE_SIZE, loadedSummaries.size()), true);
+    }
+    
+    private void fetchOrderSummaries(OrderSummary after, int limit, boolean replace) {
+        Long userId = currentUserId.getValue();
+        if (userId == null || userId <= 0) {
+            return;
+        }
+        
+        summaryLoading = true;
+        
+        final int generation = summaryGeneration;
+        final List<String> statuses = summaryStatuses;
+        
+        new Thread(() -> {
+            List<OrderSummary> page = null;
+            try {
+                page = orderRepository.getOrderSummariesPage(userId, statuses, after, limit).get();
+            } catch (ExecutionException | InterruptedException e) {
+                errorMessage.postValue("Lỗi khi tải đơn hàng: " + e.getMessage());
+            }
+            
+            final List<OrderSummary> result = page;
+            new Handler(Looper.getMainLooper()).post(() -> onSummaryPageLoaded(generation, result, limit, replace));
+        }).start();
+    }
+    
+    private void onSummaryPageLoaded(int generation, List<OrderSummary> page, int limit, boolean replace) {
+        if (generation != summaryGeneration) {
+            // Đã đổi tab / load lại trong lúc load
+            return;
+        }
+        
+        summaryLoading = false;
+        if (page == null) {
+            return;
+        }
+        
+        if (replace) {
+            loadedSummaries.clear();
+        }
+        loadedSummaries.addAll(page);
+        summaryEndReached = page.size() < limit;
+        orderSummaries.setValue(new ArrayList<>(loadedSummaries));
+    }
+    
     // ==================== ORDER DETAIL ====================
     
     /**
@@ -119,6 +240,14 @@ public class OrderViewModel extends AndroidViewModel {
         errorMessage.setValue("Xác nhận đã nhận hàng");
     }
     
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        if (lastOrderUpdate != null) {
+            lastOrderUpdate.removeObserver(orderUpdateObserver);
+        }
+    }
+    
     // ==================== STATISTICS ====================
     
     /**
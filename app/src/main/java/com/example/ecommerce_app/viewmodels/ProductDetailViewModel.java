@@ -6,8 +6,10 @@ import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
 
 import com.example.ecommerce_app.data.entities.Product;
+import com.example.ecommerce_app.data.entities.ProductRatingStats;
 import com.example.ecommerce_app.data.models.ReviewWithUser;
 import com.example.ecommerce_app.data.repository.CartRepository;
 import com.example.ecommerce_app.data.repository.FavoriteRepository;
@@ -31,8 +33,10 @@ public class ProductDetailViewModel extends AndroidViewModel {
     private MutableLiveData<Long> productId = new MutableLiveData<>();
     private MutableLiveData<Product> product = new MutableLiveData<>();
     private MutableLiveData<List<ReviewWithUser>> reviews = new MutableLiveData<>();
-    private MutableLiveData<Integer> reviewCount = new MutableLiveData<>();
-    private MutableLiveData<Double> averageRating = new MutableLiveData<>();
+    private MutableLiveData<Long> statsProductId = new MutableLiveData<>();
+    private LiveData<ProductRatingStats> ratingStats;
+    private LiveData<Integer> reviewCount;
+    private LiveData<Double> averageRating;
     private MutableLiveData<Boolean> isFavorite = new MutableLiveData<>();
     private MutableLiveData<Integer> quantity = new MutableLiveData<>(1);
     private MutableLiveData<String> errorMessage = new MutableLiveData<>();
@@ -45,6 +49,11 @@ public class ProductDetailViewModel extends AndroidViewModel {
         reviewRepository = new ReviewRepository(application);
         cartRepository = new CartRepository(application);
         favoriteRepository = new FavoriteRepository(application);
+        
+        // Thống kê rating đọc từ product_rating_stats, tự cập nhật khi reviews thay đổi
+        ratingStats = Transformations.switchMap(statsProductId, reviewRepository::getRatingStats);
+        reviewCount = Transformations.map(ratingStats, ProductRatingStats::getRatingCount);
+        averageRating = Transformations.map(ratingStats, ProductRatingStats::getAverageRating);
     }
     
     // ==================== PRODUCT ====================
@@ -101,26 +110,22 @@ public class ProductDetailViewModel extends AndroidViewModel {
     }
     
     /**
-     * Load tổng số reviews và rating trung bình
+     * Load tổng số reviews và rating trung bình (một lần tra primary key)
      */
     private void loadReviewStats(long productId) {
-        new Thread(() -> {
-            try {
-                Integer count = reviewRepository.getReviewCount(productId).get();
-                reviewCount.postValue(count);
-                
-                Double rating = reviewRepository.getAverageRating(productId).get();
-                averageRating.postValue(rating);
-            } catch (Exception e) {
-                errorMessage.postValue("Lỗi khi tải thống kê reviews: " + e.getMessage());
-            }
-        }).start();
+        if (!Long.valueOf(productId).equals(statsProductId.getValue())) {
+            statsProductId.setValue(productId);
+        }
     }
     
     public LiveData<List<ReviewWithUser>> getReviews() {
         return reviews;
     }
     
+    public LiveData<ProductRatingStats> getRatingStats() {
+        return ratingStats;
+    }
+    
     public LiveData<Integer> getReviewCount() {
         return reviewCount;
     }
@@ -1,6 +1,8 @@
 package com.example.ecommerce_app.viewmodels;
 
 import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
@@ -9,8 +11,11 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.Transformations;
 
 import com.example.ecommerce_app.data.entities.Product;
+import com.example.ecommerce_app.data.models.ProductPage;
+import com.example.ecommerce_app.data.models.ProductSortOrder;
 import com.example.ecommerce_app.data.repository.ProductRepository;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -33,6 +38,18 @@ public class ProductListViewModel extends AndroidViewModel {
     
     private MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
     
+    // Keyset paging (infinite scroll)
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private MutableLiveData<List<Product>> pagedProducts = new MutableLiveData<>(new ArrayList<>());
+    private MutableLiveData<Boolean> hasMorePages = new MutableLiveData<>(true);
+    private final List<Product> loadedProducts = new ArrayList<>();
+    private ProductSortOrder pageSortOrder = ProductSortOrder.NEWEST;
+    private String nextPageToken;
+    private boolean endReached;
+    private boolean pageLoading;
+    // Tăng mỗi lần đổi sort để bỏ qua kết quả của request cũ
+    private int pageGeneration;
+    
     public ProductListViewModel(@NonNull Application application) {
         super(application);
         productRepository = new ProductRepository(application);
@@ -51,6 +68,18 @@ public class ProductListViewModel extends AndroidViewModel {
         return isLoading;
     }
     
+    public LiveData<List<Product>> getPagedProducts() {
+        return pagedProducts;
+    }
+    
+    public LiveData<Boolean> getHasMorePages() {
+        return hasMorePages;
+    }
+    
+    public ProductSortOrder getPageSortOrder() {
+        return pageSortOrder;
+    }
+    
     public LiveData<String> getSearchQuery() {
         return searchQuery;
     }
@@ -120,6 +149,74 @@ public class ProductListViewModel extends AndroidViewModel {
         products = productRepository.getAllActiveProducts();
     }
     
+    // ==================== PAGING ====================
+    
+    /**
+     * Load lại từ trang đầu với kiểu sắp xếp mới
+     */
+    public void loadFirstPage(ProductSortOrder sortOrder) {
+        pageGeneration++;
+        pageSortOrder = sortOrder;
+        nextPageToken = null;
+        endReached = false;
+        pageLoading = false;
+        loadedProducts.clear();
+        hasMorePages.setValue(true);
+        pagedProducts.setValue(new ArrayList<>());
+        
+        loadNextPage();
+    }
+    
+    /**
+     * Load trang tiếp theo (bỏ qua nếu đang load hoặc đã hết)
+     */
+    public void loadNextPage() {
+        if (pageLoading || endReached) {
+            return;
+        }
+        
+        pageLoading = true;
+        isLoading.setValue(true);
+        
+        final int generation = pageGeneration;
+        final ProductSortOrder sortOrder = pageSortOrder;
+        final String pageToken = nextPageToken;
+        
+        new Thread(() -> {
+            ProductPage page = null;
+            try {
+                page = productRepository.getProductsPage(sortOrder, pageToken, DEFAULT_PAGE_SIZE).get();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            
+            final ProductPage result = page;
+            // Cập nhật state trên main thread để không cần đồng bộ hóa
+            new Handler(Looper.getMainLooper()).post(() -> onPageLoaded(generation, result));
+        }).start();
+    }
+    
+    private void onPageLoaded(int generation, ProductPage page) {
+        if (generation != pageGeneration) {
+            // Sort đã đổi trong lúc load
+            return;
+        }
+        
+        pageLoading = false;
+        isLoading.setValue(false);
+        
+        if (page == null) {
+            return;
+        }
+        
+        loadedProducts.addAll(page.getProducts());
+        nextPageToken = page.getNextPageToken();
+        endReached = !page.hasMore();
+        
+        hasMorePages.setValue(!endReached);
+        pagedProducts.setValue(new ArrayList<>(loadedProducts));
+    }
+    
     // ==================== SPECIAL LISTS ====================
     
     /**
@@ -1,17 +1,22 @@
 package com.example.ecommerce_app.viewmodels;
 
 import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
 
 import com.example.ecommerce_app.data.entities.Product;
+import com.example.ecommerce_app.data.entities.ProductRatingStats;
 import com.example.ecommerce_app.data.models.ReviewWithUser;
 import com.example.ecommerce_app.data.repository.ProductRepository;
 import com.example.ecommerce_app.data.repository.ReviewRepository;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -19,20 +24,36 @@ import java.util.List;
  */
 public class ReviewsViewModel extends AndroidViewModel {
     
+    private static final int REVIEW_PAGE_SIZE = 20;
+    
     private ProductRepository productRepository;
     private ReviewRepository reviewRepository;
     
     private MutableLiveData<Product> product = new MutableLiveData<>();
     private MutableLiveData<List<ReviewWithUser>> reviews = new MutableLiveData<>();
-    private MutableLiveData<Integer> reviewCount = new MutableLiveData<>();
-    private MutableLiveData<Double> averageRating = new MutableLiveData<>();
+    private MutableLiveData<Long> statsProductId = new MutableLiveData<>();
+    private LiveData<ProductRatingStats> ratingStats;
+    private LiveData<Integer> reviewCount;
+    private LiveData<Double> averageRating;
     private MutableLiveData<String> errorMessage = new MutableLiveData<>();
     private MutableLiveData<String> successMessage = new MutableLiveData<>();
     
+    // Paging state (chỉ truy cập trên main thread)
+    private final List<ReviewWithUser> loadedReviews = new ArrayList<>();
+    private long pageProductId = -1;
+    private int pageGeneration = 0;
+    private boolean pageLoading = false;
+    private boolean endReached = false;
+    
     public ReviewsViewModel(@NonNull Application application) {
         super(application);
         productRepository = new ProductRepository(application);
         reviewRepository = new ReviewRepository(application);
+        
+        // Thống kê rating đọc từ product_rating_stats, tự cập nhật khi reviews thay đổi
+        ratingStats = Transformations.switchMap(statsProductId, reviewRepository::getRatingStats);
+        reviewCount = Transformations.map(ratingStats, ProductRatingStats::getRatingCount);
+        averageRating = Transformations.map(ratingStats, ProductRatingStats::getAverageRating);
     }
     
     // ==================== PRODUCT ====================
@@ -52,30 +73,74 @@ public class ReviewsViewModel extends AndroidViewModel {
     // ==================== REVIEWS ====================
     
     /**
-     * Load tất cả reviews của sản phẩm
+     * Load lại reviews của sản phẩm từ trang đầu
      */
     public void loadAllReviews(long productId) {
+        if (!Long.valueOf(productId).equals(statsProductId.getValue())) {
+            statsProductId.setValue(productId);
+        }
+        
+        pageGeneration++;
+        pageProductId = productId;
+        pageLoading = false;
+        endReached = false;
+        loadedReviews.clear();
+        
+        loadMoreReviews();
+    }
+    
+    /**
+     * Load trang reviews tiếp theo (bỏ qua nếu đang load hoặc đã hết)
+     */
+    public void loadMoreReviews() {
+        if (pageLoading || endReached || pageProductId == -1) {
+            return;
+        }
+        
+        pageLoading = true;
+        
+        final int generation = pageGeneration;
+        final long productId = pageProductId;
+        final ReviewWithUser after = loadedReviews.isEmpty()
+                ? null : loadedReviews.get(loadedReviews.size() - 1);
+        
         new Thread(() -> {
+            List<ReviewWithUser> page = null;
             try {
-                List<ReviewWithUser> reviewList = reviewRepository.getReviewsWithUser(productId).get();
-                reviews.postValue(reviewList);
-                
-                // Load stats
-                Integer count = reviewRepository.getReviewCount(productId).get();
-                reviewCount.postValue(count);
-                
-                Double rating = reviewRepository.getAverageRating(productId).get();
-                averageRating.postValue(rating);
+                page = reviewRepository.getReviewsWithUserPage(productId, after, REVIEW_PAGE_SIZE).get();
             } catch (Exception e) {
                 errorMessage.postValue("Lỗi khi tải reviews: " + e.getMessage());
             }
+            
+            final List<ReviewWithUser> result = page;
+            new Handler(Looper.getMainLooper()).post(() -> onReviewPageLoaded(generation, result));
         }).start();
     }
     
+    private void onReviewPageLoaded(int generation, List<ReviewWithUser> page) {
+        if (generation != pageGeneration) {
+            // Đã load lại từ đầu trong lúc load
+            return;
+        }
+        
+        pageLoading = false;
+        if (page == null) {
+            return;
+        }
+        
+        loadedReviews.addAll(page);
+        endReached = page.size() < REVIEW_PAGE_SIZE;
+        reviews.setValue(new ArrayList<>(loadedReviews));
+    }
+    
     public LiveData<List<ReviewWithUser>> getReviews() {
         return reviews;
     }
     
+    public LiveData<ProductRatingStats> getRatingStats() {
+        return ratingStats;
+    }
+    
     public LiveData<Integer> getReviewCount() {
         return reviewCount;
     }
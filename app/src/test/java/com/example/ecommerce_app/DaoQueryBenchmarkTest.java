@@ -0,0 +1,463 @@
+package com.example.ecommerce_app;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.room.InvalidationTracker;
+import androidx.room.Room;
+
+import com.example.ecommerce_app.data.dao.CartItemDao;
+import com.example.ecommerce_app.data.dao.FavoriteDao;
+import com.example.ecommerce_app.data.dao.OrderDao;
+import com.example.ecommerce_app.data.dao.ProductDao;
+import com.example.ecommerce_app.data.dao.ReviewDao;
+import com.example.ecommerce_app.data.database.AppDatabase;
+import com.example.ecommerce_app.data.models.FavoriteSortOrder;
+import com.example.ecommerce_app.utils.SearchTextNormalizer;
+import com.example.ecommerce_app.utils.SyntheticDataGenerator;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Benchmark các query đọc của ProductDao, OrderDao, ReviewDao, CartItemDao, FavoriteDao trên JVM
+ *
+ * Chạy bằng Robolectric (SQLite native của Android) trên dữ liệu SyntheticDataGenerator,
+ * mỗi scale một database in-memory:
+ *   ./gradlew testDebugUnitTest --tests '*DaoQueryBenchmarkTest' -PdaoBenchmarkScales=0.1,1,10
+ * Không có -PdaoBenchmarkScales thì test được bỏ qua.
+ *
+ * Mỗi query: warm-up rồi đo từng lần gọi, tham số ngẫu nhiên theo seed cố định.
+ * Kết quả (ops/sec, p50/p99, số dòng DAO trả về) ghi ra JSON, mặc định
+ * app/build/reports/dao-benchmark/, đổi bằng -PdaoBenchmarkOutput=<file>.
+ *
+ * Query trả về LiveData được đo bằng observe một lần: query executor chạy trực tiếp
+ * trên thread gọi nên thời gian gồm query + tạo LiveData, giống lần load đầu của màn hình.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class DaoQueryBenchmarkTest {
+
+    private static final long SEED = 20240601L;
+    // Mốc thời gian cố định để mọi lần chạy dùng cùng dữ liệu
+    private static final long END_TIME = 1_717_200_000_000L;
+
+    private static final int MIN_WARMUP_ITERATIONS = 10;
+    private static final long WARMUP_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final int MIN_ITERATIONS = 20;
+    private static final int MAX_ITERATIONS = 2000;
+    private static final long MEASURE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final String[] SEARCH_KEYWORDS = {"cảm biến", "module wifi", "oled", "servo", "relay"};
+    private static final String[] FAVORITE_FILTERS = {"", "%module%", "%cam bien%"};
+    private static final String[] BRANDS = {"Generic", "Arduino", "Espressif", "Waveshare", "Texas Instruments"};
+    private static final String[] ORDER_STATUSES = {"DELIVERED", "SHIPPED", "PROCESSING", "PENDING", "CANCELLED"};
+
+    // Giữ một observer trên mọi bảng để observe/bỏ observe LiveData không tạo/xóa trigger theo dõi mỗi lần đo
+    private static final String[] TRACKED_TABLES = {
+        "products", "products_fts", "product_rating_stats", "product_sales_stats",
+        "orders", "order_items", "reviews", "users", "cart_items", "favorites"
+    };
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    /**
+     * Một lần gọi query, trả về kết quả của DAO
+     */
+    private interface QueryCall {
+        Object run(Random random) throws Exception;
+    }
+
+    private static class QueryCase {
+        final String dao;
+        final String query;
+        final QueryCall call;
+
+        QueryCase(String dao, String query, QueryCall call) {
+            this.dao = dao;
+            this.query = query;
+            this.call = call;
+        }
+    }
+
+    // ==================== JSON REPORT ====================
+
+    static class Report {
+        String generatedAt;
+        int schemaVersion;
+        long seed;
+        String jvm;
+        List<ScaleRun> runs = new ArrayList<>();
+    }
+
+    static class ScaleRun {
+        double scale;
+        Map<String, Integer> rowCounts = new LinkedHashMap<>();
+        long populateMillis;
+        List<QueryResult> queries = new ArrayList<>();
+    }
+
+    static class QueryResult {
+        String dao;
+        String query;
+        int iterations;
+        double opsPerSec;
+        double p50Micros;
+        double p99Micros;
+        double maxMicros;
+        // Số dòng DAO trả về (list = size, entity/scalar = 1, null = 0)
+        double rowsReadPerOp;
+        long rowsReadTotal;
+    }
+
+    // ==================== BENCHMARK ====================
+
+    @Test
+    public void benchmarkDaoQueries() throws Exception {
+        String scalesProperty = System.getProperty("daoBenchmark.scales");
+        Assume.assumeTrue("Run with -PdaoBenchmarkScales=0.1,1,10",
+                scalesProperty != null && !scalesProperty.trim().isEmpty());
+
+        Report report = new Report();
+        report.generatedAt = isoNow();
+        report.seed = SEED;
+        report.jvm = System.getProperty("java.vm.name") + " " + System.getProperty("java.version")
+                + " (" + System.getProperty("os.arch") + ")";
+
+        for (String value : scalesProperty.split(",")) {
+            report.runs.add(runScale(Double.parseDouble(value.trim()), report));
+        }
+
+        File output = outputFile();
+        File parent = output.getParentFile();
+        if (parent != null && !parent.exists()) {
+            assertTrue(parent.mkdirs());
+        }
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (Writer writer = new FileWriter(output)) {
+            gson.toJson(report, writer);
+        }
+    }
+
+    private ScaleRun runScale(double scale, Report report) throws Exception {
+        Context context = RuntimeEnvironment.getApplication();
+        AppDatabase database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .addCallback(AppDatabase.TRIGGERS_CALLBACK)
+                .setQueryExecutor(Runnable::run)
+                .setTransactionExecutor(Runnable::run)
+                .allowMainThreadQueries()
+                .build();
+
+        try {
+            SyntheticDataGenerator.Config config = new SyntheticDataGenerator.Config(scale, SEED, END_TIME);
+            ScaleRun run = new ScaleRun();
+            run.scale = scale;
+
+            long start = System.nanoTime();
+            SyntheticDataGenerator.Result counts = SyntheticDataGenerator.populate(database, config);
+            run.populateMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            run.rowCounts.put("users", counts.users);
+            run.rowCounts.put("categories", counts.categories);
+            run.rowCounts.put("products", counts.products);
+            run.rowCounts.put("orders", counts.orders);
+            run.rowCounts.put("orderItems", counts.orderItems);
+            run.rowCounts.put("reviews", counts.reviews);
+            run.rowCounts.put("favorites", counts.favorites);
+            run.rowCounts.put("cartItems", counts.cartItems);
+            report.schemaVersion = database.getOpenHelper().getReadableDatabase().getVersion();
+
+            database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer(TRACKED_TABLES) {
+                @Override
+                public void onInvalidated(@NonNull Set<String> tables) {
+                }
+            });
+
+            for (QueryCase queryCase : queryCases(database, counts)) {
+                QueryResult result = measure(queryCase);
+                run.queries.add(result);
+            }
+            return run;
+        } finally {
+            database.close();
+        }
+    }
+
+    private QueryResult measure(QueryCase queryCase) throws Exception {
+        Random random = new Random(SEED * 31 + (queryCase.dao + "." + queryCase.query).hashCode());
+
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        for (int i = 0; i < MIN_WARMUP_ITERATIONS || System.nanoTime() < warmupEnd; i++) {
+            queryCase.call.run(random);
+        }
+
+        long[] samples = new long[MAX_ITERATIONS];
+        int iterations = 0;
+        long rows = 0;
+        long totalNanos = 0;
+        long measureEnd = System.nanoTime() + MEASURE_NANOS;
+        while (iterations < MAX_ITERATIONS
+                && (iterations < MIN_ITERATIONS || System.nanoTime() < measureEnd)) {
+            long start = System.nanoTime();
+            Object value = queryCase.call.run(random);
+            long elapsed = System.nanoTime() - start;
+
+            samples[iterations++] = elapsed;
+            totalNanos += elapsed;
+            rows += rowCount(value);
+        }
+
+        long[] sorted = Arrays.copyOf(samples, iterations);
+        Arrays.sort(sorted);
+
+        QueryResult result = new QueryResult();
+        result.dao = queryCase.dao;
+        result.query = queryCase.query;
+        result.iterations = iterations;
+        result.opsPerSec = iterations / (totalNanos / 1e9);
+        result.p50Micros = percentile(sorted, 0.50) / 1000.0;
+        result.p99Micros = percentile(sorted, 0.99) / 1000.0;
+        result.maxMicros = sorted[sorted.length - 1] / 1000.0;
+        result.rowsReadPerOp = (double) rows / iterations;
+        result.rowsReadTotal = rows;
+        return result;
+    }
+
+    // ==================== QUERY CASES ====================
+
+    private List<QueryCase> queryCases(AppDatabase database, SyntheticDataGenerator.Result counts) {
+        ProductDao productDao = database.productDao();
+        OrderDao orderDao = database.orderDao();
+        ReviewDao reviewDao = database.reviewDao();
+        CartItemDao cartItemDao = database.cartItemDao();
+        FavoriteDao favoriteDao = database.favoriteDao();
+
+        int products = counts.products;
+        int users = counts.users;
+        int orders = counts.orders;
+        int categories = counts.categories;
+        Map<Long, List<Long>> cartItemIdsByUser = cartItemIdsByUser(database);
+        Long[] cartOwners = cartItemIdsByUser.keySet().toArray(new Long[0]);
+        Arrays.sort(cartOwners);
+        List<String> allStatuses = Arrays.asList(ORDER_STATUSES);
+
+        List<QueryCase> cases = new ArrayList<>();
+
+        // ProductDao
+        cases.add(new QueryCase("ProductDao", "getAllActiveProducts", r -> value(productDao.getAllActiveProducts())));
+        cases.add(new QueryCase("ProductDao", "getAllProducts", r -> value(productDao.getAllProducts())));
+        cases.add(new QueryCase("ProductDao", "getAllProductsSync", r -> productDao.getAllProductsSync()));
+        cases.add(new QueryCase("ProductDao", "getProductById", r -> value(productDao.getProductById(id(r, products)))));
+        cases.add(new QueryCase("ProductDao", "getProductByIdSync", r -> productDao.getProductByIdSync(id(r, products))));
+        cases.add(new QueryCase("ProductDao", "findBySku",
+                r -> productDao.findBySku(String.format(Locale.US, "SYN-%08d", id(r, products)))));
+        cases.add(new QueryCase("ProductDao", "searchProducts",
+                r -> value(productDao.searchProducts(SearchTextNormalizer.toMatchQuery(pick(SEARCH_KEYWORDS, r))))));
+        cases.add(new QueryCase("ProductDao", "searchProductsSync",
+                r -> productDao.searchProductsSync(SearchTextNormalizer.toMatchQuery(pick(SEARCH_KEYWORDS, r)))));
+        cases.add(new QueryCase("ProductDao", "getProductsByCategory",
+                r -> value(productDao.getProductsByCategory(id(r, categories)))));
+        cases.add(new QueryCase("ProductDao", "getProductsByPriceRange", r -> {
+            double min = randomPrice(r);
+            return value(productDao.getProductsByPriceRange(min, min * 1.2));
+        }));
+        cases.add(new QueryCase("ProductDao", "getProductsByCategoryAndPrice", r -> {
+            double min = randomPrice(r);
+            return value(productDao.getProductsByCategoryAndPrice(id(r, categories), min, min * 2));
+        }));
+        cases.add(new QueryCase("ProductDao", "getProductsByBrand", r -> value(productDao.getProductsByBrand(pick(BRANDS, r)))));
+        cases.add(new QueryCase("ProductDao", "getLatestProducts", r -> value(productDao.getLatestProducts(PAGE_SIZE))));
+        cases.add(new QueryCase("ProductDao", "getSaleProducts", r -> value(productDao.getSaleProducts(PAGE_SIZE))));
+        cases.add(new QueryCase("ProductDao", "getNewestProductsAfter",
+                r -> productDao.getNewestProductsAfter(randomTime(r, 730), Long.MAX_VALUE, PAGE_SIZE)));
+        cases.add(new QueryCase("ProductDao", "getCheapestProductsAfter",
+                r -> productDao.getCheapestProductsAfter(randomPrice(r), 0, PAGE_SIZE)));
+        cases.add(new QueryCase("ProductDao", "getMostExpensiveProductsAfter",
+                r -> productDao.getMostExpensiveProductsAfter(randomPrice(r), Long.MAX_VALUE, PAGE_SIZE)));
+        cases.add(new QueryCase("ProductDao", "getProductsByNameAfter",
+                r -> productDao.getProductsByNameAfter(pick(SEARCH_KEYWORDS, r), 0, PAGE_SIZE)));
+        cases.add(new QueryCase("ProductDao", "getActiveProductCount", r -> productDao.getActiveProductCount()));
+        cases.add(new QueryCase("ProductDao", "getStock", r -> productDao.getStock(id(r, products))));
+
+        // OrderDao
+        cases.add(new QueryCase("OrderDao", "getOrdersByUser", r -> value(orderDao.getOrdersByUser(id(r, users)))));
+        cases.add(new QueryCase("OrderDao", "getOrdersByUserSync", r -> orderDao.getOrdersByUserSync(id(r, users))));
+        cases.add(new QueryCase("OrderDao", "getOrderById", r -> value(orderDao.getOrderById(id(r, orders)))));
+        cases.add(new QueryCase("OrderDao", "getOrderByIdSync", r -> orderDao.getOrderByIdSync(id(r, orders))));
+        cases.add(new QueryCase("OrderDao", "findByOrderNumber",
+                r -> orderDao.findByOrderNumber(String.format(Locale.US, "SYN-ORD-%09d", id(r, orders)))));
+        cases.add(new QueryCase("OrderDao", "getOrdersByStatus",
+                r -> value(orderDao.getOrdersByStatus(id(r, users), pick(ORDER_STATUSES, r)))));
+        cases.add(new QueryCase("OrderDao", "getOrderSummariesAfter",
+                r -> orderDao.getOrderSummariesAfter(id(r, users), allStatuses, Long.MAX_VALUE, Long.MAX_VALUE, PAGE_SIZE)));
+        cases.add(new QueryCase("OrderDao", "getAllOrders", r -> value(orderDao.getAllOrders())));
+        cases.add(new QueryCase("OrderDao", "getAllOrdersByStatus",
+                r -> value(orderDao.getAllOrdersByStatus(pick(ORDER_STATUSES, r)))));
+        cases.add(new QueryCase("OrderDao", "getOrderCount", r -> orderDao.getOrderCount(id(r, users))));
+        cases.add(new QueryCase("OrderDao", "getOrderCountByStatus",
+                r -> orderDao.getOrderCountByStatus(id(r, users), pick(ORDER_STATUSES, r))));
+        cases.add(new QueryCase("OrderDao", "getTotalSpent", r -> orderDao.getTotalSpent(id(r, users))));
+
+        // ReviewDao
+        cases.add(new QueryCase("ReviewDao", "getReviewsByProduct", r -> value(reviewDao.getReviewsByProduct(id(r, products)))));
+        cases.add(new QueryCase("ReviewDao", "getReviewsByProductSync", r -> reviewDao.getReviewsByProductSync(id(r, products))));
+        cases.add(new QueryCase("ReviewDao", "getReviewsByUser", r -> value(reviewDao.getReviewsByUser(id(r, users)))));
+        cases.add(new QueryCase("ReviewDao", "getReview", r -> reviewDao.getReview(id(r, users), id(r, products))));
+        cases.add(new QueryCase("ReviewDao", "hasUserReviewed", r -> reviewDao.hasUserReviewed(id(r, users), id(r, products))));
+        cases.add(new QueryCase("ReviewDao", "getReviewCount", r -> reviewDao.getReviewCount(id(r, products))));
+        cases.add(new QueryCase("ReviewDao", "getAverageRating", r -> reviewDao.getAverageRating(id(r, products))));
+        cases.add(new QueryCase("ReviewDao", "getRatingStats", r -> value(reviewDao.getRatingStats(id(r, products)))));
+        cases.add(new QueryCase("ReviewDao", "getRatingStatsSync", r -> reviewDao.getRatingStatsSync(id(r, products))));
+        cases.add(new QueryCase("ReviewDao", "getReviewsByRating",
+                r -> value(reviewDao.getReviewsByRating(id(r, products), 1 + r.nextInt(5)))));
+        cases.add(new QueryCase("ReviewDao", "getTopReviews", r -> value(reviewDao.getTopReviews(id(r, products), 3))));
+        cases.add(new QueryCase("ReviewDao", "getReviewsWithUserSync", r -> reviewDao.getReviewsWithUserSync(id(r, products))));
+        cases.add(new QueryCase("ReviewDao", "getReviewsWithUserLimitSync",
+                r -> reviewDao.getReviewsWithUserLimitSync(id(r, products), 3)));
+        cases.add(new QueryCase("ReviewDao", "getReviewsWithUserAfter",
+                r -> reviewDao.getReviewsWithUserAfter(id(r, products), Long.MAX_VALUE, Long.MAX_VALUE, PAGE_SIZE)));
+
+        // CartItemDao: user được chọn trong số user đang có giỏ hàng
+        cases.add(new QueryCase("CartItemDao", "getCartItemsByUser",
+                r -> value(cartItemDao.getCartItemsByUser(pick(cartOwners, r)))));
+        cases.add(new QueryCase("CartItemDao", "getCartItemsByUserSync",
+                r -> cartItemDao.getCartItemsByUserSync(pick(cartOwners, r))));
+        cases.add(new QueryCase("CartItemDao", "getCartLinesByUser",
+                r -> value(cartItemDao.getCartLinesByUser(pick(cartOwners, r)))));
+        cases.add(new QueryCase("CartItemDao", "getCartLinesByIdsSync", r -> {
+            long userId = pick(cartOwners, r);
+            return cartItemDao.getCartLinesByIdsSync(userId, cartItemIdsByUser.get(userId));
+        }));
+        cases.add(new QueryCase("CartItemDao", "getCartItem",
+                r -> cartItemDao.getCartItem(pick(cartOwners, r), id(r, products))));
+        cases.add(new QueryCase("CartItemDao", "getCartItemById",
+                r -> value(cartItemDao.getCartItemById(id(r, Math.max(1, counts.cartItems))))));
+        cases.add(new QueryCase("CartItemDao", "getCartItemCount",
+                r -> value(cartItemDao.getCartItemCount(pick(cartOwners, r)))));
+        cases.add(new QueryCase("CartItemDao", "getTotalQuantity",
+                r -> value(cartItemDao.getTotalQuantity(pick(cartOwners, r)))));
+        cases.add(new QueryCase("CartItemDao", "checkProductInCart",
+                r -> cartItemDao.checkProductInCart(pick(cartOwners, r), id(r, products))));
+
+        // FavoriteDao
+        cases.add(new QueryCase("FavoriteDao", "getFavoritesByUser", r -> value(favoriteDao.getFavoritesByUser(id(r, users)))));
+        cases.add(new QueryCase("FavoriteDao", "getFavoritesByUserSync", r -> favoriteDao.getFavoritesByUserSync(id(r, users))));
+        cases.add(new QueryCase("FavoriteDao", "getFavoriteProducts", r -> value(favoriteDao.getFavoriteProducts(
+                id(r, users), pick(FAVORITE_FILTERS, r), pick(FavoriteSortOrder.values(), r).name()))));
+        cases.add(new QueryCase("FavoriteDao", "getFavorite", r -> favoriteDao.getFavorite(id(r, users), id(r, products))));
+        cases.add(new QueryCase("FavoriteDao", "isFavorite", r -> favoriteDao.isFavorite(id(r, users), id(r, products))));
+        cases.add(new QueryCase("FavoriteDao", "getFavoriteCount", r -> favoriteDao.getFavoriteCount(id(r, users))));
+        cases.add(new QueryCase("FavoriteDao", "getUsersFavoritedProduct",
+                r -> value(favoriteDao.getUsersFavoritedProduct(id(r, products)))));
+
+        return cases;
+    }
+
+    private static Map<Long, List<Long>> cartItemIdsByUser(AppDatabase database) {
+        Map<Long, List<Long>> idsByUser = new HashMap<>();
+        try (Cursor cursor = database.query("SELECT userId, id FROM cart_items", null)) {
+            while (cursor.moveToNext()) {
+                idsByUser.computeIfAbsent(cursor.getLong(0), userId -> new ArrayList<>()).add(cursor.getLong(1));
+            }
+        }
+        assertFalse("No cart items generated", idsByUser.isEmpty());
+        return idsByUser;
+    }
+
+    // ==================== HELPERS ====================
+
+    /**
+     * Observe LiveData một lần và trả về giá trị đầu tiên
+     *
+     * Query executor là Runnable::run và InstantTaskExecutorRule làm postValue đồng bộ,
+     * nên giá trị đã có khi observeForever trả về.
+     */
+    private static <T> T value(LiveData<T> liveData) {
+        List<T> values = new ArrayList<>(1);
+        Observer<T> observer = values::add;
+        liveData.observeForever(observer);
+        liveData.removeObserver(observer);
+        if (values.isEmpty()) {
+            throw new IllegalStateException("LiveData did not emit synchronously");
+        }
+        return values.get(0);
+    }
+
+    private static long rowCount(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof List) {
+            return ((List<?>) value).size();
+        }
+        return 1;
+    }
+
+    private static long id(Random random, int count) {
+        return 1 + random.nextInt(count);
+    }
+
+    private static <T> T pick(T[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static double randomPrice(Random random) {
+        return 5_000 + random.nextInt(200) * 1_000;
+    }
+
+    private static long randomTime(Random random, int maxDays) {
+        return END_TIME - (long) (random.nextDouble() * TimeUnit.DAYS.toMillis(maxDays));
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static File outputFile() {
+        String path = System.getProperty("daoBenchmark.output");
+        if (path != null && !path.trim().isEmpty()) {
+            return new File(path);
+        }
+        SimpleDateFormat format = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.US);
+        return new File("build/reports/dao-benchmark", "dao-benchmark-" + format.format(new Date()) + ".json");
+    }
+
+    private static String isoNow() {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.format(new Date());
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.ecommerce_app;
+
+import com.example.ecommerce_app.utils.LongHashSet;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test cho LongHashSet (open addressing + backward-shift deletion)
+ *
+ * Các test dựng chuỗi dò cố ý bằng cách chọn key theo ô gốc (home slot). homeSlot() chép lại
+ * hàm băm của LongHashSet.slot(); nếu hàm băm đổi thì phải sửa theo, nếu không các test vẫn
+ * đúng nhưng không còn tạo được đụng độ như mong muốn.
+ */
+public class LongHashSetTest {
+
+    // Bảng mặc định: 8 ô, nới rộng khi có hơn 4 key khác 0
+    private static final int DEFAULT_CAPACITY = 8;
+
+    @Test
+    public void addContainsRemove() {
+        LongHashSet set = new LongHashSet();
+        assertTrue(set.isEmpty());
+
+        assertTrue(set.add(42));
+        assertFalse(set.add(42));
+        assertTrue(set.contains(42));
+        assertFalse(set.contains(43));
+        assertEquals(1, set.size());
+
+        assertTrue(set.remove(42));
+        assertFalse(set.remove(42));
+        assertFalse(set.contains(42));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void zeroKeyIsStoredOutsideTable() {
+        LongHashSet set = new LongHashSet();
+        assertFalse(set.contains(0));
+        assertFalse(set.remove(0));
+
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.contains(0));
+        assertEquals(1, set.size());
+
+        // Key khác 0 không ảnh hưởng tới 0 và ngược lại
+        long[] keys = keysWithHome(0, DEFAULT_CAPACITY, 2);
+        set.add(keys[0]);
+        set.add(keys[1]);
+        assertEquals(3, set.size());
+        assertTrue(set.remove(keys[0]));
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(keys[1]));
+
+        assertTrue(set.remove(0));
+        assertFalse(set.contains(0));
+        assertTrue(set.contains(keys[1]));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    public void probeChainWrapsAroundEndOfTable() {
+        // Ba key cùng ô cuối: nằm ở ô 7, 0, 1
+        long[] keys = keysWithHome(DEFAULT_CAPACITY - 1, DEFAULT_CAPACITY, 3);
+        LongHashSet set = new LongHashSet();
+        for (long key : keys) {
+            assertTrue(set.add(key));
+        }
+        for (long key : keys) {
+            assertTrue(set.contains(key));
+        }
+
+        // Xóa key ở ô 7: hai key sau phải được dồn ngược qua ranh giới cuối bảng
+        assertTrue(set.remove(keys[0]));
+        assertFalse(set.contains(keys[0]));
+        assertTrue(set.contains(keys[1]));
+        assertTrue(set.contains(keys[2]));
+
+        assertTrue(set.remove(keys[2]));
+        assertTrue(set.contains(keys[1]));
+        assertTrue(set.remove(keys[1]));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void removeInsideProbeChainKeepsLaterKeysReachable() {
+        // a, b cùng ô 2 (nằm ở 2, 3); c ở ô gốc 3 bị đẩy sang 4; d ở ô gốc 5 đúng chỗ
+        long[] home2 = keysWithHome(2, DEFAULT_CAPACITY, 2);
+        long c = keysWithHome(3, DEFAULT_CAPACITY, 1)[0];
+        long d = keysWithHome(5, DEFAULT_CAPACITY, 1)[0];
+
+        LongHashSet set = new LongHashSet();
+        set.add(home2[0]);
+        set.add(home2[1]);
+        set.add(c);
+        set.add(d);
+
+        // Xóa giữa chuỗi: c phải dồn về, d (đúng ô gốc) phải đứng yên
+        assertTrue(set.remove(home2[1]));
+        assertTrue(set.contains(home2[0]));
+        assertTrue(set.contains(c));
+        assertTrue(set.contains(d));
+        assertFalse(set.contains(home2[1]));
+
+        // Xóa đầu chuỗi
+        assertTrue(set.remove(home2[0]));
+        assertTrue(set.contains(c));
+        assertTrue(set.contains(d));
+        assertEquals(2, set.size());
+
+        // Ô đã giải phóng dùng lại được
+        assertTrue(set.add(home2[1]));
+        assertTrue(set.contains(home2[1]));
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    public void rehashKeepsAllKeys() {
+        LongHashSet set = new LongHashSet();
+        List<Long> keys = new ArrayList<>();
+        for (long i = 1; i <= 1000; i++) {
+            keys.add(i);
+            keys.add(-i);
+        }
+        keys.add(Long.MIN_VALUE);
+        keys.add(Long.MAX_VALUE);
+
+        for (long key : keys) {
+            assertTrue(set.add(key));
+        }
+        assertEquals(keys.size(), set.size());
+        for (long key : keys) {
+            assertTrue(set.contains(key));
+        }
+
+        // Xóa một nửa sau khi bảng đã nới nhiều lần
+        for (long i = 1; i <= 1000; i++) {
+            assertTrue(set.remove(i));
+        }
+        for (long i = 1; i <= 1000; i++) {
+            assertFalse(set.contains(i));
+            assertTrue(set.contains(-i));
+        }
+        assertEquals(1002, set.size());
+    }
+
+    @Test
+    public void clearRemovesEverything() {
+        LongHashSet set = new LongHashSet(100);
+        for (long i = 0; i < 100; i++) {
+            set.add(i);
+        }
+        set.clear();
+        assertTrue(set.isEmpty());
+        for (long i = 0; i < 100; i++) {
+            assertFalse(set.contains(i));
+        }
+        assertTrue(set.add(5));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    public void matchesHashSetUnderRandomOperations() {
+        Random random = new Random(20240601L);
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+
+        // Khoảng key nhỏ (gồm cả 0) để có nhiều đụng độ, add/remove xen kẽ qua các lần nới bảng
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(512) - 64;
+            int operation = random.nextInt(3);
+            if (operation == 0) {
+                assertEquals(expected.add(key), set.add(key));
+            } else if (operation == 1) {
+                assertEquals(expected.remove(key), set.remove(key));
+            } else {
+                assertEquals(expected.contains(key), set.contains(key));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        for (long key = -64; key < 448; key++) {
+            assertEquals(expected.contains(key), set.contains(key));
+        }
+    }
+
+    // ==================== HELPERS ====================
+
+    /**
+     * count key khác 0 có ô gốc là slot trong bảng capacity ô
+     */
+    private static long[] keysWithHome(int slot, int capacity, int count) {
+        long[] keys = new long[count];
+        int found = 0;
+        for (long key = 1; found < count; key++) {
+            if (homeSlot(key, capacity - 1) == slot) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+
+    private static int homeSlot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
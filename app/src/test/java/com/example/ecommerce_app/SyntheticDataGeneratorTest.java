@@ -0,0 +1,124 @@
+package com.example.ecommerce_app;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+
+import com.example.ecommerce_app.data.database.AppDatabase;
+import com.example.ecommerce_app.utils.PasswordHasher;
+import com.example.ecommerce_app.utils.SyntheticDataGenerator;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * SyntheticDataGenerator: cùng Config (scale, seed, endTime) phải sinh ra đúng cùng các dòng
+ *
+ * Chạy bằng Robolectric trên database in-memory, giống DaoQueryBenchmarkTest.
+ * Chỉ so các bảng generator ghi trực tiếp; bảng thống kê do trigger tính
+ * (product_sales_stats dùng ngày hiện tại) không nằm trong phạm vi test này.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class SyntheticDataGeneratorTest {
+
+    private static final double SCALE = 0.01;
+    private static final long SEED = 20240601L;
+    // Mốc thời gian cố định, không phụ thuộc ngày chạy test
+    private static final long END_TIME = 1_717_200_000_000L;
+
+    private static final String[] TABLES = {
+        "users", "categories", "products", "orders", "order_items", "reviews", "favorites", "cart_items"
+    };
+
+    @Test
+    public void sameConfigProducesIdenticalRows() {
+        SyntheticDataGenerator.Config config = new SyntheticDataGenerator.Config(SCALE, SEED, END_TIME);
+
+        Map<String, List<String>> first = populateAndDump(config);
+        Map<String, List<String>> second = populateAndDump(config);
+
+        for (String table : TABLES) {
+            assertFalse(table + " is empty", first.get(table).isEmpty());
+            assertEquals(table, first.get(table), second.get(table));
+        }
+    }
+
+    @Test
+    public void differentSeedProducesDifferentRows() {
+        Map<String, List<String>> first = populateAndDump(
+                new SyntheticDataGenerator.Config(SCALE, SEED, END_TIME));
+        Map<String, List<String>> second = populateAndDump(
+                new SyntheticDataGenerator.Config(SCALE, SEED + 1, END_TIME));
+
+        // Cùng số user/product theo scale, nhưng nội dung phải khác (đảm bảo test trên không so hai thứ rỗng)
+        assertEquals(first.get("products").size(), second.get("products").size());
+        assertNotEquals(first.get("products"), second.get("products"));
+        assertNotEquals(first.get("orders"), second.get("orders"));
+    }
+
+    // ==================== HELPERS ====================
+
+    /**
+     * Sinh dữ liệu vào một database mới rồi đọc lại toàn bộ các dòng, sắp theo id
+     */
+    private Map<String, List<String>> populateAndDump(SyntheticDataGenerator.Config config) {
+        Context context = RuntimeEnvironment.getApplication();
+        AppDatabase database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .addCallback(AppDatabase.TRIGGERS_CALLBACK)
+                .setQueryExecutor(Runnable::run)
+                .setTransactionExecutor(Runnable::run)
+                .allowMainThreadQueries()
+                .build();
+        try {
+            SyntheticDataGenerator.populate(database, config);
+
+            Map<String, List<String>> rows = new LinkedHashMap<>();
+            for (String table : TABLES) {
+                rows.put(table, dumpTable(database, table));
+            }
+            return rows;
+        } finally {
+            database.close();
+        }
+    }
+
+    private static List<String> dumpTable(AppDatabase database, String table) {
+        List<String> rows = new ArrayList<>();
+        String passwordHash = null;
+        try (Cursor cursor = database.query("SELECT * FROM " + table + " ORDER BY id", null)) {
+            int passwordIndex = cursor.getColumnIndex("passwordHash");
+            while (cursor.moveToNext()) {
+                StringBuilder row = new StringBuilder();
+                for (int i = 0; i < cursor.getColumnCount(); i++) {
+                    if (i == passwordIndex) {
+                        // BCrypt dùng salt ngẫu nhiên nên hash khác nhau giữa hai lần chạy:
+                        // chỉ kiểm tra mọi user dùng chung một hash của SYNTHETIC_PASSWORD
+                        if (passwordHash == null) {
+                            passwordHash = cursor.getString(i);
+                        }
+                        assertEquals(passwordHash, cursor.getString(i));
+                        continue;
+                    }
+                    row.append(cursor.getColumnName(i)).append('=').append(cursor.getString(i)).append('|');
+                }
+                rows.add(row.toString());
+            }
+        }
+        if (passwordHash != null) {
+            assertTrue(PasswordHasher.verifyPassword(SyntheticDataGenerator.SYNTHETIC_PASSWORD, passwordHash));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.ecommerce_app;
+
+import com.example.ecommerce_app.utils.ZipfDistribution;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test cho ZipfDistribution (CDF tính sẵn + binary search)
+ */
+public class ZipfDistributionTest {
+
+    private static final double EPSILON = 1e-12;
+
+    @Test
+    public void probabilitiesSumToOne() {
+        for (int n : new int[]{1, 2, 7, 1000}) {
+            for (double exponent : new double[]{0.0, 0.8, 1.0, 2.5}) {
+                ZipfDistribution zipf = new ZipfDistribution(n, exponent);
+                assertEquals(n, zipf.size());
+
+                double sum = 0;
+                for (int rank = 0; rank < n; rank++) {
+                    assertTrue(zipf.probability(rank) > 0);
+                    sum += zipf.probability(rank);
+                }
+                assertEquals("n=" + n + " exponent=" + exponent, 1.0, sum, 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void probabilityDecreasesWithRank() {
+        ZipfDistribution zipf = new ZipfDistribution(500, 1.0);
+        for (int rank = 1; rank < zipf.size(); rank++) {
+            assertTrue("rank " + rank, zipf.probability(rank) < zipf.probability(rank - 1));
+        }
+
+        // P(k) tỉ lệ với 1 / (k + 1)^exponent
+        assertEquals(2.0, zipf.probability(0) / zipf.probability(1), 1e-9);
+        assertEquals(10.0, zipf.probability(9) / zipf.probability(99), 1e-9);
+    }
+
+    @Test
+    public void zeroExponentIsUniform() {
+        ZipfDistribution zipf = new ZipfDistribution(4, 0.0);
+        for (int rank = 0; rank < 4; rank++) {
+            assertEquals(0.25, zipf.probability(rank), EPSILON);
+        }
+    }
+
+    @Test
+    public void sampleAtLowestUniformValueIsFirstRank() {
+        ZipfDistribution zipf = new ZipfDistribution(100, 1.0);
+        assertEquals(0, zipf.sample(fixed(0.0)));
+        assertEquals(0, zipf.sample(fixed(zipf.probability(0) / 2)));
+    }
+
+    @Test
+    public void sampleAtHighestUniformValueIsLastRank() {
+        ZipfDistribution zipf = new ZipfDistribution(100, 1.0);
+        // Random.nextDouble() < 1.0: giá trị lớn nhất vẫn phải rơi vào hạng cuối, không vượt mảng
+        assertEquals(99, zipf.sample(fixed(Math.nextDown(1.0))));
+
+        ZipfDistribution single = new ZipfDistribution(1, 1.0);
+        assertEquals(0, single.sample(fixed(0.0)));
+        assertEquals(0, single.sample(fixed(Math.nextDown(1.0))));
+    }
+
+    @Test
+    public void sampleSplitsAtCumulativeProbability() {
+        ZipfDistribution zipf = new ZipfDistribution(10, 1.0);
+        double cdf0 = zipf.probability(0);
+        double cdf1 = cdf0 + zipf.probability(1);
+
+        // u == CDF(k) vẫn thuộc hạng k, lớn hơn một chút là hạng k + 1
+        assertEquals(0, zipf.sample(fixed(cdf0)));
+        assertEquals(1, zipf.sample(fixed(Math.nextUp(cdf0))));
+        assertEquals(1, zipf.sample(fixed(cdf1 - 1e-9)));
+        assertEquals(2, zipf.sample(fixed(cdf1 + 1e-9)));
+    }
+
+    @Test
+    public void sampleFrequenciesFollowProbabilities() {
+        ZipfDistribution zipf = new ZipfDistribution(20, 1.0);
+        Random random = new Random(20240601L);
+        int samples = 200_000;
+        int[] counts = new int[zipf.size()];
+        for (int i = 0; i < samples; i++) {
+            counts[zipf.sample(random)]++;
+        }
+
+        for (int rank = 0; rank < zipf.size(); rank++) {
+            double expected = zipf.probability(rank);
+            // Sai số ~5 độ lệch chuẩn của tần suất nhị thức
+            double tolerance = 5 * Math.sqrt(expected * (1 - expected) / samples);
+            assertEquals("rank " + rank, expected, (double) counts[rank] / samples, tolerance);
+        }
+    }
+
+    @Test
+    public void rejectsNonPositiveSize() {
+        for (int n : new int[]{0, -1, Integer.MIN_VALUE}) {
+            try {
+                new ZipfDistribution(n, 1.0);
+                fail("n=" + n + " should be rejected");
+            } catch (IllegalArgumentException expected) {
+                assertTrue(expected.getMessage().contains(String.valueOf(n)));
+            }
+        }
+    }
+
+    // ==================== HELPERS ====================
+
+    /**
+     * Random luôn trả về cùng một giá trị nextDouble()
+     */
+    private static Random fixed(double value) {
+        return new Random() {
+            @Override
+            public double nextDouble() {
+                return value;
+            }
+        };
+    }
+}